@@ -0,0 +1,116 @@
+package com.adalbertosantos.benchmarks;
+
+import com.adalbertosantos.events.codec.BinaryEventCodec;
+import com.adalbertosantos.events.envelope.EventDispatcher;
+import com.adalbertosantos.events.envelope.EventEnvelope;
+import com.adalbertosantos.events.inventory.InventoryRejectedEvent;
+import com.adalbertosantos.events.inventory.InventoryReservedEvent;
+import com.adalbertosantos.events.json.EventSerde;
+import com.adalbertosantos.events.order.OrderCancelledEvent;
+import com.adalbertosantos.events.order.OrderCreatedEvent;
+import com.adalbertosantos.events.order.OrderFulfilledEvent;
+import com.adalbertosantos.events.payment.PaymentFailedEvent;
+import com.adalbertosantos.events.payment.PaymentSucceededEvent;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// DomainEventConsumer's path: read the envelope, route on it, decode and hand the event to its handler.
+// Records cycle through more distinct event ids than the deduplication window, so none is a duplicate.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-XX:+UseParallelGC")
+@State(Scope.Thread)
+public class EventDispatchBenchmark {
+
+    private static final int RECORDS = 16_384;
+    private static final int DEDUPLICATION_WINDOW = 10_000;
+
+    private final EventSerde serde = EventSerde.shared();
+    private EventDispatcher dispatcher;
+    private EventDispatcher deduplicatingDispatcher;
+    private Headers[] headers;
+    private Headers noHeaders;
+    private byte[][] payloads;
+    private byte[][] jsonPayloads;
+    private Class<?>[] jsonTypes;
+    private Object handled;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        dispatcher = routes(EventDispatcher.builder()).build();
+        deduplicatingDispatcher = routes(EventDispatcher.builder()).deduplicate(DEDUPLICATION_WINDOW).build();
+
+        List<Object> events = SampleEvents.all();
+        headers = new Headers[RECORDS];
+        payloads = new byte[RECORDS][];
+        jsonPayloads = new byte[RECORDS][];
+        jsonTypes = new Class<?>[RECORDS];
+        for (int i = 0; i < RECORDS; i++) {
+            Object event = events.get(i % events.size());
+            headers[i] = new RecordHeaders();
+            EventEnvelope.forEvent(event, "benchmark").writeTo(headers[i]);
+            payloads[i] = BinaryEventCodec.encode(event);
+            jsonPayloads[i] = serde.write(event);
+            jsonTypes[i] = event.getClass();
+        }
+        noHeaders = new RecordHeaders();
+    }
+
+    private EventDispatcher.Builder routes(EventDispatcher.Builder builder) {
+        return builder
+            .on(OrderCreatedEvent.class, this::handle)
+            .on(PaymentSucceededEvent.class, this::handle)
+            .on(PaymentFailedEvent.class, this::handle)
+            .on(InventoryReservedEvent.class, this::handle)
+            .on(InventoryRejectedEvent.class, this::handle)
+            .on(OrderFulfilledEvent.class, this::handle)
+            .on(OrderCancelledEvent.class, this::handle);
+    }
+
+    private void handle(Object event) {
+        handled = event;
+    }
+
+    private int nextRecord() {
+        int i = next;
+        next = (i + 1) & (RECORDS - 1);
+        return i;
+    }
+
+    @Benchmark
+    public Object dispatchOnEnvelope() {
+        int i = nextRecord();
+        dispatcher.dispatch(headers[i], payloads[i]);
+        return handled;
+    }
+
+    @Benchmark
+    public Object dispatchOnEnvelopeDeduplicated() {
+        int i = nextRecord();
+        deduplicatingDispatcher.dispatch(headers[i], payloads[i]);
+        return handled;
+    }
+
+    // Records from producers that predate the envelope are routed on the payload header instead
+    @Benchmark
+    public Object dispatchWithoutEnvelope() {
+        int i = nextRecord();
+        dispatcher.dispatch(noHeaders, payloads[i]);
+        return handled;
+    }
+
+    // The JSON alternative: the consumer knows the type from the topic and binds it with Jackson
+    @Benchmark
+    public Object parseJsonByTopic() {
+        int i = nextRecord();
+        handle(serde.read(jsonPayloads[i], jsonTypes[i]));
+        return handled;
+    }
+}
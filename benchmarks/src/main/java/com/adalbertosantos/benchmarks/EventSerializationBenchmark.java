@@ -0,0 +1,83 @@
+package com.adalbertosantos.benchmarks;
+
+import com.adalbertosantos.events.codec.BinaryEventCodec;
+import com.adalbertosantos.events.json.EventSerde;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+// A plain ObjectMapper going through String, the shared EventSerde and the binary codec, per event type
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-XX:+UseParallelGC")
+@State(Scope.Thread)
+public class EventSerializationBenchmark {
+
+    @Param({
+        "OrderCreatedEvent",
+        "OrderCancelledEvent",
+        "OrderFulfilledEvent",
+        "PaymentSucceededEvent",
+        "PaymentFailedEvent",
+        "InventoryReservedEvent",
+        "InventoryRejectedEvent"
+    })
+    private String eventType;
+
+    private final EventSerde serde = EventSerde.shared();
+    private ObjectMapper plainMapper;
+    private Object event;
+    private Class<?> type;
+    private String json;
+    private byte[] jsonBytes;
+    private byte[] binary;
+
+    @Setup
+    public void setUp() throws Exception {
+        plainMapper = new ObjectMapper();
+        plainMapper.registerModule(new JavaTimeModule());
+        plainMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        event = SampleEvents.named(eventType);
+        type = event.getClass();
+        json = plainMapper.writeValueAsString(event);
+        jsonBytes = json.getBytes(StandardCharsets.UTF_8);
+        binary = BinaryEventCodec.encode(event);
+    }
+
+    @Benchmark
+    public byte[] writeObjectMapperViaString() throws Exception {
+        return plainMapper.writeValueAsString(event).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] writeEventSerde() {
+        return serde.write(event);
+    }
+
+    @Benchmark
+    public byte[] writeBinaryCodec() {
+        return BinaryEventCodec.encode(event);
+    }
+
+    @Benchmark
+    public Object readObjectMapperFromString() throws Exception {
+        return plainMapper.readValue(json, type);
+    }
+
+    @Benchmark
+    public Object readEventSerde() {
+        return serde.read(jsonBytes, type);
+    }
+
+    @Benchmark
+    public Object readBinaryCodec() {
+        return BinaryEventCodec.decode(binary, type);
+    }
+}
@@ -0,0 +1,51 @@
+package com.adalbertosantos.benchmarks;
+
+import com.adalbertosantos.events.codec.BinaryEventCodec;
+import com.adalbertosantos.events.codec.EventView;
+import com.adalbertosantos.events.inventory.InventoryReservedEvent;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-XX:+UseParallelGC")
+@State(Scope.Thread)
+public class EventViewBenchmark {
+
+    @Param({"4", "32"})
+    private int items;
+
+    private byte[] payload;
+
+    @Setup
+    public void setUp() {
+        List<InventoryReservedEvent.ReservedItem> reserved = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            reserved.add(new InventoryReservedEvent.ReservedItem(UUID.randomUUID(), i + 1));
+        }
+        payload = BinaryEventCodec.encode(new InventoryReservedEvent(UUID.randomUUID(), UUID.randomUUID(), reserved));
+    }
+
+    @Benchmark
+    public UUID orderIdFullDecode() {
+        return BinaryEventCodec.decode(payload, InventoryReservedEvent.class).orderId();
+    }
+
+    @Benchmark
+    public long orderIdView() {
+        EventView view = EventView.of(payload);
+        return view.getOrderIdMostSignificantBits() ^ view.getOrderIdLeastSignificantBits();
+    }
+
+    @Benchmark
+    public Object orderIdAndTimestampView() {
+        EventView view = EventView.of(payload);
+        return view.getTimestamp().getEpochSecond() ^ view.getOrderId().getMostSignificantBits();
+    }
+}
@@ -0,0 +1,73 @@
+package com.adalbertosantos.benchmarks;
+
+import com.adalbertosantos.events.id.TimeOrderedUuid;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Batch inserts into an orders-shaped table keyed by random (v4) or time-ordered (v7) ids, scored in rows
+// per second. The table keeps growing across iterations, so later iterations show what random keys cost
+// once the primary key index no longer fits in cache. Runs on in-memory H2 unless pointed at a real
+// database, with credentials in the URL, e.g.
+// -Pjmh.args=-p,jdbcUrl=jdbc:postgresql://localhost/orders?user=orders&password=orders
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-XX:+UseParallelGC")
+@State(Scope.Benchmark)
+public class OrderIdInsertBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final String TABLE = "bench_orders";
+
+    @Param({"random", "timeOrdered"})
+    private String orderIds;
+
+    @Param("jdbc:h2:mem:orders;USER=sa")
+    private String jdbcUrl;
+
+    private Supplier<UUID> ids;
+    private Connection connection;
+    private PreparedStatement insert;
+
+    @Setup
+    public void setUp() throws SQLException {
+        ids = "timeOrdered".equals(orderIds) ? TimeOrderedUuid::next : UUID::randomUUID;
+        connection = DriverManager.getConnection(jdbcUrl);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + TABLE);
+            statement.execute("CREATE TABLE " + TABLE + " (order_id UUID PRIMARY KEY, customer_id UUID NOT NULL, " +
+                "status VARCHAR(50) NOT NULL, total_amount DECIMAL(10, 2) NOT NULL)");
+        }
+        insert = connection.prepareStatement(
+            "INSERT INTO " + TABLE + " (order_id, customer_id, status, total_amount) VALUES (?, ?, 'PENDING', 10.00)");
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        insert.close();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE " + TABLE);
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int[] insertBatch() throws SQLException {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            insert.setObject(1, ids.get());
+            insert.setObject(2, UUID.randomUUID());
+            insert.addBatch();
+        }
+        return insert.executeBatch();
+    }
+}
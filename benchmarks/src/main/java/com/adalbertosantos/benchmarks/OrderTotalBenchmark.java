@@ -0,0 +1,94 @@
+package com.adalbertosantos.benchmarks;
+
+import com.adalbertosantos.events.money.Money;
+import com.adalbertosantos.events.order.OrderCreatedEvent;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-XX:+UseParallelGC")
+@State(Scope.Thread)
+// OrderService.createOrder sums price x quantity over the request items in minor units
+public class OrderTotalBenchmark {
+
+    @Param({"4", "32"})
+    private int items;
+
+    private double[] doublePrices;
+    private BigDecimal[] bigDecimalPrices;
+    private Money[] moneyPrices;
+    private int[] quantities;
+    private List<OrderCreatedEvent.OrderItem> orderItems;
+
+    @Setup
+    public void setUp() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        doublePrices = new double[items];
+        bigDecimalPrices = new BigDecimal[items];
+        moneyPrices = new Money[items];
+        quantities = new int[items];
+        orderItems = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            long minorUnits = random.nextLong(1, 100_000);
+            doublePrices[i] = minorUnits / 100.0;
+            bigDecimalPrices[i] = BigDecimal.valueOf(minorUnits, 2);
+            moneyPrices[i] = Money.ofMinor(minorUnits);
+            quantities[i] = random.nextInt(1, 10);
+            orderItems.add(new OrderCreatedEvent.OrderItem(UUID.randomUUID(), quantities[i], moneyPrices[i]));
+        }
+    }
+
+    @Benchmark
+    public double orderTotalDouble() {
+        double total = 0;
+        for (int i = 0; i < items; i++) {
+            total += doublePrices[i] * quantities[i];
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal orderTotalBigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < items; i++) {
+            total = total.add(bigDecimalPrices[i].multiply(BigDecimal.valueOf(quantities[i])));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long orderTotalMoneyMinorUnits() {
+        long total = 0;
+        for (int i = 0; i < items; i++) {
+            total = Money.add(total, Money.multiply(moneyPrices[i].getMinorUnits(), quantities[i]));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public Money orderTotalMoney() {
+        Money total = Money.ZERO;
+        for (int i = 0; i < items; i++) {
+            total = total.plus(moneyPrices[i].times(quantities[i]));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public Money orderTotalFromItems() {
+        long totalMinorUnits = 0;
+        for (OrderCreatedEvent.OrderItem item : orderItems) {
+            totalMinorUnits = Money.add(totalMinorUnits, Money.multiply(item.price().getMinorUnits(), item.quantity()));
+        }
+        return Money.ofMinor(totalMinorUnits);
+    }
+}
@@ -0,0 +1,144 @@
+package com.adalbertosantos.benchmarks;
+
+import com.adalbertosantos.messaging.InFlightWindow;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// OrderCreatedConsumer's path against a provider answered from a timer, like payment-service's simulated
+// one: a poll loop hands records of three partitions to an InFlightWindow and skips partitions the window
+// has paused. maxInFlight=1 is the old consumer, one blocked listener thread per partition. Provider latency
+// is 2-6ms, the service's default 100-300ms scaled by 1/50, so payments/s here are 50 times what the service
+// would see; the ratio between window sizes holds.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-XX:+UseParallelGC")
+@State(Scope.Thread)
+public class PaymentPipelineBenchmark {
+
+    private static final int PARTITIONS = 3;
+    private static final int RECORDS_PER_PARTITION = 100;
+    private static final long LATENCY_MIN_MICROS = 2_000;
+    private static final long LATENCY_MAX_MICROS = 6_000;
+    private static final long SLOW_LATENCY_MICROS = 50_000;
+
+    @Param({"1", "16", "64"})
+    private int maxInFlight;
+
+    // Share of provider calls that take 50ms instead of 2-6ms
+    @Param({"0", "0.01"})
+    private double slowRate;
+
+    private final Object lock = new Object();
+    private final boolean[] paused = new boolean[PARTITIONS];
+    private final long[] committed = new long[PARTITIONS];
+    private ScheduledExecutorService provider;
+    private InFlightWindow window;
+
+    @Setup
+    public void setUp() {
+        provider = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("payment-provider").daemon().factory());
+        window = new InFlightWindow(maxInFlight,
+            partition -> setPaused(partition, true),
+            partition -> setPaused(partition, false));
+    }
+
+    @TearDown
+    public void tearDown() {
+        provider.shutdownNow();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PARTITIONS * RECORDS_PER_PARTITION)
+    public void processPayments() throws InterruptedException {
+        long[] next = new long[PARTITIONS];
+        synchronized (lock) {
+            Arrays.fill(committed, -1);
+        }
+        int remaining = PARTITIONS * RECORDS_PER_PARTITION;
+        while (remaining > 0) {
+            boolean submitted = false;
+            for (int partition = 0; partition < PARTITIONS; partition++) {
+                if (next[partition] == RECORDS_PER_PARTITION || isPaused(partition)) {
+                    continue;
+                }
+                submit(partition, next[partition]++);
+                submitted = true;
+                remaining--;
+            }
+            if (!submitted) {
+                awaitResume(next);
+            }
+        }
+        awaitCommitted(RECORDS_PER_PARTITION - 1);
+    }
+
+    private void submit(int partition, long offset) {
+        ConsumerRecord<String, byte[]> record =
+            new ConsumerRecord<>("order.created", partition, offset, null, new byte[0]);
+        window.submit(record, () -> commit(partition, offset), callProvider());
+    }
+
+    // Whether the payment is declined makes no difference to the consumer, so every call just completes
+    private CompletableFuture<Void> callProvider() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long latency = random.nextDouble() < slowRate
+            ? SLOW_LATENCY_MICROS
+            : LATENCY_MIN_MICROS + random.nextLong(LATENCY_MAX_MICROS - LATENCY_MIN_MICROS + 1);
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        provider.schedule(() -> result.complete(null), latency, TimeUnit.MICROSECONDS);
+        return result;
+    }
+
+    private void setPaused(TopicPartition partition, boolean pause) {
+        synchronized (lock) {
+            paused[partition.partition()] = pause;
+            lock.notifyAll();
+        }
+    }
+
+    private boolean isPaused(int partition) {
+        synchronized (lock) {
+            return paused[partition];
+        }
+    }
+
+    private void commit(int partition, long offset) {
+        synchronized (lock) {
+            committed[partition] = offset;
+            lock.notifyAll();
+        }
+    }
+
+    // Woken by any resume or commit; the poll loop then checks every partition again
+    private void awaitResume(long[] next) throws InterruptedException {
+        synchronized (lock) {
+            for (int partition = 0; partition < PARTITIONS; partition++) {
+                if (next[partition] < RECORDS_PER_PARTITION && !paused[partition]) {
+                    return;
+                }
+            }
+            lock.wait();
+        }
+    }
+
+    private void awaitCommitted(long lastOffset) throws InterruptedException {
+        synchronized (lock) {
+            for (int partition = 0; partition < PARTITIONS; partition++) {
+                while (committed[partition] < lastOffset) {
+                    lock.wait();
+                }
+            }
+        }
+    }
+}
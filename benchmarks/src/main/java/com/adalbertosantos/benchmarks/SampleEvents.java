@@ -0,0 +1,58 @@
+package com.adalbertosantos.benchmarks;
+
+import com.adalbertosantos.events.inventory.InventoryRejectedEvent;
+import com.adalbertosantos.events.inventory.InventoryReservedEvent;
+import com.adalbertosantos.events.money.Money;
+import com.adalbertosantos.events.order.OrderCancelledEvent;
+import com.adalbertosantos.events.order.OrderCreatedEvent;
+import com.adalbertosantos.events.order.OrderFulfilledEvent;
+import com.adalbertosantos.events.payment.PaymentFailedEvent;
+import com.adalbertosantos.events.payment.PaymentSucceededEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// One representative instance of every event type, keyed by its simple class name
+final class SampleEvents {
+
+    static final int ITEMS = 4;
+
+    private SampleEvents() {
+    }
+
+    static List<Object> all() {
+        return all(ITEMS);
+    }
+
+    // Item-list events carry the given number of items, small status events are unaffected
+    static List<Object> all(int items) {
+        UUID orderId = UUID.randomUUID();
+        List<OrderCreatedEvent.OrderItem> orderItems = new ArrayList<>(items);
+        List<InventoryReservedEvent.ReservedItem> reservedItems = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            UUID productId = UUID.randomUUID();
+            orderItems.add(new OrderCreatedEvent.OrderItem(productId, i + 1, Money.ofMinor(1999L * (i + 1))));
+            reservedItems.add(new InventoryReservedEvent.ReservedItem(productId, i + 1));
+        }
+        return List.of(
+            new OrderCreatedEvent(orderId, UUID.randomUUID(), orderItems, Money.ofMinor(19990)),
+            new OrderCancelledEvent(orderId, "Customer changed their mind"),
+            new OrderFulfilledEvent(orderId, "TRK-1234567890"),
+            new PaymentSucceededEvent(orderId, UUID.randomUUID(), Money.ofMinor(19990), "CREDIT_CARD"),
+            new PaymentFailedEvent(orderId, UUID.randomUUID(), "Insufficient funds"),
+            new InventoryReservedEvent(orderId, UUID.randomUUID(), reservedItems),
+            new InventoryRejectedEvent(orderId, "Insufficient stock for product"));
+    }
+
+    static Object named(String simpleName) {
+        return named(simpleName, ITEMS);
+    }
+
+    static Object named(String simpleName, int items) {
+        return all(items).stream()
+            .filter(event -> event.getClass().getSimpleName().equals(simpleName))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("Unknown event type: " + simpleName));
+    }
+}
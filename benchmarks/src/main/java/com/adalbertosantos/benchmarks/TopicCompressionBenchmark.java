@@ -0,0 +1,106 @@
+package com.adalbertosantos.benchmarks;
+
+import com.adalbertosantos.events.codec.BinaryEventCodec;
+import com.adalbertosantos.events.codec.EventView;
+import com.adalbertosantos.events.envelope.EventEnvelope;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.CompressionType;
+import org.apache.kafka.common.record.MemoryRecords;
+import org.apache.kafka.common.record.MemoryRecordsBuilder;
+import org.apache.kafka.common.record.Record;
+import org.apache.kafka.common.record.RecordBatch;
+import org.apache.kafka.common.record.TimestampType;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+// What the producer does when it closes a batch and the consumer does when it reads it back, for each
+// topic's event type and compression codec. Broker and network time are not included, and neither is
+// linger.ms, which only adds its configured wait. The wire size of one batch is reported per record.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-XX:+UseParallelGC")
+@State(Scope.Thread)
+public class TopicCompressionBenchmark {
+
+    @Param({"OrderCreatedEvent", "InventoryReservedEvent", "OrderFulfilledEvent"})
+    private String eventType;
+
+    // Items per event: a typical basket and a bulk order
+    @Param({"4", "100"})
+    private int items;
+
+    @Param({"none", "lz4", "zstd"})
+    private String compression;
+
+    // Records per batch: one for linger.ms=0 under light load, more once linger lets batches fill
+    @Param({"1", "64"})
+    private int batchRecords;
+
+    private CompressionType compressionType;
+    private byte[][] keys;
+    private byte[][] values;
+    private Header[][] headers;
+    private ByteBuffer buffer;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class WireSize {
+        public long bytesPerRecord;
+    }
+
+    @Setup
+    public void setUp() {
+        compressionType = CompressionType.forName(compression);
+        keys = new byte[batchRecords][];
+        values = new byte[batchRecords][];
+        headers = new Header[batchRecords][];
+        int uncompressed = 0;
+        for (int i = 0; i < batchRecords; i++) {
+            Object event = SampleEvents.named(eventType, items);
+            RecordHeaders recordHeaders = new RecordHeaders();
+            EventEnvelope.forEvent(event, "benchmark").writeTo(recordHeaders);
+            values[i] = BinaryEventCodec.encode(event);
+            keys[i] = EventView.of(values[i]).getOrderId().toString().getBytes(StandardCharsets.UTF_8);
+            headers[i] = recordHeaders.toArray();
+            uncompressed += keys[i].length + values[i].length + 256;
+        }
+        buffer = ByteBuffer.allocate(uncompressed + 1024);
+    }
+
+    @Benchmark
+    public MemoryRecords produce(WireSize wireSize) {
+        MemoryRecords records = build();
+        wireSize.bytesPerRecord = records.sizeInBytes() / batchRecords;
+        return records;
+    }
+
+    @Benchmark
+    public long produceAndConsume(WireSize wireSize) {
+        MemoryRecords records = build();
+        wireSize.bytesPerRecord = records.sizeInBytes() / batchRecords;
+        long checksum = 0;
+        for (RecordBatch batch : records.batches()) {
+            for (Record record : batch) {
+                ByteBuffer value = record.value();
+                checksum += value.remaining() + value.get(BinaryEventCodec.HEADER_SIZE + 1);
+            }
+        }
+        return checksum;
+    }
+
+    private MemoryRecords build() {
+        buffer.clear();
+        MemoryRecordsBuilder builder = MemoryRecords.builder(buffer, compressionType, TimestampType.CREATE_TIME, 0L);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < batchRecords; i++) {
+            builder.append(now, keys[i], values[i], headers[i]);
+        }
+        return builder.build();
+    }
+}
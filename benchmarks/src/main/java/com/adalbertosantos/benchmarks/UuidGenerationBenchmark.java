@@ -0,0 +1,46 @@
+package com.adalbertosantos.benchmarks;
+
+import com.adalbertosantos.events.id.TimeOrderedUuid;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-XX:+UseParallelGC")
+@State(Scope.Thread)
+public class UuidGenerationBenchmark {
+
+    private static final long VERSION_MASK = 0xFFFF_FFFF_FFFF_0FFFL;
+    private static final long VERSION_4 = 0x4000L;
+    private static final long VARIANT_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+    private static final long VARIANT_RFC_4122 = 0x8000_0000_0000_0000L;
+
+    @Benchmark
+    public UUID randomUuid() {
+        return UUID.randomUUID();
+    }
+
+    // Version 4 without SecureRandom, for ids that only need to be unique rather than unguessable
+    @Benchmark
+    public UUID threadLocalRandomUuid() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return new UUID((random.nextLong() & VERSION_MASK) | VERSION_4,
+            (random.nextLong() & VARIANT_MASK) | VARIANT_RFC_4122);
+    }
+
+    @Benchmark
+    public UUID timeOrderedUuid() {
+        return TimeOrderedUuid.next();
+    }
+
+    // Producers key records by orderId.toString()
+    @Benchmark
+    public String timeOrderedUuidAsRecordKey() {
+        return TimeOrderedUuid.next().toString();
+    }
+}
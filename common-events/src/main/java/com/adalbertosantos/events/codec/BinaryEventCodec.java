@@ -0,0 +1,94 @@
+package com.adalbertosantos.events.codec;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Wire format: [magic][type id][schema version] followed by the schema-defined body
+public final class BinaryEventCodec {
+
+    public static final int MAGIC = 0xE5;
+    public static final int HEADER_SIZE = 3;
+
+    private static final EventSchema<?>[] schemasByTypeId = new EventSchema<?>[256];
+    private static final EventDecoder<?>[] decodersByTypeId = new EventDecoder<?>[256];
+    private static final Map<Class<?>, EventSchema<?>> schemasByClass = new HashMap<>();
+    private static final Map<String, EventSchema<?>> schemasByTypeName = new HashMap<>();
+
+    static {
+        for (EventSchema<?> schema : EventSchemas.ALL) {
+            if (schemasByTypeId[schema.getTypeId()] != null) {
+                throw new IllegalStateException("Duplicate event type id " + schema.getTypeId());
+            }
+            schemasByTypeId[schema.getTypeId()] = schema;
+            decodersByTypeId[schema.getTypeId()] = new EventDecoder<>(schema);
+            schemasByClass.put(schema.getEventType(), schema);
+            schemasByTypeName.put(schema.getTypeName(), schema);
+        }
+    }
+
+    private BinaryEventCodec() {
+    }
+
+    public static byte[] encode(Object event) {
+        EventOutput out = new EventOutput();
+        encode(event, out);
+        return out.toByteArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> void encode(T event, EventOutput out) {
+        EventSchema<T> schema = (EventSchema<T>) schemasByClass.get(event.getClass());
+        if (schema == null) {
+            throw new IllegalArgumentException("No binary schema for " + event.getClass().getName());
+        }
+        out.writeByte(MAGIC);
+        out.writeByte(schema.getTypeId());
+        out.writeByte(schema.getVersion());
+        schema.write(event, out);
+    }
+
+    public static Object decode(byte[] payload) {
+        if (payload.length < HEADER_SIZE || (payload[0] & 0xFF) != MAGIC) {
+            throw new IllegalArgumentException("Not a binary event payload");
+        }
+        EventDecoder<?> decoder = decodersByTypeId[payload[1] & 0xFF];
+        if (decoder == null) {
+            throw new IllegalArgumentException("Unknown event type id " + (payload[1] & 0xFF));
+        }
+        return decoder.decode(payload);
+    }
+
+    public static <T> T decode(byte[] payload, Class<T> type) {
+        return decoderFor(type).decode(payload);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> EventDecoder<T> decoderFor(Class<T> eventType) {
+        EventSchema<?> schema = schemasByClass.get(eventType);
+        if (schema == null) {
+            throw new IllegalArgumentException("No binary schema for " + eventType.getName());
+        }
+        return (EventDecoder<T>) decodersByTypeId[schema.getTypeId()];
+    }
+
+    public static List<EventSchema<?>> schemas() {
+        return EventSchemas.ALL;
+    }
+
+    public static EventSchema<?> schemaFor(Class<?> eventType) {
+        return schemasByClass.get(eventType);
+    }
+
+    public static EventSchema<?> schemaFor(String typeName) {
+        return schemasByTypeName.get(typeName);
+    }
+
+    // Reads only the header, so callers can tell what a payload holds without decoding it
+    public static EventSchema<?> schemaFor(byte[] payload) {
+        if (payload == null || payload.length < HEADER_SIZE || (payload[0] & 0xFF) != MAGIC) {
+            return null;
+        }
+        return schemasByTypeId[payload[1] & 0xFF];
+    }
+}
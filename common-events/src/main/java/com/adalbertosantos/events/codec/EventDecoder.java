@@ -0,0 +1,45 @@
+package com.adalbertosantos.events.codec;
+
+import java.nio.BufferUnderflowException;
+
+// Decodes one event type, bound to its schema up front so a message costs no schema lookup. The writer
+// version from the header goes to the schema's reader, which reads only the fields that version wrote.
+// Newer writers only appended fields (the schema registry checks that when they start), so their extra
+// trailing bytes are left unread.
+public final class EventDecoder<T> {
+
+    private final EventSchema<T> schema;
+
+    EventDecoder(EventSchema<T> schema) {
+        this.schema = schema;
+    }
+
+    public EventSchema<T> getSchema() {
+        return schema;
+    }
+
+    public T decode(byte[] payload) {
+        if (payload.length < BinaryEventCodec.HEADER_SIZE || (payload[0] & 0xFF) != BinaryEventCodec.MAGIC) {
+            throw new IllegalArgumentException("Not a binary event payload");
+        }
+        if ((payload[1] & 0xFF) != schema.getTypeId()) {
+            EventSchema<?> actual = BinaryEventCodec.schemaFor(payload);
+            throw new IllegalArgumentException("Expected " + schema.getTypeName() + " but payload holds "
+                + (actual != null ? actual.getTypeName() : "type id " + (payload[1] & 0xFF)));
+        }
+        int writerVersion = payload[2] & 0xFF;
+        if (writerVersion == 0) {
+            throw new IllegalArgumentException("Invalid " + schema.getTypeName() + " writer version 0");
+        }
+
+        EventInput in = new EventInput(payload);
+        in.readByte();
+        in.readByte();
+        in.readByte();
+        try {
+            return schema.read(in, writerVersion);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated " + schema.getTypeName() + " payload", e);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.adalbertosantos.events.codec;
+
+import org.apache.kafka.common.serialization.Deserializer;
+
+public class EventDeserializer implements Deserializer<Object> {
+
+    @Override
+    public Object deserialize(String topic, byte[] data) {
+        return data == null ? null : BinaryEventCodec.decode(data);
+    }
+}
@@ -0,0 +1,14 @@
+package com.adalbertosantos.events.codec;
+
+// One field of a binary schema as it appears on the wire. since is the schema version that appended it.
+public record EventField(String name, String type, int since) {
+
+    public static EventField of(String name, String type) {
+        return new EventField(name, type, 1);
+    }
+
+    @Override
+    public String toString() {
+        return name + ":" + type;
+    }
+}
@@ -0,0 +1,119 @@
+package com.adalbertosantos.events.codec;
+
+import com.adalbertosantos.events.money.Money;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+
+public final class EventInput {
+
+    private final ByteBuffer buffer;
+
+    public EventInput(byte[] payload) {
+        this(ByteBuffer.wrap(payload));
+    }
+
+    public EventInput(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    public int readByte() {
+        return buffer.get() & 0xFF;
+    }
+
+    public int readVarInt() {
+        long value = readVarLong();
+        if (value > 0xFFFFFFFFL) {
+            throw new IllegalArgumentException("Malformed varint");
+        }
+        return (int) value;
+    }
+
+    public long readVarLong() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    public long readSignedVarLong() {
+        long zigZag = readVarLong();
+        return (zigZag >>> 1) ^ -(zigZag & 1);
+    }
+
+    // Returns -1 for a null collection
+    public int readCount() {
+        int count = readVarInt() - 1;
+        if (count > buffer.remaining()) {
+            throw new IllegalArgumentException("Count " + count + " exceeds remaining payload");
+        }
+        return count;
+    }
+
+    public UUID readUuid() {
+        if (!readPresent()) {
+            return null;
+        }
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    public Instant readInstant() {
+        if (!readPresent()) {
+            return null;
+        }
+        long epochSecond = readSignedVarLong();
+        return Instant.ofEpochSecond(epochSecond, readVarInt());
+    }
+
+    public String readString() {
+        int length = readCount();
+        if (length < 0) {
+            return null;
+        }
+        String value;
+        if (buffer.hasArray()) {
+            value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + length);
+        } else {
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return value;
+    }
+
+    public Money readMoney() {
+        return readPresent() ? Money.readFrom(buffer) : null;
+    }
+
+    public void skipUuid() {
+        if (readPresent()) {
+            buffer.position(buffer.position() + 16);
+        }
+    }
+
+    public void skipMoney() {
+        if (readPresent()) {
+            readVarLong();
+        }
+    }
+
+    public int remaining() {
+        return buffer.remaining();
+    }
+
+    private boolean readPresent() {
+        int marker = readByte();
+        if (marker > 1) {
+            throw new IllegalArgumentException("Malformed presence marker: " + marker);
+        }
+        return marker == 1;
+    }
+}
@@ -0,0 +1,121 @@
+package com.adalbertosantos.events.codec;
+
+import com.adalbertosantos.events.money.Money;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.UUID;
+
+// Reference values are null-safe: a presence byte (or a length/count offset by one) marks null
+public final class EventOutput {
+
+    private static final int MAX_VARLONG_BYTES = 10;
+
+    private byte[] buffer;
+    private int position;
+
+    public EventOutput() {
+        this(128);
+    }
+
+    public EventOutput(int initialCapacity) {
+        this.buffer = new byte[initialCapacity];
+    }
+
+    public void writeByte(int value) {
+        ensureCapacity(1);
+        buffer[position++] = (byte) value;
+    }
+
+    public void writeVarInt(int value) {
+        writeVarLong(value & 0xFFFFFFFFL);
+    }
+
+    public void writeVarLong(long value) {
+        ensureCapacity(MAX_VARLONG_BYTES);
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    public void writeSignedVarLong(long value) {
+        writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    public void writeCount(int count) {
+        writeVarInt(count + 1);
+    }
+
+    public void writeNullCount() {
+        writeVarInt(0);
+    }
+
+    public void writeUuid(UUID value) {
+        if (value == null) {
+            writeByte(0);
+            return;
+        }
+        ensureCapacity(17);
+        buffer[position++] = 1;
+        writeLong(value.getMostSignificantBits());
+        writeLong(value.getLeastSignificantBits());
+    }
+
+    public void writeInstant(Instant value) {
+        if (value == null) {
+            writeByte(0);
+            return;
+        }
+        writeByte(1);
+        writeSignedVarLong(value.getEpochSecond());
+        writeVarInt(value.getNano());
+    }
+
+    public void writeString(String value) {
+        if (value == null) {
+            writeNullCount();
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeCount(bytes.length);
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    public void writeMoney(Money value) {
+        if (value == null) {
+            writeByte(0);
+            return;
+        }
+        ensureCapacity(1 + MAX_VARLONG_BYTES);
+        buffer[position++] = 1;
+        ByteBuffer target = ByteBuffer.wrap(buffer, position, MAX_VARLONG_BYTES);
+        value.writeTo(target);
+        position = target.position();
+    }
+
+    public int size() {
+        return position;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    private void writeLong(long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[position++] = (byte) (value >>> shift);
+        }
+    }
+
+    private void ensureCapacity(int additional) {
+        if (position + additional > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + additional));
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.adalbertosantos.events.codec;
+
+import java.time.Instant;
+import java.util.List;
+
+public abstract class EventSchema<T> {
+
+    private final int typeId;
+    private final int version;
+    private final Class<T> eventType;
+
+    protected EventSchema(int typeId, int version, Class<T> eventType) {
+        this.typeId = typeId;
+        this.version = version;
+        this.eventType = eventType;
+    }
+
+    public int getTypeId() {
+        return typeId;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public Class<T> getEventType() {
+        return eventType;
+    }
+
+    public String getTypeName() {
+        return eventType.getSimpleName();
+    }
+
+    // Wire layout in write order, which is what the schema registry compares across versions
+    public abstract List<EventField> fields();
+
+    public List<EventField> fields(int version) {
+        return fields().stream().filter(field -> field.since() <= version).toList();
+    }
+
+    public abstract void write(T event, EventOutput out);
+
+    // Fields are only ever appended: a reader reads a field only when writerVersion >= its since, leaving it
+    // unset for older writers, and never reads past its own fields, which skips what newer writers appended
+    public abstract T read(EventInput in, int writerVersion);
+
+    // Reads only the event timestamp; the default covers schemas that write it right after orderId
+    public Instant readTimestamp(EventInput in, int writerVersion) {
+        in.skipUuid();
+        return in.readInstant();
+    }
+}
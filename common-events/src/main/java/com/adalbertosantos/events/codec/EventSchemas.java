@@ -0,0 +1,287 @@
+package com.adalbertosantos.events.codec;
+
+import com.adalbertosantos.events.inventory.InventoryRejectedEvent;
+import com.adalbertosantos.events.inventory.InventoryReservedEvent;
+import com.adalbertosantos.events.money.Money;
+import com.adalbertosantos.events.order.OrderCancelledEvent;
+import com.adalbertosantos.events.order.OrderCreatedEvent;
+import com.adalbertosantos.events.order.OrderFulfilledEvent;
+import com.adalbertosantos.events.payment.PaymentFailedEvent;
+import com.adalbertosantos.events.payment.PaymentSucceededEvent;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// Every schema writes orderId first so it sits at a fixed offset right after the header. All of them are
+// still at version 1, so their readers read every field for any writer version.
+final class EventSchemas {
+
+    static final List<EventSchema<?>> ALL = List.of(
+        new OrderCreated(),
+        new OrderCancelled(),
+        new OrderFulfilled(),
+        new PaymentSucceeded(),
+        new PaymentFailed(),
+        new InventoryReserved(),
+        new InventoryRejected()
+    );
+
+    private EventSchemas() {
+    }
+
+    static final class OrderCreated extends EventSchema<OrderCreatedEvent> {
+        OrderCreated() {
+            super(1, 1, OrderCreatedEvent.class);
+        }
+
+        @Override
+        public List<EventField> fields() {
+            return List.of(
+                EventField.of("orderId", "uuid"),
+                EventField.of("customerId", "uuid"),
+                EventField.of("totalAmount", "money"),
+                EventField.of("timestamp", "instant"),
+                EventField.of("items", "list<productId:uuid,quantity:varint,price:money>"));
+        }
+
+        @Override
+        public void write(OrderCreatedEvent event, EventOutput out) {
+            out.writeUuid(event.orderId());
+            out.writeUuid(event.customerId());
+            out.writeMoney(event.totalAmount());
+            out.writeInstant(event.timestamp());
+            List<OrderCreatedEvent.OrderItem> items = event.items();
+            if (items == null) {
+                out.writeNullCount();
+                return;
+            }
+            out.writeCount(items.size());
+            for (OrderCreatedEvent.OrderItem item : items) {
+                out.writeUuid(item.productId());
+                out.writeVarInt(item.quantity());
+                out.writeMoney(item.price());
+            }
+        }
+
+        @Override
+        public OrderCreatedEvent read(EventInput in, int writerVersion) {
+            UUID orderId = in.readUuid();
+            UUID customerId = in.readUuid();
+            Money totalAmount = in.readMoney();
+            Instant timestamp = in.readInstant();
+            int count = in.readCount();
+            List<OrderCreatedEvent.OrderItem> items = null;
+            if (count >= 0) {
+                items = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    items.add(new OrderCreatedEvent.OrderItem(in.readUuid(), in.readVarInt(), in.readMoney()));
+                }
+            }
+            return new OrderCreatedEvent(orderId, customerId, items, totalAmount, timestamp);
+        }
+
+        @Override
+        public Instant readTimestamp(EventInput in, int writerVersion) {
+            in.skipUuid();
+            in.skipUuid();
+            in.skipMoney();
+            return in.readInstant();
+        }
+    }
+
+    static final class OrderCancelled extends EventSchema<OrderCancelledEvent> {
+        OrderCancelled() {
+            super(2, 1, OrderCancelledEvent.class);
+        }
+
+        @Override
+        public List<EventField> fields() {
+            return List.of(
+                EventField.of("orderId", "uuid"),
+                EventField.of("timestamp", "instant"),
+                EventField.of("reason", "string"));
+        }
+
+        @Override
+        public void write(OrderCancelledEvent event, EventOutput out) {
+            out.writeUuid(event.orderId());
+            out.writeInstant(event.timestamp());
+            out.writeString(event.reason());
+        }
+
+        @Override
+        public OrderCancelledEvent read(EventInput in, int writerVersion) {
+            UUID orderId = in.readUuid();
+            Instant timestamp = in.readInstant();
+            return new OrderCancelledEvent(orderId, in.readString(), timestamp);
+        }
+    }
+
+    static final class OrderFulfilled extends EventSchema<OrderFulfilledEvent> {
+        OrderFulfilled() {
+            super(3, 1, OrderFulfilledEvent.class);
+        }
+
+        @Override
+        public List<EventField> fields() {
+            return List.of(
+                EventField.of("orderId", "uuid"),
+                EventField.of("timestamp", "instant"),
+                EventField.of("trackingNumber", "string"));
+        }
+
+        @Override
+        public void write(OrderFulfilledEvent event, EventOutput out) {
+            out.writeUuid(event.orderId());
+            out.writeInstant(event.timestamp());
+            out.writeString(event.trackingNumber());
+        }
+
+        @Override
+        public OrderFulfilledEvent read(EventInput in, int writerVersion) {
+            UUID orderId = in.readUuid();
+            Instant timestamp = in.readInstant();
+            return new OrderFulfilledEvent(orderId, in.readString(), timestamp);
+        }
+    }
+
+    static final class PaymentSucceeded extends EventSchema<PaymentSucceededEvent> {
+        PaymentSucceeded() {
+            super(4, 1, PaymentSucceededEvent.class);
+        }
+
+        @Override
+        public List<EventField> fields() {
+            return List.of(
+                EventField.of("orderId", "uuid"),
+                EventField.of("timestamp", "instant"),
+                EventField.of("paymentId", "uuid"),
+                EventField.of("amount", "money"),
+                EventField.of("paymentMethod", "string"));
+        }
+
+        @Override
+        public void write(PaymentSucceededEvent event, EventOutput out) {
+            out.writeUuid(event.orderId());
+            out.writeInstant(event.timestamp());
+            out.writeUuid(event.paymentId());
+            out.writeMoney(event.amount());
+            out.writeString(event.paymentMethod());
+        }
+
+        @Override
+        public PaymentSucceededEvent read(EventInput in, int writerVersion) {
+            UUID orderId = in.readUuid();
+            Instant timestamp = in.readInstant();
+            return new PaymentSucceededEvent(orderId, in.readUuid(), in.readMoney(), in.readString(), timestamp);
+        }
+    }
+
+    static final class PaymentFailed extends EventSchema<PaymentFailedEvent> {
+        PaymentFailed() {
+            super(5, 1, PaymentFailedEvent.class);
+        }
+
+        @Override
+        public List<EventField> fields() {
+            return List.of(
+                EventField.of("orderId", "uuid"),
+                EventField.of("timestamp", "instant"),
+                EventField.of("paymentId", "uuid"),
+                EventField.of("reason", "string"));
+        }
+
+        @Override
+        public void write(PaymentFailedEvent event, EventOutput out) {
+            out.writeUuid(event.orderId());
+            out.writeInstant(event.timestamp());
+            out.writeUuid(event.paymentId());
+            out.writeString(event.reason());
+        }
+
+        @Override
+        public PaymentFailedEvent read(EventInput in, int writerVersion) {
+            UUID orderId = in.readUuid();
+            Instant timestamp = in.readInstant();
+            return new PaymentFailedEvent(orderId, in.readUuid(), in.readString(), timestamp);
+        }
+    }
+
+    static final class InventoryReserved extends EventSchema<InventoryReservedEvent> {
+        InventoryReserved() {
+            super(6, 1, InventoryReservedEvent.class);
+        }
+
+        @Override
+        public List<EventField> fields() {
+            return List.of(
+                EventField.of("orderId", "uuid"),
+                EventField.of("timestamp", "instant"),
+                EventField.of("reservationId", "uuid"),
+                EventField.of("items", "list<productId:uuid,quantity:varint>"));
+        }
+
+        @Override
+        public void write(InventoryReservedEvent event, EventOutput out) {
+            out.writeUuid(event.orderId());
+            out.writeInstant(event.timestamp());
+            out.writeUuid(event.reservationId());
+            List<InventoryReservedEvent.ReservedItem> items = event.items();
+            if (items == null) {
+                out.writeNullCount();
+                return;
+            }
+            out.writeCount(items.size());
+            for (InventoryReservedEvent.ReservedItem item : items) {
+                out.writeUuid(item.productId());
+                out.writeVarInt(item.quantity());
+            }
+        }
+
+        @Override
+        public InventoryReservedEvent read(EventInput in, int writerVersion) {
+            UUID orderId = in.readUuid();
+            Instant timestamp = in.readInstant();
+            UUID reservationId = in.readUuid();
+            int count = in.readCount();
+            List<InventoryReservedEvent.ReservedItem> items = null;
+            if (count >= 0) {
+                items = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    items.add(new InventoryReservedEvent.ReservedItem(in.readUuid(), in.readVarInt()));
+                }
+            }
+            return new InventoryReservedEvent(orderId, reservationId, items, timestamp);
+        }
+    }
+
+    static final class InventoryRejected extends EventSchema<InventoryRejectedEvent> {
+        InventoryRejected() {
+            super(7, 1, InventoryRejectedEvent.class);
+        }
+
+        @Override
+        public List<EventField> fields() {
+            return List.of(
+                EventField.of("orderId", "uuid"),
+                EventField.of("timestamp", "instant"),
+                EventField.of("reason", "string"));
+        }
+
+        @Override
+        public void write(InventoryRejectedEvent event, EventOutput out) {
+            out.writeUuid(event.orderId());
+            out.writeInstant(event.timestamp());
+            out.writeString(event.reason());
+        }
+
+        @Override
+        public InventoryRejectedEvent read(EventInput in, int writerVersion) {
+            UUID orderId = in.readUuid();
+            Instant timestamp = in.readInstant();
+            return new InventoryRejectedEvent(orderId, in.readString(), timestamp);
+        }
+    }
+}
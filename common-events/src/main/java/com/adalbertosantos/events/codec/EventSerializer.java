@@ -0,0 +1,18 @@
+package com.adalbertosantos.events.codec;
+
+import org.apache.kafka.common.serialization.Serializer;
+
+// Already-encoded payloads (outbox rows, dead letters) pass through untouched
+public class EventSerializer implements Serializer<Object> {
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        if (data == null) {
+            return null;
+        }
+        if (data instanceof byte[] encoded) {
+            return encoded;
+        }
+        return BinaryEventCodec.encode(data);
+    }
+}
@@ -0,0 +1,120 @@
+package com.adalbertosantos.events.codec;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.Instant;
+import java.util.UUID;
+
+// Reads single fields straight from an encoded payload. Only the header is checked up front;
+// orderId sits at a fixed offset and the full event is decoded only when asked for.
+public final class EventView {
+
+    private static final VarHandle BIG_ENDIAN_LONG =
+        MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+    private static final int ORDER_ID_OFFSET = BinaryEventCodec.HEADER_SIZE;
+
+    private final byte[] payload;
+    private final EventSchema<?> schema;
+    private Object decoded;
+
+    private EventView(byte[] payload, EventSchema<?> schema) {
+        this.payload = payload;
+        this.schema = schema;
+    }
+
+    public static EventView of(byte[] payload) {
+        EventSchema<?> schema = BinaryEventCodec.schemaFor(payload);
+        if (schema == null) {
+            throw new IllegalArgumentException("Not a binary event payload");
+        }
+        return new EventView(payload, schema);
+    }
+
+    public static EventView of(byte[] payload, Class<?> expectedType) {
+        EventView view = of(payload);
+        if (view.schema.getEventType() != expectedType) {
+            throw new IllegalArgumentException("Expected " + expectedType.getSimpleName() + " but payload holds "
+                + view.getTypeName());
+        }
+        return view;
+    }
+
+    public EventSchema<?> getSchema() {
+        return schema;
+    }
+
+    public String getTypeName() {
+        return schema.getTypeName();
+    }
+
+    public int getWriterVersion() {
+        return payload[2] & 0xFF;
+    }
+
+    public boolean hasOrderId() {
+        if (payload.length <= ORDER_ID_OFFSET) {
+            throw new IllegalArgumentException("Truncated " + getTypeName() + " payload");
+        }
+        int marker = payload[ORDER_ID_OFFSET];
+        if (marker != 0 && marker != 1) {
+            throw new IllegalArgumentException("Malformed presence marker: " + (marker & 0xFF));
+        }
+        return marker == 1;
+    }
+
+    // The two halves let callers hash or compare order ids without allocating a UUID
+    public long getOrderIdMostSignificantBits() {
+        requireOrderId();
+        return (long) BIG_ENDIAN_LONG.get(payload, ORDER_ID_OFFSET + 1);
+    }
+
+    public long getOrderIdLeastSignificantBits() {
+        requireOrderId();
+        return (long) BIG_ENDIAN_LONG.get(payload, ORDER_ID_OFFSET + 9);
+    }
+
+    public UUID getOrderId() {
+        if (!hasOrderId()) {
+            return null;
+        }
+        return new UUID(getOrderIdMostSignificantBits(), getOrderIdLeastSignificantBits());
+    }
+
+    public Instant getTimestamp() {
+        EventInput in = new EventInput(ByteBuffer.wrap(payload, BinaryEventCodec.HEADER_SIZE,
+            payload.length - BinaryEventCodec.HEADER_SIZE));
+        try {
+            return schema.readTimestamp(in, getWriterVersion());
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated " + getTypeName() + " payload", e);
+        }
+    }
+
+    public Object decode() {
+        if (decoded == null) {
+            decoded = BinaryEventCodec.decode(payload);
+        }
+        return decoded;
+    }
+
+    public <T> T decode(Class<T> type) {
+        Object event = decode();
+        if (!type.isInstance(event)) {
+            throw new IllegalArgumentException("Expected " + type.getSimpleName() + " but payload holds "
+                + getTypeName());
+        }
+        return type.cast(event);
+    }
+
+    private void requireOrderId() {
+        if (!hasOrderId()) {
+            throw new IllegalStateException(getTypeName() + " payload has no orderId");
+        }
+        if (payload.length < ORDER_ID_OFFSET + 17) {
+            throw new IllegalArgumentException("Truncated " + getTypeName() + " payload");
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.adalbertosantos.events.envelope;
+
+import com.adalbertosantos.events.codec.BinaryEventCodec;
+import com.adalbertosantos.events.codec.EventDecoder;
+import com.adalbertosantos.events.codec.EventSchema;
+import org.apache.kafka.common.header.Headers;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// Routes records on the envelope headers and only decodes payloads that have a handler
+public final class EventDispatcher {
+
+    public enum Outcome {
+        HANDLED,
+        SKIPPED,
+        DUPLICATE
+    }
+
+    private static final ThreadLocal<EventEnvelope> current = new ThreadLocal<>();
+    private static final CompletableFuture<Object> DONE = CompletableFuture.completedFuture(null);
+    private static final CompletableFuture<Outcome> HANDLED = CompletableFuture.completedFuture(Outcome.HANDLED);
+    private static final CompletableFuture<Outcome> SKIPPED = CompletableFuture.completedFuture(Outcome.SKIPPED);
+    private static final CompletableFuture<Outcome> DUPLICATE = CompletableFuture.completedFuture(Outcome.DUPLICATE);
+
+    private final Map<String, Route<?>> routes;
+    private final Map<UUID, Boolean> recentEventIds;
+
+    private EventDispatcher(Map<String, Route<?>> routes, int deduplicationWindow) {
+        this.routes = Map.copyOf(routes);
+        this.recentEventIds = deduplicationWindow > 0
+            ? Collections.synchronizedMap(new LinkedHashMap<>(deduplicationWindow, 0.75f, false) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<UUID, Boolean> eldest) {
+                    return size() > deduplicationWindow;
+                }
+            })
+            : null;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    // The envelope of the record being dispatched on this thread, so handlers can read it and
+    // events they publish carry its trace context forward
+    public static EventEnvelope currentEnvelope() {
+        return current.get();
+    }
+
+    public Outcome dispatch(Headers headers, byte[] payload) {
+        return dispatchAsync(headers, payload).join();
+    }
+
+    // Completes when the handler's work does. Handlers registered with on(...) finish before this returns;
+    // a handler that throws on the calling thread throws here rather than failing the future
+    public CompletableFuture<Outcome> dispatchAsync(Headers headers, byte[] payload) {
+        EventEnvelope envelope = EventEnvelope.readFrom(headers);
+        String eventType = envelope != null ? envelope.getEventType() : legacyEventType(payload);
+        Route<?> route = eventType != null ? routes.get(eventType) : null;
+        if (route == null) {
+            return SKIPPED;
+        }
+
+        UUID eventId = envelope != null ? envelope.getEventId() : null;
+        if (recentEventIds != null && eventId != null && recentEventIds.containsKey(eventId)) {
+            return DUPLICATE;
+        }
+
+        CompletableFuture<?> handled;
+        EventEnvelope previous = current.get();
+        current.set(envelope);
+        try {
+            handled = route.handle(payload);
+        } finally {
+            if (previous != null) {
+                current.set(previous);
+            } else {
+                current.remove();
+            }
+        }
+
+        if (handled.isDone() && !handled.isCompletedExceptionally()) {
+            remember(eventId);
+            return HANDLED;
+        }
+        return handled.thenApply(ignored -> {
+            remember(eventId);
+            return Outcome.HANDLED;
+        });
+    }
+
+    private void remember(UUID eventId) {
+        if (recentEventIds != null && eventId != null) {
+            recentEventIds.put(eventId, Boolean.TRUE);
+        }
+    }
+
+    private static String legacyEventType(byte[] payload) {
+        EventSchema<?> schema = BinaryEventCodec.schemaFor(payload);
+        return schema != null ? schema.getTypeName() : null;
+    }
+
+    public static final class Builder {
+        private final Map<String, Route<?>> routes = new HashMap<>();
+        private int deduplicationWindow;
+
+        private Builder() {
+        }
+
+        public <T> Builder on(Class<T> eventType, Consumer<T> handler) {
+            return onAsync(eventType, event -> {
+                handler.accept(event);
+                return DONE;
+            });
+        }
+
+        // For handlers that start work and return without waiting for it; dispatchAsync completes with it
+        public <T> Builder onAsync(Class<T> eventType, Function<T, ? extends CompletionStage<?>> handler) {
+            EventSchema<?> schema = BinaryEventCodec.schemaFor(eventType);
+            if (schema == null) {
+                throw new IllegalArgumentException("No binary schema for " + eventType.getName());
+            }
+            routes.put(schema.getTypeName(), new Route<>(BinaryEventCodec.decoderFor(eventType), handler));
+            return this;
+        }
+
+        // Remembers the ids of the last N handled events and skips redeliveries of them
+        public Builder deduplicate(int deduplicationWindow) {
+            this.deduplicationWindow = deduplicationWindow;
+            return this;
+        }
+
+        public EventDispatcher build() {
+            return new EventDispatcher(routes, deduplicationWindow);
+        }
+    }
+
+    private record Route<T>(EventDecoder<T> decoder, Function<T, ? extends CompletionStage<?>> handler) {
+        CompletableFuture<?> handle(byte[] payload) {
+            return handler.apply(decoder.decode(payload)).toCompletableFuture();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.adalbertosantos.events.envelope;
+
+import com.adalbertosantos.events.codec.BinaryEventCodec;
+import com.adalbertosantos.events.codec.EventSchema;
+import com.adalbertosantos.events.id.TimeOrderedUuid;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+
+public final class EventEnvelope {
+
+    private final String eventType;
+    private final int schemaVersion;
+    private final UUID eventId;
+    private final String producer;
+    private final Instant occurredAt;
+    private final String traceParent;
+
+    public EventEnvelope(String eventType, int schemaVersion, UUID eventId, String producer,
+                         Instant occurredAt, String traceParent) {
+        this.eventType = eventType;
+        this.schemaVersion = schemaVersion;
+        this.eventId = eventId;
+        this.producer = producer;
+        this.occurredAt = occurredAt;
+        this.traceParent = traceParent;
+    }
+
+    // Inherits the trace parent of the record being handled on this thread, if any
+    public static EventEnvelope forEvent(Object event, String producer) {
+        EventSchema<?> schema = BinaryEventCodec.schemaFor(event.getClass());
+        if (schema == null) {
+            throw new IllegalArgumentException("No binary schema for " + event.getClass().getName());
+        }
+        return forSchema(schema, TimeOrderedUuid.next(), producer, Instant.now());
+    }
+
+    public static EventEnvelope forPayload(byte[] payload, UUID eventId, String producer, Instant occurredAt) {
+        EventSchema<?> schema = BinaryEventCodec.schemaFor(payload);
+        if (schema == null) {
+            throw new IllegalArgumentException("Not a binary event payload");
+        }
+        return forSchema(schema, eventId, producer, occurredAt);
+    }
+
+    // Returns null for records written without an envelope
+    public static EventEnvelope readFrom(Headers headers) {
+        String eventType = readString(headers, EventHeaders.EVENT_TYPE);
+        if (eventType == null) {
+            return null;
+        }
+
+        Header version = headers.lastHeader(EventHeaders.SCHEMA_VERSION);
+        Header eventId = headers.lastHeader(EventHeaders.EVENT_ID);
+        Header occurredAt = headers.lastHeader(EventHeaders.OCCURRED_AT);
+        return new EventEnvelope(
+            eventType,
+            version != null && version.value().length == 1 ? version.value()[0] & 0xFF : 0,
+            eventId != null && eventId.value().length == 16 ? toUuid(eventId.value()) : null,
+            readString(headers, EventHeaders.PRODUCER),
+            occurredAt != null && occurredAt.value().length == 8
+                ? Instant.ofEpochMilli(ByteBuffer.wrap(occurredAt.value()).getLong()) : null,
+            readString(headers, EventHeaders.TRACE_PARENT));
+    }
+
+    public void writeTo(Headers headers) {
+        headers.add(EventHeaders.EVENT_TYPE, eventType.getBytes(StandardCharsets.UTF_8));
+        headers.add(EventHeaders.SCHEMA_VERSION, new byte[] {(byte) schemaVersion});
+        if (eventId != null) {
+            headers.add(EventHeaders.EVENT_ID, ByteBuffer.allocate(16)
+                .putLong(eventId.getMostSignificantBits())
+                .putLong(eventId.getLeastSignificantBits())
+                .array());
+        }
+        if (producer != null) {
+            headers.add(EventHeaders.PRODUCER, producer.getBytes(StandardCharsets.UTF_8));
+        }
+        if (occurredAt != null) {
+            headers.add(EventHeaders.OCCURRED_AT, ByteBuffer.allocate(8).putLong(occurredAt.toEpochMilli()).array());
+        }
+        if (traceParent != null && headers.lastHeader(EventHeaders.TRACE_PARENT) == null) {
+            headers.add(EventHeaders.TRACE_PARENT, traceParent.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    public <K, V> ProducerRecord<K, V> toRecord(String topic, K key, V value) {
+        ProducerRecord<K, V> record = new ProducerRecord<>(topic, key, value);
+        writeTo(record.headers());
+        return record;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public int getSchemaVersion() {
+        return schemaVersion;
+    }
+
+    public UUID getEventId() {
+        return eventId;
+    }
+
+    public String getProducer() {
+        return producer;
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+
+    public String getTraceParent() {
+        return traceParent;
+    }
+
+    private static EventEnvelope forSchema(EventSchema<?> schema, UUID eventId, String producer, Instant occurredAt) {
+        EventEnvelope cause = EventDispatcher.currentEnvelope();
+        return new EventEnvelope(schema.getTypeName(), schema.getVersion(), eventId, producer, occurredAt,
+            cause != null ? cause.getTraceParent() : null);
+    }
+
+    private static String readString(Headers headers, String key) {
+        Header header = headers.lastHeader(key);
+        return header != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
+    }
+
+    private static UUID toUuid(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}
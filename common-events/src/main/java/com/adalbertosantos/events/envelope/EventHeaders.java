@@ -0,0 +1,16 @@
+package com.adalbertosantos.events.envelope;
+
+// Type, producer and trace parent are UTF-8; the schema version is one byte,
+// the event id 16 raw bytes and occurred-at 8 bytes of epoch millis
+public final class EventHeaders {
+
+    public static final String EVENT_TYPE = "event-type";
+    public static final String SCHEMA_VERSION = "event-schema-version";
+    public static final String EVENT_ID = "event-id";
+    public static final String PRODUCER = "event-producer";
+    public static final String OCCURRED_AT = "event-occurred-at";
+    public static final String TRACE_PARENT = "traceparent";
+
+    private EventHeaders() {
+    }
+}
@@ -0,0 +1,38 @@
+package com.adalbertosantos.events.id;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class TimeOrderedUuid {
+
+    private static final int COUNTER_BITS = 12;
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_RFC_4122 = 0x8000_0000_0000_0000L;
+    private static final long RANDOM_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+
+    // Unix milliseconds in the high 48 bits, a per-millisecond counter in the low 12 bits
+    private static final AtomicLong lastTimestampAndCounter = new AtomicLong();
+
+    private TimeOrderedUuid() {
+    }
+
+    public static UUID next() {
+        long now = System.currentTimeMillis() << COUNTER_BITS;
+        long timestampAndCounter = lastTimestampAndCounter.updateAndGet(last -> Math.max(now, last + 1));
+
+        long timestamp = timestampAndCounter >>> COUNTER_BITS;
+        long counter = timestampAndCounter & ((1L << COUNTER_BITS) - 1);
+        long mostSigBits = (timestamp << 16) | VERSION_7 | counter;
+        long leastSigBits = VARIANT_RFC_4122 | (ThreadLocalRandom.current().nextLong() & RANDOM_MASK);
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    public static Instant timestampOf(UUID uuid) {
+        if (uuid.version() != 7) {
+            throw new IllegalArgumentException("Not a version 7 UUID: " + uuid);
+        }
+        return Instant.ofEpochMilli(uuid.getMostSignificantBits() >>> 16);
+    }
+}
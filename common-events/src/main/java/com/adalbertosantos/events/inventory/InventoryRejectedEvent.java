@@ -3,41 +3,9 @@ package com.adalbertosantos.events.inventory;
 import java.time.Instant;
 import java.util.UUID;
 
-public class InventoryRejectedEvent {
-    private UUID orderId;
-    private String reason;
-    private Instant timestamp;
-
-    public InventoryRejectedEvent() {
-    }
+public record InventoryRejectedEvent(UUID orderId, String reason, Instant timestamp) {
 
     public InventoryRejectedEvent(UUID orderId, String reason) {
-        this.orderId = orderId;
-        this.reason = reason;
-        this.timestamp = Instant.now();
-    }
-
-    public UUID getOrderId() {
-        return orderId;
-    }
-
-    public void setOrderId(UUID orderId) {
-        this.orderId = orderId;
-    }
-
-    public String getReason() {
-        return reason;
-    }
-
-    public void setReason(String reason) {
-        this.reason = reason;
-    }
-
-    public Instant getTimestamp() {
-        return timestamp;
-    }
-
-    public void setTimestamp(Instant timestamp) {
-        this.timestamp = timestamp;
+        this(orderId, reason, Instant.now());
     }
 }
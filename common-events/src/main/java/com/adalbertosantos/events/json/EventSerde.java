@@ -0,0 +1,116 @@
+package com.adalbertosantos.events.json;
+
+import com.adalbertosantos.events.codec.BinaryEventCodec;
+import com.adalbertosantos.events.codec.EventSchema;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// JSON side of the events and the one ObjectMapper configuration every service registers as its bean.
+// Readers and writers are immutable and resolve their root (de)serializer once, so per-call type
+// lookups go away; Blackbird replaces reflective getters and setters with generated lambdas.
+public final class EventSerde {
+
+    private static final EventSerde SHARED = new EventSerde(newObjectMapper());
+
+    private final ObjectMapper objectMapper;
+    private final ConcurrentMap<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+    private final BlockingQueue<PooledOutput> outputs =
+        new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors() * 2);
+
+    public EventSerde(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        for (EventSchema<?> schema : BinaryEventCodec.schemas()) {
+            readerFor(schema.getEventType());
+            writerFor(schema.getEventType());
+        }
+    }
+
+    public static EventSerde shared() {
+        return SHARED;
+    }
+
+    public static ObjectMapper newObjectMapper() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        mapper.registerModule(new BlackbirdModule());
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        return mapper;
+    }
+
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    public ObjectReader readerFor(Class<?> type) {
+        return readers.computeIfAbsent(type, objectMapper::readerFor);
+    }
+
+    // Writers leave the target stream open so callers can write several values to one response
+    public ObjectWriter writerFor(Class<?> type) {
+        return writers.computeIfAbsent(type,
+            key -> objectMapper.writerFor(key).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET));
+    }
+
+    // Encodes into a pooled buffer and copies out exactly the written bytes, never through a String.
+    // The pool is shared rather than per thread so it also works for virtual threads.
+    public byte[] write(Object value) {
+        PooledOutput out = outputs.poll();
+        if (out == null) {
+            out = new PooledOutput();
+        }
+        try {
+            writerFor(value.getClass()).writeValue(out, value);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to serialize " + value.getClass().getSimpleName(), e);
+        } finally {
+            out.release();
+        }
+    }
+
+    public void write(Object value, OutputStream out) {
+        try {
+            writerFor(value.getClass()).writeValue(out, value);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to serialize " + value.getClass().getSimpleName(), e);
+        }
+    }
+
+    public <T> T read(byte[] json, Class<T> type) {
+        try {
+            return readerFor(type).readValue(json);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed " + type.getSimpleName() + " JSON", e);
+        }
+    }
+
+    private final class PooledOutput extends ByteArrayOutputStream {
+        private static final int MAX_RETAINED_SIZE = 64 * 1024;
+
+        private PooledOutput() {
+            super(1024);
+        }
+
+        // Oversized buffers are dropped so one large event does not pin its memory in the pool
+        void release() {
+            if (buf.length <= MAX_RETAINED_SIZE) {
+                reset();
+                outputs.offer(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.adalbertosantos.events.money;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+
+@JsonSerialize(using = Money.Serializer.class)
+@JsonDeserialize(using = Money.Deserializer.class)
+public final class Money implements Comparable<Money> {
+
+    public static final int SCALE = 2;
+    public static final Money ZERO = new Money(0);
+
+    private static final long MINOR_PER_MAJOR = 100;
+
+    private final long minorUnits;
+
+    private Money(long minorUnits) {
+        this.minorUnits = minorUnits;
+    }
+
+    public static Money ofMinor(long minorUnits) {
+        return minorUnits == 0 ? ZERO : new Money(minorUnits);
+    }
+
+    public static Money of(BigDecimal amount) {
+        return ofMinor(amount.movePointRight(SCALE).longValueExact());
+    }
+
+    public static Money parse(String amount) {
+        return ofMinor(parseMinor(amount));
+    }
+
+    // Primitive arithmetic for hot loops; overflow throws instead of wrapping
+    public static long add(long minorUnits, long otherMinorUnits) {
+        return Math.addExact(minorUnits, otherMinorUnits);
+    }
+
+    public static long multiply(long minorUnits, long quantity) {
+        return Math.multiplyExact(minorUnits, quantity);
+    }
+
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    public Money plus(Money other) {
+        return ofMinor(add(minorUnits, other.minorUnits));
+    }
+
+    public Money times(long quantity) {
+        return ofMinor(multiply(minorUnits, quantity));
+    }
+
+    public boolean isNegative() {
+        return minorUnits < 0;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    public void writeTo(ByteBuffer buffer) {
+        long zigZag = (minorUnits << 1) ^ (minorUnits >> 63);
+        while ((zigZag & ~0x7FL) != 0) {
+            buffer.put((byte) ((zigZag & 0x7F) | 0x80));
+            zigZag >>>= 7;
+        }
+        buffer.put((byte) zigZag);
+    }
+
+    public static Money readFrom(ByteBuffer buffer) {
+        long zigZag = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            zigZag |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return ofMinor((zigZag >>> 1) ^ -(zigZag & 1));
+            }
+        }
+        throw new IllegalArgumentException("Malformed money varint");
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof Money other && minorUnits == other.minorUnits);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        long major = minorUnits / MINOR_PER_MAJOR;
+        long minor = Math.abs(minorUnits % MINOR_PER_MAJOR);
+        String sign = minorUnits < 0 && major == 0 ? "-" : "";
+        return sign + major + (minor < 10 ? ".0" : ".") + minor;
+    }
+
+    static long parseMinor(String amount) {
+        int length = amount.length();
+        int start = 0;
+        boolean negative = false;
+        if (length > 0 && (amount.charAt(0) == '-' || amount.charAt(0) == '+')) {
+            negative = amount.charAt(0) == '-';
+            start = 1;
+        }
+
+        long major = 0;
+        long minor = 0;
+        int digits = 0;
+        int fractionDigits = -1;
+        for (int i = start; i < length; i++) {
+            char c = amount.charAt(i);
+            if (c == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else if (c >= '0' && c <= '9') {
+                digits++;
+                if (fractionDigits < 0) {
+                    major = Math.addExact(Math.multiplyExact(major, 10), c - '0');
+                } else if (fractionDigits < SCALE) {
+                    minor = minor * 10 + (c - '0');
+                    fractionDigits++;
+                } else if (c != '0') {
+                    throw new ArithmeticException("Amount has more than " + SCALE + " decimal places: " + amount);
+                }
+            } else {
+                throw new NumberFormatException("Invalid amount: " + amount);
+            }
+        }
+        if (digits == 0) {
+            throw new NumberFormatException("Invalid amount: " + amount);
+        }
+        for (int i = Math.max(fractionDigits, 0); i < SCALE; i++) {
+            minor *= 10;
+        }
+
+        long minorUnits = Math.addExact(Math.multiplyExact(major, MINOR_PER_MAJOR), minor);
+        return negative ? -minorUnits : minorUnits;
+    }
+
+    static class Serializer extends JsonSerializer<Money> {
+        @Override
+        public void serialize(Money value, JsonGenerator generator, SerializerProvider serializers) throws IOException {
+            generator.writeNumber(value.toString());
+        }
+    }
+
+    static class Deserializer extends JsonDeserializer<Money> {
+        @Override
+        public Money deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            JsonToken token = parser.currentToken();
+            if (token == JsonToken.VALUE_NUMBER_INT) {
+                return ofMinor(multiply(parser.getLongValue(), MINOR_PER_MAJOR));
+            }
+            if (token == JsonToken.VALUE_NUMBER_FLOAT || token == JsonToken.VALUE_STRING) {
+                try {
+                    return parse(parser.getText().trim());
+                } catch (ArithmeticException | NumberFormatException e) {
+                    return (Money) context.handleWeirdStringValue(Money.class, parser.getText(), e.getMessage());
+                }
+            }
+            return (Money) context.handleUnexpectedToken(Money.class, parser);
+        }
+    }
+}
@@ -1,103 +1,24 @@
 package com.adalbertosantos.events.order;
 
+import com.adalbertosantos.events.money.Money;
 import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
-public class OrderCreatedEvent {
-    private UUID orderId;
-    private UUID customerId;
-    private List<OrderItem> items;
-    private double totalAmount;
-    private Instant timestamp;
+public record OrderCreatedEvent(UUID orderId, UUID customerId, List<OrderItem> items, Money totalAmount,
+                                Instant timestamp) {
 
-    public OrderCreatedEvent() {
-    }
-
-    public OrderCreatedEvent(UUID orderId, UUID customerId, List<OrderItem> items, double totalAmount) {
-        this.orderId = orderId;
-        this.customerId = customerId;
-        this.items = items;
-        this.totalAmount = totalAmount;
-        this.timestamp = Instant.now();
-    }
-
-    public UUID getOrderId() {
-        return orderId;
-    }
-
-    public void setOrderId(UUID orderId) {
-        this.orderId = orderId;
-    }
-
-    public UUID getCustomerId() {
-        return customerId;
-    }
-
-    public void setCustomerId(UUID customerId) {
-        this.customerId = customerId;
-    }
-
-    public List<OrderItem> getItems() {
-        return items;
-    }
-
-    public void setItems(List<OrderItem> items) {
-        this.items = items;
-    }
-
-    public double getTotalAmount() {
-        return totalAmount;
-    }
-
-    public void setTotalAmount(double totalAmount) {
-        this.totalAmount = totalAmount;
-    }
-
-    public Instant getTimestamp() {
-        return timestamp;
+    // Items are copied once here so a decoded event can be handed to other threads as-is
+    public OrderCreatedEvent {
+        if (items != null) {
+            items = List.copyOf(items);
+        }
     }
 
-    public void setTimestamp(Instant timestamp) {
-        this.timestamp = timestamp;
+    public OrderCreatedEvent(UUID orderId, UUID customerId, List<OrderItem> items, Money totalAmount) {
+        this(orderId, customerId, items, totalAmount, Instant.now());
     }
 
-    public static class OrderItem {
-        private UUID productId;
-        private int quantity;
-        private double price;
-
-        public OrderItem() {
-        }
-
-        public OrderItem(UUID productId, int quantity, double price) {
-            this.productId = productId;
-            this.quantity = quantity;
-            this.price = price;
-        }
-
-        public UUID getProductId() {
-            return productId;
-        }
-
-        public void setProductId(UUID productId) {
-            this.productId = productId;
-        }
-
-        public int getQuantity() {
-            return quantity;
-        }
-
-        public void setQuantity(int quantity) {
-            this.quantity = quantity;
-        }
-
-        public double getPrice() {
-            return price;
-        }
-
-        public void setPrice(double price) {
-            this.price = price;
-        }
+    public record OrderItem(UUID productId, int quantity, Money price) {
     }
 }
@@ -0,0 +1,18 @@
+package com.adalbertosantos.events.registry;
+
+import java.nio.file.Path;
+import java.util.List;
+
+public class IncompatibleSchemaException extends IllegalStateException {
+
+    private final List<String> problems;
+
+    public IncompatibleSchemaException(Path registry, List<String> problems) {
+        super("Event schemas are incompatible with " + registry + ":\n  " + String.join("\n  ", problems));
+        this.problems = List.copyOf(problems);
+    }
+
+    public List<String> getProblems() {
+        return problems;
+    }
+}
@@ -0,0 +1,155 @@
+package com.adalbertosantos.events.registry;
+
+import com.adalbertosantos.events.codec.EventField;
+import com.adalbertosantos.events.codec.EventSchema;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+// Local, file-backed stand-in for a schema registry. Every service registers the binary schemas it was
+// built with when it starts. The file remembers each version of each event type, so a build that
+// changes an existing version, drops or reorders fields, or reuses a type id fails at boot instead of
+// on the first message it cannot read. Services on one host share the file under an OS file lock.
+public final class SchemaRegistry {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final TypeReference<TreeMap<String, RegisteredType>> FILE_TYPE = new TypeReference<>() {
+    };
+
+    private final Path file;
+
+    private SchemaRegistry(Path file) {
+        this.file = file;
+    }
+
+    public static SchemaRegistry open(Path file) {
+        return new SchemaRegistry(file.toAbsolutePath());
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    // Checks every schema against what is registered and records versions not seen before. Nothing is
+    // written unless all schemas are compatible.
+    public synchronized void register(Collection<? extends EventSchema<?>> schemas) {
+        try {
+            Files.createDirectories(file.getParent());
+            Path lockFile = file.resolveSibling(file.getFileName() + ".lock");
+            try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock ignored = channel.lock()) {
+                TreeMap<String, RegisteredType> registered = read();
+                TreeMap<String, RegisteredType> updated = new TreeMap<>(registered);
+                List<String> problems = new ArrayList<>();
+                for (EventSchema<?> schema : schemas) {
+                    register(schema, updated, problems);
+                }
+                if (!problems.isEmpty()) {
+                    throw new IncompatibleSchemaException(file, problems);
+                }
+                if (!updated.equals(registered)) {
+                    write(updated);
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to update schema registry " + file, e);
+        }
+    }
+
+    public SortedMap<Integer, List<String>> versionsOf(String typeName) {
+        try {
+            RegisteredType type = read().get(typeName);
+            return type != null ? type.versions() : new TreeMap<>();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read schema registry " + file, e);
+        }
+    }
+
+    private static void register(EventSchema<?> schema, Map<String, RegisteredType> registered, List<String> problems) {
+        String name = schema.getTypeName();
+        int localVersion = schema.getVersion();
+        if (localVersion < 1 || localVersion > 255) {
+            problems.add(name + " has version " + localVersion + ", which does not fit the one-byte header");
+            return;
+        }
+        int since = 1;
+        for (EventField field : schema.fields()) {
+            if (field.since() < since || field.since() > localVersion) {
+                problems.add(name + " field " + field.name() + " is out of order: fields may only be appended "
+                    + "by a later version, up to " + localVersion);
+                return;
+            }
+            since = field.since();
+        }
+
+        for (Map.Entry<String, RegisteredType> other : registered.entrySet()) {
+            if (!other.getKey().equals(name) && other.getValue().typeId() == schema.getTypeId()) {
+                problems.add(name + " uses type id " + schema.getTypeId() + ", which is registered to "
+                    + other.getKey());
+                return;
+            }
+        }
+
+        RegisteredType type = registered.get(name);
+        if (type == null) {
+            type = new RegisteredType(schema.getTypeId(), new TreeMap<>());
+        } else if (type.typeId() != schema.getTypeId()) {
+            problems.add(name + " is registered with type id " + type.typeId() + " but built with "
+                + schema.getTypeId());
+            return;
+        }
+
+        // Versions this build knows must match the registry exactly, and versions written by newer builds
+        // must extend this one, or this build cannot read them
+        TreeMap<Integer, List<String>> versions = new TreeMap<>(type.versions());
+        List<String> localFields = describe(schema.fields(localVersion));
+        for (Map.Entry<Integer, List<String>> version : type.versions().entrySet()) {
+            int v = version.getKey();
+            List<String> expected = v <= localVersion ? describe(schema.fields(v)) : localFields;
+            List<String> actual = v <= localVersion ? version.getValue()
+                : version.getValue().subList(0, Math.min(localFields.size(), version.getValue().size()));
+            if (!actual.equals(expected)) {
+                problems.add(name + " version " + v + " is registered as " + version.getValue()
+                    + " but this build " + (v <= localVersion ? "writes " + expected : "reads " + localFields));
+            }
+        }
+        for (int v = 1; v <= localVersion; v++) {
+            versions.putIfAbsent(v, describe(schema.fields(v)));
+        }
+        registered.put(name, new RegisteredType(schema.getTypeId(), versions));
+    }
+
+    private static List<String> describe(List<EventField> fields) {
+        return fields.stream().map(EventField::toString).toList();
+    }
+
+    private TreeMap<String, RegisteredType> read() throws IOException {
+        if (!Files.exists(file) || Files.size(file) == 0) {
+            return new TreeMap<>();
+        }
+        return MAPPER.readValue(file.toFile(), FILE_TYPE);
+    }
+
+    private void write(TreeMap<String, RegisteredType> registered) throws IOException {
+        Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        MAPPER.writeValue(temp.toFile(), registered);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    record RegisteredType(int typeId, TreeMap<Integer, List<String>> versions) {
+    }
+}
@@ -0,0 +1,83 @@
+package com.adalbertosantos.events;
+
+import com.adalbertosantos.events.codec.BinaryEventCodec;
+import com.adalbertosantos.events.inventory.InventoryReservedEvent;
+import com.adalbertosantos.events.json.EventSerde;
+import com.adalbertosantos.events.money.Money;
+import com.adalbertosantos.events.order.OrderCreatedEvent;
+import com.adalbertosantos.events.payment.PaymentSucceededEvent;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Payloads below were captured from the JavaBean event classes before they became records
+class EventCompatibilityTest {
+
+    private static final UUID ORDER_ID = UUID.fromString("7c9e6679-7425-40de-944b-e07fc1f90ae7");
+    private static final UUID PRODUCT_ID = UUID.fromString("16fd2706-8baf-433b-82eb-8c7fada847da");
+
+    private static final String ORDER_CREATED_BINARY =
+        "e50101017c9e6679742540de944be07fc1f90ae7010f8fad5bd9cb469fa16570867728950e01bc3e0184d990e30cc0a9d33a02"
+            + "0116fd27068baf433b82eb8c7fada847da02019e1f";
+    private static final String ORDER_CREATED_JSON =
+        "{\"orderId\":\"7c9e6679-7425-40de-944b-e07fc1f90ae7\",\"customerId\":\"0f8fad5b-d9cb-469f-a165-70867728950e\","
+            + "\"items\":[{\"productId\":\"16fd2706-8baf-433b-82eb-8c7fada847da\",\"quantity\":2,\"price\":19.99}],"
+            + "\"totalAmount\":39.98,\"timestamp\":\"2024-05-01T10:15:30.123Z\"}";
+    private static final String INVENTORY_RESERVED_BINARY =
+        "e50601017c9e6679742540de944be07fc1f90ae70186d990e30c0001a8098c1af86e11dabd1a00112444be1e02"
+            + "0116fd27068baf433b82eb8c7fada847da02";
+    private static final String PAYMENT_SUCCEEDED_JSON =
+        "{\"orderId\":\"7c9e6679-7425-40de-944b-e07fc1f90ae7\",\"paymentId\":\"6ba7b810-9dad-11d1-80b4-00c04fd430c8\","
+            + "\"amount\":39.98,\"paymentMethod\":\"CREDIT_CARD\",\"timestamp\":\"2024-05-01T10:15:32Z\"}";
+
+    private final EventSerde serde = EventSerde.shared();
+
+    @Test
+    void testOldBinaryPayloadsDecodeAndReencodeIdentically() {
+        byte[] created = HexFormat.of().parseHex(ORDER_CREATED_BINARY);
+        byte[] reserved = HexFormat.of().parseHex(INVENTORY_RESERVED_BINARY);
+
+        OrderCreatedEvent decodedCreated = BinaryEventCodec.decode(created, OrderCreatedEvent.class);
+        InventoryReservedEvent decodedReserved = BinaryEventCodec.decode(reserved, InventoryReservedEvent.class);
+
+        assertEquals(ORDER_ID, decodedCreated.orderId());
+        assertEquals(Money.parse("39.98"), decodedCreated.totalAmount());
+        assertEquals(Instant.parse("2024-05-01T10:15:30.123Z"), decodedCreated.timestamp());
+        assertEquals(List.of(new OrderCreatedEvent.OrderItem(PRODUCT_ID, 2, Money.parse("19.99"))), decodedCreated.items());
+        assertEquals(List.of(new InventoryReservedEvent.ReservedItem(PRODUCT_ID, 2)), decodedReserved.items());
+        assertArrayEquals(created, BinaryEventCodec.encode(decodedCreated));
+        assertArrayEquals(reserved, BinaryEventCodec.encode(decodedReserved));
+    }
+
+    @Test
+    void testOldJsonPayloadsDecodeAndReencodeIdentically() {
+        OrderCreatedEvent created = serde.read(ORDER_CREATED_JSON.getBytes(StandardCharsets.UTF_8), OrderCreatedEvent.class);
+        PaymentSucceededEvent succeeded =
+            serde.read(PAYMENT_SUCCEEDED_JSON.getBytes(StandardCharsets.UTF_8), PaymentSucceededEvent.class);
+
+        assertEquals(BinaryEventCodec.decode(HexFormat.of().parseHex(ORDER_CREATED_BINARY), OrderCreatedEvent.class), created);
+        assertEquals("CREDIT_CARD", succeeded.paymentMethod());
+        assertEquals(Instant.parse("2024-05-01T10:15:32Z"), succeeded.timestamp());
+        assertEquals(ORDER_CREATED_JSON, new String(serde.write(created), StandardCharsets.UTF_8));
+        assertEquals(PAYMENT_SUCCEEDED_JSON, new String(serde.write(succeeded), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testMissingJsonFieldsDecodeAsNullAndItemsAreImmutable() {
+        OrderCreatedEvent event = serde.read(
+            "{\"orderId\":\"7c9e6679-7425-40de-944b-e07fc1f90ae7\",\"items\":[]}".getBytes(StandardCharsets.UTF_8),
+            OrderCreatedEvent.class);
+
+        assertEquals(ORDER_ID, event.orderId());
+        assertNull(event.customerId());
+        assertNull(event.timestamp());
+        assertThrows(UnsupportedOperationException.class,
+            () -> event.items().add(new OrderCreatedEvent.OrderItem(PRODUCT_ID, 1, Money.parse("1.00"))));
+    }
+}
@@ -0,0 +1,150 @@
+package com.adalbertosantos.events.codec;
+
+import com.adalbertosantos.events.inventory.InventoryReservedEvent;
+import com.adalbertosantos.events.money.Money;
+import com.adalbertosantos.events.order.OrderCancelledEvent;
+import com.adalbertosantos.events.order.OrderCreatedEvent;
+import com.adalbertosantos.events.payment.PaymentSucceededEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryEventCodecTest {
+
+    @Test
+    void testOrderCreatedRoundTripIsCompact() {
+        List<OrderCreatedEvent.OrderItem> items = List.of(
+            new OrderCreatedEvent.OrderItem(UUID.randomUUID(), 2, Money.parse("19.99")),
+            new OrderCreatedEvent.OrderItem(UUID.randomUUID(), 1, Money.parse("5.00")),
+            new OrderCreatedEvent.OrderItem(UUID.randomUUID(), 10, Money.parse("0.25")));
+        OrderCreatedEvent event = new OrderCreatedEvent(UUID.randomUUID(), UUID.randomUUID(), items, Money.parse("47.48"));
+
+        byte[] payload = BinaryEventCodec.encode(event);
+        OrderCreatedEvent decoded = BinaryEventCodec.decode(payload, OrderCreatedEvent.class);
+
+        assertTrue(payload.length < 128, "payload was " + payload.length + " bytes");
+        assertEquals(event.orderId(), decoded.orderId());
+        assertEquals(event.customerId(), decoded.customerId());
+        assertEquals(event.totalAmount(), decoded.totalAmount());
+        assertEquals(event.timestamp(), decoded.timestamp());
+        assertEquals(3, decoded.items().size());
+        assertEquals(items.get(1).productId(), decoded.items().get(1).productId());
+        assertEquals(10, decoded.items().get(2).quantity());
+        assertEquals(Money.parse("0.25"), decoded.items().get(2).price());
+    }
+
+    @Test
+    void testNullFieldsAndPreEpochTimestampsRoundTrip() {
+        OrderCancelledEvent cancelled =
+            new OrderCancelledEvent(UUID.randomUUID(), null, Instant.parse("1969-12-31T23:59:59.123456789Z"));
+        InventoryReservedEvent reserved = new InventoryReservedEvent(UUID.randomUUID(), null, null, null);
+
+        OrderCancelledEvent decodedCancelled =
+            BinaryEventCodec.decode(BinaryEventCodec.encode(cancelled), OrderCancelledEvent.class);
+        InventoryReservedEvent decodedReserved =
+            BinaryEventCodec.decode(BinaryEventCodec.encode(reserved), InventoryReservedEvent.class);
+
+        assertNull(decodedCancelled.reason());
+        assertEquals(cancelled.timestamp(), decodedCancelled.timestamp());
+        assertEquals(reserved.orderId(), decodedReserved.orderId());
+        assertNull(decodedReserved.reservationId());
+        assertNull(decodedReserved.items());
+        assertNull(decodedReserved.timestamp());
+    }
+
+    @Test
+    void testRejectsForeignAndTruncatedPayloads() {
+        PaymentSucceededEvent event = new PaymentSucceededEvent(UUID.randomUUID(), UUID.randomUUID(),
+            Money.parse("10.00"), "CREDIT_CARD");
+        byte[] payload = BinaryEventCodec.encode(event);
+
+        assertThrows(IllegalArgumentException.class, () -> BinaryEventCodec.decode("{\"orderId\":1}".getBytes()));
+        assertThrows(IllegalArgumentException.class,
+            () -> BinaryEventCodec.decode(Arrays.copyOf(payload, payload.length - 4)));
+        assertThrows(IllegalArgumentException.class, () -> BinaryEventCodec.decode(payload, OrderCreatedEvent.class));
+        assertEquals("CREDIT_CARD", BinaryEventCodec.decode(payload, PaymentSucceededEvent.class).paymentMethod());
+    }
+
+    @Test
+    void testDecodersReadNewerWritersByIgnoringAppendedFields() {
+        OrderCancelledEvent event = new OrderCancelledEvent(UUID.randomUUID(), "customer request");
+        byte[] payload = BinaryEventCodec.encode(event);
+        byte[] newerWriter = Arrays.copyOf(payload, payload.length + 2);
+        newerWriter[2] = 3;
+        newerWriter[payload.length] = 1;
+
+        EventDecoder<OrderCancelledEvent> decoder = BinaryEventCodec.decoderFor(OrderCancelledEvent.class);
+
+        assertSame(decoder, BinaryEventCodec.decoderFor(OrderCancelledEvent.class));
+        assertEquals(event, decoder.decode(newerWriter));
+        newerWriter[2] = 0;
+        assertThrows(IllegalArgumentException.class, () -> decoder.decode(newerWriter));
+        assertThrows(IllegalArgumentException.class, () -> BinaryEventCodec.decoderFor(String.class));
+    }
+
+    @Test
+    void testDecodersReadOnlyTheFieldsOlderWritersWrote() {
+        EventDecoder<Note> decoder = new EventDecoder<>(new NoteSchema());
+        UUID orderId = UUID.randomUUID();
+        EventOutput v1 = new EventOutput();
+        v1.writeByte(BinaryEventCodec.MAGIC);
+        v1.writeByte(NoteSchema.TYPE_ID);
+        v1.writeByte(1);
+        v1.writeUuid(orderId);
+        EventOutput v2 = new EventOutput();
+        v2.writeByte(BinaryEventCodec.MAGIC);
+        v2.writeByte(NoteSchema.TYPE_ID);
+        v2.writeByte(2);
+        v2.writeUuid(orderId);
+        v2.writeString("gift wrap");
+
+        assertEquals(new Note(orderId, null), decoder.decode(v1.toByteArray()));
+        assertEquals(new Note(orderId, "gift wrap"), decoder.decode(v2.toByteArray()));
+    }
+
+    @Test
+    void testSerializerPassesEncodedPayloadsThrough() {
+        OrderCancelledEvent event = new OrderCancelledEvent(UUID.randomUUID(), "customer request");
+        byte[] payload = new EventSerializer().serialize("order.cancelled", event);
+
+        assertSame(payload, new EventSerializer().serialize("order.cancelled", payload));
+        OrderCancelledEvent decoded = (OrderCancelledEvent) new EventDeserializer().deserialize("order.cancelled", payload);
+        assertEquals("customer request", decoded.reason());
+    }
+
+    private record Note(UUID orderId, String text) {
+    }
+
+    private static final class NoteSchema extends EventSchema<Note> {
+
+        static final int TYPE_ID = 200;
+
+        NoteSchema() {
+            super(TYPE_ID, 2, Note.class);
+        }
+
+        @Override
+        public List<EventField> fields() {
+            return List.of(
+                EventField.of("orderId", "uuid"),
+                new EventField("text", "string", 2));
+        }
+
+        @Override
+        public void write(Note event, EventOutput out) {
+            out.writeUuid(event.orderId());
+            out.writeString(event.text());
+        }
+
+        @Override
+        public Note read(EventInput in, int writerVersion) {
+            UUID orderId = in.readUuid();
+            return new Note(orderId, writerVersion >= 2 ? in.readString() : null);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.adalbertosantos.events.codec;
+
+import com.adalbertosantos.events.inventory.InventoryReservedEvent;
+import com.adalbertosantos.events.money.Money;
+import com.adalbertosantos.events.order.OrderCancelledEvent;
+import com.adalbertosantos.events.order.OrderCreatedEvent;
+import com.adalbertosantos.events.payment.PaymentSucceededEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventViewTest {
+
+    @Test
+    void testReadsOrderIdAndTimestampOfEverySchemaWithoutDecoding() {
+        OrderCreatedEvent created = new OrderCreatedEvent(UUID.randomUUID(), UUID.randomUUID(),
+            List.of(new OrderCreatedEvent.OrderItem(UUID.randomUUID(), 3, Money.parse("12.50"))), Money.parse("37.50"));
+        InventoryReservedEvent reserved = new InventoryReservedEvent(UUID.randomUUID(), UUID.randomUUID(),
+            List.of(new InventoryReservedEvent.ReservedItem(UUID.randomUUID(), 3)));
+        PaymentSucceededEvent succeeded = new PaymentSucceededEvent(UUID.randomUUID(), UUID.randomUUID(),
+            Money.parse("37.50"), "CREDIT_CARD");
+
+        for (Object event : List.of(created, reserved, succeeded)) {
+            EventView view = EventView.of(BinaryEventCodec.encode(event));
+
+            assertEquals(event.getClass().getSimpleName(), view.getTypeName());
+            assertSame(view.decode(), view.decode(event.getClass()));
+        }
+        assertEquals(created.orderId(), EventView.of(BinaryEventCodec.encode(created)).getOrderId());
+        assertEquals(created.timestamp(), EventView.of(BinaryEventCodec.encode(created)).getTimestamp());
+        assertEquals(reserved.timestamp(), EventView.of(BinaryEventCodec.encode(reserved)).getTimestamp());
+        assertEquals(succeeded.orderId().getLeastSignificantBits(),
+            EventView.of(BinaryEventCodec.encode(succeeded)).getOrderIdLeastSignificantBits());
+    }
+
+    @Test
+    void testNullFieldsAndTypeMismatches() {
+        OrderCancelledEvent cancelled = new OrderCancelledEvent(null, "customer request", null);
+        byte[] payload = BinaryEventCodec.encode(cancelled);
+        EventView view = EventView.of(payload);
+
+        assertFalse(view.hasOrderId());
+        assertNull(view.getOrderId());
+        assertNull(view.getTimestamp());
+        assertThrows(IllegalStateException.class, view::getOrderIdMostSignificantBits);
+        assertThrows(IllegalArgumentException.class, () -> EventView.of(payload, OrderCreatedEvent.class));
+        assertThrows(IllegalArgumentException.class, () -> EventView.of("{\"orderId\":1}".getBytes()));
+        assertEquals("customer request", EventView.of(payload, OrderCancelledEvent.class)
+            .decode(OrderCancelledEvent.class).reason());
+    }
+
+    @Test
+    void testTruncatedPayloadsFailOnlyForFieldsPastTheCut() {
+        OrderCreatedEvent created = new OrderCreatedEvent(UUID.randomUUID(), UUID.randomUUID(), List.of(),
+            Money.parse("1.00"), Instant.parse("2024-05-01T10:15:30.5Z"));
+        byte[] payload = BinaryEventCodec.encode(created);
+        EventView view = EventView.of(Arrays.copyOf(payload, BinaryEventCodec.HEADER_SIZE + 17));
+
+        assertEquals(created.orderId(), view.getOrderId());
+        assertThrows(IllegalArgumentException.class, view::getTimestamp);
+        assertThrows(IllegalArgumentException.class, view::decode);
+    }
+}
@@ -0,0 +1,114 @@
+package com.adalbertosantos.events.envelope;
+
+import com.adalbertosantos.events.codec.BinaryEventCodec;
+import com.adalbertosantos.events.order.OrderCancelledEvent;
+import com.adalbertosantos.events.order.OrderFulfilledEvent;
+import com.adalbertosantos.events.payment.PaymentFailedEvent;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventDispatcherTest {
+
+    @Test
+    void testEnvelopeHeadersRoundTrip() {
+        OrderFulfilledEvent event = new OrderFulfilledEvent(UUID.randomUUID(), "TRK-1");
+        EventEnvelope envelope = EventEnvelope.forEvent(event, "fulfillment-service");
+
+        ProducerRecord<String, Object> record = envelope.toRecord("order.fulfilled", "key", event);
+        EventEnvelope read = EventEnvelope.readFrom(record.headers());
+
+        assertEquals("OrderFulfilledEvent", read.getEventType());
+        assertEquals(1, read.getSchemaVersion());
+        assertEquals(envelope.getEventId(), read.getEventId());
+        assertEquals("fulfillment-service", read.getProducer());
+        assertEquals(envelope.getOccurredAt().toEpochMilli(), read.getOccurredAt().toEpochMilli());
+        assertNull(read.getTraceParent());
+    }
+
+    @Test
+    void testSkipsUnroutedTypesWithoutDecodingAndDropsDuplicates() {
+        List<OrderCancelledEvent> handled = new ArrayList<>();
+        EventDispatcher dispatcher = EventDispatcher.builder()
+            .on(OrderCancelledEvent.class, handled::add)
+            .deduplicate(100)
+            .build();
+
+        OrderCancelledEvent cancelled = new OrderCancelledEvent(UUID.randomUUID(), "changed mind");
+        Headers cancelledHeaders = headersFor(cancelled);
+        byte[] payload = BinaryEventCodec.encode(cancelled);
+        Headers failedHeaders = headersFor(new PaymentFailedEvent(UUID.randomUUID(), UUID.randomUUID(), "declined"));
+
+        assertEquals(EventDispatcher.Outcome.HANDLED, dispatcher.dispatch(cancelledHeaders, payload));
+        assertEquals(EventDispatcher.Outcome.DUPLICATE, dispatcher.dispatch(cancelledHeaders, payload));
+        // The body is garbage: only the header is looked at for an unrouted type
+        assertEquals(EventDispatcher.Outcome.SKIPPED, dispatcher.dispatch(failedHeaders, new byte[] {1, 2, 3}));
+        assertEquals(1, handled.size());
+        assertEquals("changed mind", handled.get(0).reason());
+    }
+
+    @Test
+    void testFallsBackToPayloadTypeAndPropagatesTraceParent() {
+        List<EventEnvelope> published = new ArrayList<>();
+        EventDispatcher dispatcher = EventDispatcher.builder()
+            .on(OrderCancelledEvent.class, event -> published.add(
+                EventEnvelope.forEvent(new OrderFulfilledEvent(event.orderId(), null), "downstream")))
+            .build();
+
+        OrderCancelledEvent cancelled = new OrderCancelledEvent(UUID.randomUUID(), null);
+        Headers traced = headersFor(cancelled);
+        String traceParent = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+        traced.add(EventHeaders.TRACE_PARENT, traceParent.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(EventDispatcher.Outcome.HANDLED,
+            dispatcher.dispatch(new RecordHeaders(), BinaryEventCodec.encode(cancelled)));
+        assertEquals(EventDispatcher.Outcome.HANDLED, dispatcher.dispatch(traced, BinaryEventCodec.encode(cancelled)));
+
+        assertNull(published.get(0).getTraceParent());
+        assertEquals(traceParent, published.get(1).getTraceParent());
+        assertNull(EventDispatcher.currentEnvelope());
+    }
+
+    @Test
+    void testAsyncHandlersCompleteLaterAndOnlySuccessesCountAsSeen() {
+        List<CompletableFuture<Void>> started = new ArrayList<>();
+        EventDispatcher dispatcher = EventDispatcher.builder()
+            .onAsync(OrderCancelledEvent.class, event -> {
+                CompletableFuture<Void> work = new CompletableFuture<>();
+                started.add(work);
+                return work;
+            })
+            .deduplicate(100)
+            .build();
+
+        OrderCancelledEvent cancelled = new OrderCancelledEvent(UUID.randomUUID(), "changed mind");
+        Headers headers = headersFor(cancelled);
+        byte[] payload = BinaryEventCodec.encode(cancelled);
+
+        CompletableFuture<EventDispatcher.Outcome> failed = dispatcher.dispatchAsync(headers, payload);
+        assertFalse(failed.isDone());
+        started.get(0).completeExceptionally(new IllegalStateException("provider down"));
+        assertTrue(failed.isCompletedExceptionally());
+
+        CompletableFuture<EventDispatcher.Outcome> retried = dispatcher.dispatchAsync(headers, payload);
+        started.get(1).complete(null);
+        assertEquals(EventDispatcher.Outcome.HANDLED, retried.join());
+        assertEquals(EventDispatcher.Outcome.DUPLICATE, dispatcher.dispatchAsync(headers, payload).join());
+        assertEquals(2, started.size());
+    }
+
+    private static Headers headersFor(Object event) {
+        Headers headers = new RecordHeaders();
+        EventEnvelope.forEvent(event, "test").writeTo(headers);
+        return headers;
+    }
+}
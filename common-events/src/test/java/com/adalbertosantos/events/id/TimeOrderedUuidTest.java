@@ -0,0 +1,52 @@
+package com.adalbertosantos.events.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeOrderedUuidTest {
+
+    @Test
+    void testIdsAreVersion7AndStrictlyIncreasing() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            ids.add(TimeOrderedUuid.next());
+        }
+
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i - 1).toString().compareTo(ids.get(i).toString()) < 0);
+            assertTrue(ids.get(i - 1).compareTo(ids.get(i)) < 0);
+        }
+        assertEquals(7, ids.get(0).version());
+        assertEquals(2, ids.get(0).variant());
+    }
+
+    @Test
+    void testTimestampIsRecoverable() {
+        Instant before = Instant.ofEpochMilli(System.currentTimeMillis());
+        UUID id = TimeOrderedUuid.next();
+        Instant after = Instant.ofEpochMilli(System.currentTimeMillis());
+
+        Instant timestamp = TimeOrderedUuid.timestampOf(id);
+        assertFalse(timestamp.isBefore(before));
+        assertFalse(timestamp.isAfter(after.plusSeconds(1)));
+        assertThrows(IllegalArgumentException.class, () -> TimeOrderedUuid.timestampOf(UUID.randomUUID()));
+    }
+
+    @Test
+    void testIdsAreUniqueAcrossThreads() {
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+        IntStream.range(0, 200_000).parallel().forEach(i -> ids.add(TimeOrderedUuid.next()));
+
+        assertEquals(200_000, new HashSet<>(ids).size());
+    }
+}
@@ -0,0 +1,59 @@
+package com.adalbertosantos.events.json;
+
+import com.adalbertosantos.events.money.Money;
+import com.adalbertosantos.events.order.OrderCancelledEvent;
+import com.adalbertosantos.events.order.OrderCreatedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventSerdeTest {
+
+    private final EventSerde serde = EventSerde.shared();
+
+    @Test
+    void testRoundTripKeepsMoneyAndIsoTimestamps() {
+        OrderCreatedEvent event = new OrderCreatedEvent(UUID.randomUUID(), UUID.randomUUID(),
+            List.of(new OrderCreatedEvent.OrderItem(UUID.randomUUID(), 2, Money.parse("19.99"))), Money.parse("39.98"));
+
+        byte[] json = serde.write(event);
+        OrderCreatedEvent decoded = serde.read(json, OrderCreatedEvent.class);
+
+        assertTrue(new String(json, StandardCharsets.UTF_8).contains("\"timestamp\":\"" + event.timestamp()));
+        assertEquals(event.orderId(), decoded.orderId());
+        assertEquals(event.timestamp(), decoded.timestamp());
+        assertEquals(Money.parse("39.98"), decoded.totalAmount());
+        assertEquals(Money.parse("19.99"), decoded.items().get(0).price());
+        assertSame(serde.writerFor(OrderCreatedEvent.class), serde.writerFor(OrderCreatedEvent.class));
+    }
+
+    @Test
+    void testPooledBuffersNeverLeakBetweenWrites() {
+        byte[] first = serde.write(new OrderCancelledEvent(UUID.randomUUID(), "a much longer cancellation reason"));
+        byte[] second = serde.write(new OrderCancelledEvent(UUID.randomUUID(), "short"));
+
+        assertEquals("a much longer cancellation reason", serde.read(first, OrderCancelledEvent.class).reason());
+        assertEquals("short", serde.read(second, OrderCancelledEvent.class).reason());
+        assertThrows(IllegalArgumentException.class, () -> serde.read("{".getBytes(), OrderCancelledEvent.class));
+    }
+
+    @Test
+    void testStreamingWriteLeavesTargetOpen() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                fail("target stream was closed");
+            }
+        };
+
+        serde.write(new OrderCancelledEvent(UUID.randomUUID(), "first"), out);
+        serde.write(new OrderCancelledEvent(UUID.randomUUID(), "second"), out);
+
+        assertTrue(out.toString(StandardCharsets.UTF_8).contains("\"reason\":\"second\""));
+    }
+}
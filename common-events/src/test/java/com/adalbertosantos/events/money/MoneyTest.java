@@ -0,0 +1,61 @@
+package com.adalbertosantos.events.money;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testParseAndFormatAreExact() {
+        assertEquals(1999, Money.parse("19.99").getMinorUnits());
+        assertEquals(1990, Money.parse("19.9").getMinorUnits());
+        assertEquals(1900, Money.parse("19").getMinorUnits());
+        assertEquals(-5, Money.parse("-0.05").getMinorUnits());
+        assertEquals("19.90", Money.parse("19.9").toString());
+        assertEquals("-0.05", Money.ofMinor(-5).toString());
+        assertEquals("-12.30", Money.ofMinor(-1230).toString());
+        assertEquals(Money.parse("0.30"), Money.parse("0.10").times(3));
+        assertThrows(ArithmeticException.class, () -> Money.parse("1.005"));
+        assertThrows(NumberFormatException.class, () -> Money.parse("."));
+        assertThrows(NumberFormatException.class, () -> Money.parse("1,00"));
+        assertThrows(ArithmeticException.class, () -> Money.ofMinor(Long.MAX_VALUE).plus(Money.ofMinor(1)));
+    }
+
+    @Test
+    void testBigDecimalRoundTrip() {
+        assertEquals(new BigDecimal("10.25"), Money.parse("10.25").toBigDecimal());
+        assertEquals(Money.parse("10.25"), Money.of(new BigDecimal("10.250")));
+        assertThrows(ArithmeticException.class, () -> Money.of(new BigDecimal("10.255")));
+    }
+
+    @Test
+    void testJsonIsADecimalNumber() throws Exception {
+        assertEquals("99.99", objectMapper.writeValueAsString(Money.parse("99.99")));
+        assertEquals(Money.parse("99.99"), objectMapper.readValue("99.99", Money.class));
+        assertEquals(Money.parse("12.00"), objectMapper.readValue("12", Money.class));
+        assertEquals(Money.parse("12.50"), objectMapper.readValue("\"12.5\"", Money.class));
+        assertThrows(Exception.class, () -> objectMapper.readValue("1.234", Money.class));
+    }
+
+    @Test
+    void testBinaryEncodingRoundTripsAndIsCompact() {
+        ByteBuffer buffer = ByteBuffer.allocate(32);
+        for (long minorUnits : new long[] {0, 1, -1, 9999, -123456, Long.MAX_VALUE, Long.MIN_VALUE}) {
+            buffer.clear();
+            Money.ofMinor(minorUnits).writeTo(buffer);
+            buffer.flip();
+            assertEquals(minorUnits, Money.readFrom(buffer).getMinorUnits());
+        }
+
+        buffer.clear();
+        Money.parse("9.99").writeTo(buffer);
+        assertEquals(2, buffer.position());
+    }
+}
@@ -0,0 +1,112 @@
+package com.adalbertosantos.events.registry;
+
+import com.adalbertosantos.events.codec.BinaryEventCodec;
+import com.adalbertosantos.events.codec.EventField;
+import com.adalbertosantos.events.codec.EventInput;
+import com.adalbertosantos.events.codec.EventOutput;
+import com.adalbertosantos.events.codec.EventSchema;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchemaRegistryTest {
+
+    @TempDir
+    Path tempDir;
+
+    // A schema change that bumps a version has to update event-schemas.json too, which puts it in review
+    @Test
+    void testBuiltSchemasMatchTheCheckedInRegistry() throws Exception {
+        Path file = tempDir.resolve("schemas.json");
+        try (InputStream checkedIn = getClass().getResourceAsStream("/event-schemas.json")) {
+            Files.copy(checkedIn, file);
+        }
+        String before = Files.readString(file);
+
+        SchemaRegistry.open(file).register(BinaryEventCodec.schemas());
+
+        assertEquals(before, Files.readString(file));
+    }
+
+    @Test
+    void testAppendedFieldsRegisterANewVersionThatOlderReadersAccept() {
+        SchemaRegistry registry = SchemaRegistry.open(tempDir.resolve("schemas.json"));
+        TestSchema v1 = new TestSchema("SampleEvent", 200, 1,
+            EventField.of("orderId", "uuid"), EventField.of("note", "string"));
+        TestSchema v2 = new TestSchema("SampleEvent", 200, 2,
+            EventField.of("orderId", "uuid"), EventField.of("note", "string"), new EventField("count", "varint", 2));
+
+        registry.register(List.of(v1));
+        registry.register(List.of(v2));
+        registry.register(List.of(v1));
+
+        assertEquals(List.of("orderId:uuid", "note:string"), registry.versionsOf("SampleEvent").get(1));
+        assertEquals(List.of("orderId:uuid", "note:string", "count:varint"), registry.versionsOf("SampleEvent").get(2));
+    }
+
+    @Test
+    void testBreakingChangesFailAndLeaveTheRegistryUntouched() throws Exception {
+        Path file = tempDir.resolve("schemas.json");
+        SchemaRegistry registry = SchemaRegistry.open(file);
+        registry.register(List.of(new TestSchema("SampleEvent", 200, 1,
+            EventField.of("orderId", "uuid"), EventField.of("note", "string"))));
+        String before = Files.readString(file);
+
+        IncompatibleSchemaException changedInPlace = assertThrows(IncompatibleSchemaException.class,
+            () -> registry.register(List.of(new TestSchema("SampleEvent", 200, 1,
+                EventField.of("orderId", "uuid"), EventField.of("note", "varint")))));
+        assertThrows(IncompatibleSchemaException.class,
+            () -> registry.register(List.of(new TestSchema("SampleEvent", 200, 2,
+                EventField.of("orderId", "uuid")))));
+        assertThrows(IncompatibleSchemaException.class,
+            () -> registry.register(List.of(new TestSchema("OtherEvent", 200, 1,
+                EventField.of("orderId", "uuid")))));
+        assertThrows(IncompatibleSchemaException.class,
+            () -> registry.register(List.of(new TestSchema("SampleEvent", 200, 2,
+                new EventField("count", "varint", 2), EventField.of("orderId", "uuid"), EventField.of("note", "string")))));
+
+        assertEquals(1, changedInPlace.getProblems().size());
+        assertTrue(changedInPlace.getMessage().contains("SampleEvent version 1"));
+        assertEquals(before, Files.readString(file));
+    }
+
+    private record Sample() {
+    }
+
+    private static final class TestSchema extends EventSchema<Sample> {
+        private final String typeName;
+        private final List<EventField> fields;
+
+        TestSchema(String typeName, int typeId, int version, EventField... fields) {
+            super(typeId, version, Sample.class);
+            this.typeName = typeName;
+            this.fields = List.of(fields);
+        }
+
+        @Override
+        public String getTypeName() {
+            return typeName;
+        }
+
+        @Override
+        public List<EventField> fields() {
+            return fields;
+        }
+
+        @Override
+        public void write(Sample event, EventOutput out) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Sample read(EventInput in, int writerVersion) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
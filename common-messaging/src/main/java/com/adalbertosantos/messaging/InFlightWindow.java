@@ -0,0 +1,134 @@
+package com.adalbertosantos.messaging;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+// Lets a listener keep many records per partition in progress while offsets are still committed in order.
+// Records complete in any order; a record is acknowledged only once every earlier record of its partition
+// has completed, and only the last of such a run is acknowledged, since that commits the ones before it.
+// A partition is paused once maxInFlight of its records are in progress and resumed when half have
+// completed. Pausing takes effect on the next poll, so records already fetched for the partition can
+// exceed the window by up to max.poll.records.
+//
+// Acknowledging from a completion thread needs AckMode.MANUAL or MANUAL_IMMEDIATE; the container queues
+// those acks and commits them on the consumer thread. Partitions taken away by a rebalance must be passed
+// to revoke, which InFlightWindows does for windows built through it.
+public class InFlightWindow {
+
+    private final int maxInFlight;
+    private final int resumeAt;
+    private final Consumer<TopicPartition> pause;
+    private final Consumer<TopicPartition> resume;
+    private final ConcurrentHashMap<TopicPartition, Partition> partitions = new ConcurrentHashMap<>();
+
+    public InFlightWindow(int maxInFlight, Consumer<TopicPartition> pause, Consumer<TopicPartition> resume) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be at least 1, was " + maxInFlight);
+        }
+        this.maxInFlight = maxInFlight;
+        this.resumeAt = maxInFlight / 2;
+        this.pause = pause;
+        this.resume = resume;
+    }
+
+    // Called on the listener thread in offset order. The caller handles errors (e.g. dead-lettering) before
+    // the record counts as done, so a failed completion means the record could not be disposed of: neither it
+    // nor anything after it in its partition is acknowledged, and it is delivered again after the next
+    // rebalance or restart
+    public void submit(ConsumerRecord<?, ?> record, Acknowledgment acknowledgment, CompletionStage<?> completion) {
+        TopicPartition topicPartition = new TopicPartition(record.topic(), record.partition());
+        Partition partition = partitions.computeIfAbsent(topicPartition, Partition::new);
+        InFlight inFlight = new InFlight(acknowledgment);
+        partition.add(inFlight);
+        completion.whenComplete((result, error) -> {
+            if (error == null) {
+                partition.complete(inFlight);
+            }
+        });
+    }
+
+    // Called on the consumer thread before the container commits for a rebalance. Records still in progress
+    // are not acknowledged when they complete, since their offsets now belong to the partition's next owner
+    // and will be delivered to it again; a partition that comes back starts with an empty window.
+    public void revoke(Collection<TopicPartition> revoked) {
+        for (TopicPartition topicPartition : revoked) {
+            Partition partition = partitions.remove(topicPartition);
+            if (partition != null) {
+                partition.revoke();
+            }
+        }
+    }
+
+    public int inFlight(TopicPartition topicPartition) {
+        Partition partition = partitions.get(topicPartition);
+        return partition != null ? partition.size() : 0;
+    }
+
+    private final class Partition {
+        private final TopicPartition topicPartition;
+        private final ArrayDeque<InFlight> records = new ArrayDeque<>();
+        private boolean paused;
+        private boolean revoked;
+
+        Partition(TopicPartition topicPartition) {
+            this.topicPartition = topicPartition;
+        }
+
+        synchronized void add(InFlight inFlight) {
+            records.addLast(inFlight);
+            if (!paused && records.size() >= maxInFlight) {
+                paused = true;
+                pause.accept(topicPartition);
+            }
+        }
+
+        // Acks are handed to the container under the lock so they reach it in offset order
+        synchronized void complete(InFlight inFlight) {
+            if (revoked) {
+                return;
+            }
+            inFlight.done = true;
+            InFlight last = null;
+            while (!records.isEmpty() && records.peekFirst().done) {
+                last = records.pollFirst();
+            }
+            if (last != null) {
+                last.acknowledgment.acknowledge();
+            }
+            if (paused && records.size() <= resumeAt) {
+                paused = false;
+                resume.accept(topicPartition);
+            }
+        }
+
+        // The container would pause the partition again if it were reassigned while a pause is requested
+        synchronized void revoke() {
+            revoked = true;
+            records.clear();
+            if (paused) {
+                paused = false;
+                resume.accept(topicPartition);
+            }
+        }
+
+        synchronized int size() {
+            return records.size();
+        }
+    }
+
+    private static final class InFlight {
+        private final Acknowledgment acknowledgment;
+        private boolean done;
+
+        InFlight(Acknowledgment acknowledgment) {
+            this.acknowledgment = acknowledgment;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.adalbertosantos.messaging;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.kafka.listener.MessageListenerContainer;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+// The InFlightWindows of a service's listeners, by listener id. MessagingListenerConfigurer gives every
+// container a rebalance listener from here, so a window drops the partitions its container loses.
+public class InFlightWindows {
+
+    private final Supplier<KafkaListenerEndpointRegistry> registry;
+    private final ConcurrentHashMap<String, InFlightWindow> windows = new ConcurrentHashMap<>();
+
+    public InFlightWindows(Supplier<KafkaListenerEndpointRegistry> registry) {
+        this.registry = registry;
+    }
+
+    // Pauses and resumes partitions of the container with that listener id. The container is looked up when
+    // first needed, since it is registered after the listener bean that builds the window
+    public InFlightWindow forListener(String listenerId, int maxInFlight) {
+        InFlightWindow window = new InFlightWindow(maxInFlight,
+            onContainer(listenerId, MessageListenerContainer::pausePartition),
+            onContainer(listenerId, MessageListenerContainer::resumePartition));
+        register(listenerId, window);
+        return window;
+    }
+
+    public void register(String listenerId, InFlightWindow window) {
+        if (windows.putIfAbsent(listenerId, window) != null) {
+            throw new IllegalStateException("Listener " + listenerId + " already has an InFlightWindow");
+        }
+    }
+
+    // Runs before the container commits pending acks, so records completed in order are still committed.
+    // Lost partitions get the same treatment; their acks could not be committed anyway.
+    public ConsumerAwareRebalanceListener rebalanceListener(String listenerId) {
+        return new ConsumerAwareRebalanceListener() {
+            @Override
+            public void onPartitionsRevokedBeforeCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+                revoke(listenerId, partitions);
+            }
+
+            @Override
+            public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+                revoke(listenerId, partitions);
+            }
+        };
+    }
+
+    private void revoke(String listenerId, Collection<TopicPartition> partitions) {
+        InFlightWindow window = windows.get(listenerId);
+        if (window != null) {
+            window.revoke(partitions);
+        }
+    }
+
+    private java.util.function.Consumer<TopicPartition> onContainer(String listenerId,
+            BiConsumer<MessageListenerContainer, TopicPartition> action) {
+        return partition -> {
+            KafkaListenerEndpointRegistry listenerRegistry = registry.get();
+            MessageListenerContainer container =
+                listenerRegistry != null ? listenerRegistry.getListenerContainer(listenerId) : null;
+            if (container != null) {
+                action.accept(container, partition);
+            }
+        };
+    }
+}
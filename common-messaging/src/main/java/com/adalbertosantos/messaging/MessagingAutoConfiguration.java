@@ -0,0 +1,166 @@
+package com.adalbertosantos.messaging;
+
+import com.adalbertosantos.events.codec.BinaryEventCodec;
+import com.adalbertosantos.events.codec.EventSerializer;
+import com.adalbertosantos.events.registry.SchemaRegistry;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.ssl.SslBundles;
+import org.springframework.context.annotation.Bean;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.transaction.KafkaTransactionManager;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+// Runs before Boot's Kafka auto-configuration so its factories and template back off. The Kafka
+// transaction manager is deliberately not a bean: it would replace the JPA transaction manager.
+@AutoConfiguration(before = KafkaAutoConfiguration.class)
+@ConditionalOnClass(KafkaTemplate.class)
+@EnableConfigurationProperties({MessagingProperties.class, KafkaProperties.class})
+public class MessagingAutoConfiguration {
+
+    private final KafkaProperties kafkaProperties;
+    private final MessagingProperties messagingProperties;
+    private final SslBundles sslBundles;
+
+    public MessagingAutoConfiguration(KafkaProperties kafkaProperties,
+                                      MessagingProperties messagingProperties,
+                                      ObjectProvider<SslBundles> sslBundles) {
+        this.kafkaProperties = kafkaProperties;
+        this.messagingProperties = messagingProperties;
+        this.sslBundles = sslBundles.getIfAvailable();
+    }
+
+    // Registering eagerly makes an incompatible build fail while the context starts
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "messaging.schema-registry", name = "enabled", matchIfMissing = true)
+    public SchemaRegistry schemaRegistry() {
+        Path path = messagingProperties.getSchemaRegistry().getPath();
+        if (path == null) {
+            throw new IllegalStateException("messaging.schema-registry.path must be set to a file shared by every "
+                + "service, or messaging.schema-registry.enabled set to false");
+        }
+        SchemaRegistry registry = SchemaRegistry.open(path);
+        registry.register(BinaryEventCodec.schemas());
+        return registry;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(ProducerFactory.class)
+    public ProducerFactory<String, Object> producerFactory(
+            @Value("${spring.application.name:application}") String applicationName) {
+        Map<String, Object> config = new HashMap<>(kafkaProperties.buildProducerProperties(sslBundles));
+        config.putAll(messagingProperties.getProfile().getProducerProperties());
+        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, EventSerializer.class);
+        config.putAll(messagingProperties.getProducer());
+        DefaultKafkaProducerFactory<String, Object> factory = new DefaultKafkaProducerFactory<>(config);
+        if (messagingProperties.getProfile().isTransactional()) {
+            factory.setTransactionIdPrefix(transactionIdPrefix(applicationName));
+        }
+        return factory;
+    }
+
+    // Sends outside a listener transaction (e.g. the outbox relay) stay allowed under exactly-once
+    @Bean
+    @ConditionalOnMissingBean(KafkaTemplate.class)
+    public KafkaTemplate<String, Object> kafkaTemplate(ProducerFactory<String, Object> producerFactory) {
+        Map<String, ProducerFactory<String, Object>> topicFactories = new HashMap<>();
+        messagingProperties.getTopics().forEach((topic, overrides) -> {
+            if (!overrides.getProducer().isEmpty()) {
+                topicFactories.put(topic,
+                    producerFactory.copyWithConfigurationOverride(new HashMap<>(overrides.getProducer())));
+            }
+        });
+        KafkaTemplate<String, Object> template = new TopicAwareKafkaTemplate<>(producerFactory, topicFactories);
+        template.setObservationEnabled(true);
+        template.setAllowNonTransactional(producerFactory.transactionCapable());
+        return template;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public MessagingTopics messagingTopics(ProducerFactory<String, Object> producerFactory) {
+        return new MessagingTopics(producerFactory.getConfigurationProperties(), messagingProperties.getTopics(),
+            producerFactory.transactionCapable());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(ConsumerFactory.class)
+    public ConsumerFactory<String, byte[]> consumerFactory() {
+        Map<String, Object> config = new HashMap<>(kafkaProperties.buildConsumerProperties(sslBundles));
+        config.putAll(messagingProperties.getProfile().getConsumerProperties());
+        config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        config.putAll(messagingProperties.getConsumer());
+        return new DefaultKafkaConsumerFactory<>(config);
+    }
+
+    // The endpoint registry comes from @EnableKafka, after this configuration
+    @Bean
+    @ConditionalOnMissingBean
+    public InFlightWindows inFlightWindows(ObjectProvider<KafkaListenerEndpointRegistry> listenerRegistry) {
+        return new InFlightWindows(listenerRegistry::getIfAvailable);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public MessagingListenerConfigurer messagingListenerConfigurer(
+            ConsumerFactory<String, byte[]> consumerFactory,
+            ProducerFactory<String, Object> producerFactory,
+            InFlightWindows inFlightWindows,
+            @Value("${spring.application.name:application}") String applicationName,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreadsEnabled) {
+        Map<String, Map<String, String>> topicConsumerOverrides = new HashMap<>();
+        messagingProperties.getTopics().forEach((topic, overrides) -> {
+            if (!overrides.getConsumer().isEmpty()) {
+                topicConsumerOverrides.put(topic, overrides.getConsumer());
+            }
+        });
+        return new MessagingListenerConfigurer(
+            consumerFactory,
+            producerFactory.transactionCapable() ? new KafkaTransactionManager<>(producerFactory) : null,
+            topicConsumerOverrides,
+            messagingProperties.getConcurrency(),
+            virtualThreadsEnabled ? applicationName + "-listener-" : null,
+            inFlightWindows);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(name = "kafkaListenerContainerFactory")
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> kafkaListenerContainerFactory(
+            MessagingListenerConfigurer configurer) {
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory);
+        return factory;
+    }
+
+    // Producer-only transactions need an id unique to this instance
+    private String transactionIdPrefix(String applicationName) {
+        String prefix = messagingProperties.getTransactionIdPrefix();
+        return prefix != null ? prefix : applicationName + "-" + UUID.randomUUID() + "-";
+    }
+}
@@ -0,0 +1,85 @@
+package com.adalbertosantos.messaging;
+
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.transaction.KafkaTransactionManager;
+
+import java.util.Map;
+import java.util.Properties;
+
+// Applies the shared listener settings to a container factory, so services that need their own
+// factory (e.g. a batch listener) still pick up the profile, the per-topic consumer overrides and the
+// rebalance handling of InFlightWindows
+public class MessagingListenerConfigurer {
+
+    private final ConsumerFactory<String, byte[]> consumerFactory;
+    private final KafkaTransactionManager<String, Object> transactionManager;
+    private final Map<String, Map<String, String>> topicConsumerOverrides;
+    private final int concurrency;
+    private final String virtualThreadPrefix;
+    private final InFlightWindows inFlightWindows;
+
+    public MessagingListenerConfigurer(ConsumerFactory<String, byte[]> consumerFactory,
+                                       KafkaTransactionManager<String, Object> transactionManager,
+                                       Map<String, Map<String, String>> topicConsumerOverrides,
+                                       int concurrency,
+                                       String virtualThreadPrefix,
+                                       InFlightWindows inFlightWindows) {
+        this.consumerFactory = consumerFactory;
+        this.transactionManager = transactionManager;
+        this.topicConsumerOverrides = Map.copyOf(topicConsumerOverrides);
+        this.concurrency = concurrency;
+        this.virtualThreadPrefix = virtualThreadPrefix;
+        this.inFlightWindows = inFlightWindows;
+    }
+
+    public void configure(ConcurrentKafkaListenerContainerFactory<String, byte[]> factory) {
+        factory.setConsumerFactory(consumerFactory);
+        factory.setConcurrency(concurrency);
+        ContainerProperties containerProperties = factory.getContainerProperties();
+        containerProperties.setAckMode(ContainerProperties.AckMode.MANUAL);
+        if (transactionManager != null) {
+            containerProperties.setTransactionManager(transactionManager);
+        }
+        if (virtualThreadPrefix != null) {
+            containerProperties.setListenerTaskExecutor(new VirtualThreadTaskExecutor(virtualThreadPrefix));
+        }
+        factory.setContainerCustomizer(container -> {
+            applyTopicOverrides(container.getContainerProperties());
+            applyRebalanceListener(container.getListenerId(), container.getContainerProperties());
+        });
+    }
+
+    // A rebalance listener the service set on its factory is kept; its windows then handle revocation themselves
+    private void applyRebalanceListener(String listenerId, ContainerProperties containerProperties) {
+        if (listenerId != null && containerProperties.getConsumerRebalanceListener() == null) {
+            containerProperties.setConsumerRebalanceListener(inFlightWindows.rebalanceListener(listenerId));
+        }
+    }
+
+    // Container properties are shallow copies of the factory's, so overrides go into a fresh Properties.
+    // A listener on several topics gets all of their overrides, later topics winning on conflicts.
+    private void applyTopicOverrides(ContainerProperties containerProperties) {
+        String[] topics = containerProperties.getTopics();
+        if (topics == null) {
+            return;
+        }
+        Properties merged = null;
+        for (String topic : topics) {
+            Map<String, String> overrides = topicConsumerOverrides.get(topic);
+            if (overrides == null || overrides.isEmpty()) {
+                continue;
+            }
+            if (merged == null) {
+                merged = new Properties();
+                merged.putAll(containerProperties.getKafkaConsumerProperties());
+            }
+            merged.putAll(overrides);
+        }
+        if (merged != null) {
+            containerProperties.setKafkaConsumerProperties(merged);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.adalbertosantos.messaging;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Producer batching and consumer fetch sizes are tuned together, so switching profile moves the
+// whole pipeline. Every profile keeps idempotent acks=all producers; only latency vs throughput changes.
+public enum MessagingProfile {
+
+    LOW_LATENCY(false,
+        Map.of(
+            ProducerConfig.LINGER_MS_CONFIG, 0,
+            ProducerConfig.BATCH_SIZE_CONFIG, 16384,
+            ProducerConfig.COMPRESSION_TYPE_CONFIG, "none"),
+        Map.of(
+            ConsumerConfig.FETCH_MIN_BYTES_CONFIG, 1,
+            ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, 100,
+            ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 100)),
+
+    HIGH_THROUGHPUT(false,
+        Map.of(
+            ProducerConfig.LINGER_MS_CONFIG, 10,
+            ProducerConfig.BATCH_SIZE_CONFIG, 131072,
+            ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4"),
+        Map.of(
+            ConsumerConfig.FETCH_MIN_BYTES_CONFIG, 65536,
+            ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, 100,
+            ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 1000)),
+
+    // Listener containers consume, produce and commit offsets in one Kafka transaction
+    EXACTLY_ONCE(true,
+        Map.of(
+            ProducerConfig.LINGER_MS_CONFIG, 5,
+            ProducerConfig.BATCH_SIZE_CONFIG, 65536,
+            ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4"),
+        Map.of(
+            ConsumerConfig.FETCH_MIN_BYTES_CONFIG, 16384,
+            ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, 100,
+            ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 200,
+            ConsumerConfig.ISOLATION_LEVEL_CONFIG, "read_committed"));
+
+    private final boolean transactional;
+    private final Map<String, Object> producerProperties;
+    private final Map<String, Object> consumerProperties;
+
+    MessagingProfile(boolean transactional, Map<String, Object> producerProperties,
+                     Map<String, Object> consumerProperties) {
+        this.transactional = transactional;
+        Map<String, Object> producer = new HashMap<>(producerProperties);
+        producer.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        producer.put(ProducerConfig.ACKS_CONFIG, "all");
+        this.producerProperties = Map.copyOf(producer);
+        this.consumerProperties = consumerProperties;
+    }
+
+    public boolean isTransactional() {
+        return transactional;
+    }
+
+    public Map<String, Object> getProducerProperties() {
+        return producerProperties;
+    }
+
+    public Map<String, Object> getConsumerProperties() {
+        return consumerProperties;
+    }
+}
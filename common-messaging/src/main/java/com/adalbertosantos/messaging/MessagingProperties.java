@@ -0,0 +1,157 @@
+package com.adalbertosantos.messaging;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+// Precedence, lowest first: spring.kafka.*, the profile, messaging.producer/consumer, messaging.topics.
+// Topic names contain dots, so YAML keys under topics need the bracket form, e.g. "[order.created]".
+@ConfigurationProperties(prefix = "messaging")
+public class MessagingProperties {
+
+    private MessagingProfile profile = MessagingProfile.HIGH_THROUGHPUT;
+    private int concurrency = 3;
+    private String transactionIdPrefix;
+    private Map<String, String> producer = new HashMap<>();
+    private Map<String, String> consumer = new HashMap<>();
+    private Map<String, Topic> topics = new HashMap<>();
+    private Registry schemaRegistry = new Registry();
+    private VirtualThreads virtualThreads = new VirtualThreads();
+
+    public MessagingProfile getProfile() {
+        return profile;
+    }
+
+    public void setProfile(MessagingProfile profile) {
+        this.profile = profile;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public void setConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    public String getTransactionIdPrefix() {
+        return transactionIdPrefix;
+    }
+
+    public void setTransactionIdPrefix(String transactionIdPrefix) {
+        this.transactionIdPrefix = transactionIdPrefix;
+    }
+
+    public Map<String, String> getProducer() {
+        return producer;
+    }
+
+    public void setProducer(Map<String, String> producer) {
+        this.producer = producer;
+    }
+
+    public Map<String, String> getConsumer() {
+        return consumer;
+    }
+
+    public void setConsumer(Map<String, String> consumer) {
+        this.consumer = consumer;
+    }
+
+    public Map<String, Topic> getTopics() {
+        return topics;
+    }
+
+    public void setTopics(Map<String, Topic> topics) {
+        this.topics = topics;
+    }
+
+    public Registry getSchemaRegistry() {
+        return schemaRegistry;
+    }
+
+    public void setSchemaRegistry(Registry schemaRegistry) {
+        this.schemaRegistry = schemaRegistry;
+    }
+
+    public VirtualThreads getVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public void setVirtualThreads(VirtualThreads virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    public static class Topic {
+
+        private Map<String, String> producer = new HashMap<>();
+        private Map<String, String> consumer = new HashMap<>();
+        private Map<String, String> config = new HashMap<>();
+
+        public Map<String, String> getProducer() {
+            return producer;
+        }
+
+        public void setProducer(Map<String, String> producer) {
+            this.producer = producer;
+        }
+
+        public Map<String, String> getConsumer() {
+            return consumer;
+        }
+
+        public void setConsumer(Map<String, String> consumer) {
+            this.consumer = consumer;
+        }
+
+        // Broker-side topic configs for the NewTopic built by MessagingTopics
+        public Map<String, String> getConfig() {
+            return config;
+        }
+
+        public void setConfig(Map<String, String> config) {
+            this.config = config;
+        }
+    }
+
+    // The file only works as a registry if every service points at the same one and it outlives restarts,
+    // so there is no default; each service sets it from EVENT_SCHEMA_REGISTRY_PATH
+    public static class Registry {
+
+        private boolean enabled = true;
+        private Path path;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        public void setPath(Path path) {
+            this.path = path;
+        }
+    }
+
+    public static class VirtualThreads {
+
+        // Pins shorter than this are not recorded, which keeps JFR's overhead down
+        private Duration pinningThreshold = Duration.ofMillis(20);
+
+        public Duration getPinningThreshold() {
+            return pinningThreshold;
+        }
+
+        public void setPinningThreshold(Duration pinningThreshold) {
+            this.pinningThreshold = pinningThreshold;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.adalbertosantos.messaging;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.config.TopicConfig;
+import org.springframework.kafka.config.TopicBuilder;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Starts NewTopic definitions from how this service produces to the topic: the topic stores batches in
+// the codec the producer already used, so the broker never recompresses them, and it accepts the largest
+// request the producer may send. Explicit messaging.topics.<name>.config entries win over both.
+public class MessagingTopics {
+
+    private static final String UNCOMPRESSED = "uncompressed";
+    private static final String PRODUCER_CODEC = "producer";
+
+    private final Map<String, Object> producerConfig;
+    private final Map<String, MessagingProperties.Topic> topics;
+    private final boolean transactional;
+
+    public MessagingTopics(Map<String, Object> producerConfig,
+                           Map<String, MessagingProperties.Topic> topics,
+                           boolean transactional) {
+        this.producerConfig = Map.copyOf(producerConfig);
+        this.topics = Map.copyOf(topics);
+        this.transactional = transactional;
+    }
+
+    public TopicBuilder topic(String name) {
+        MessagingProperties.Topic overrides = topics.get(name);
+        Map<String, Object> producer = new HashMap<>(producerConfig);
+        if (overrides != null) {
+            producer.putAll(overrides.getProducer());
+        }
+
+        Map<String, String> configs = new HashMap<>();
+        Object compression = producer.get(ProducerConfig.COMPRESSION_TYPE_CONFIG);
+        if (transactional) {
+            // Transactional sends use the shared producer and other sends the topic's, so keep either codec
+            configs.put(TopicConfig.COMPRESSION_TYPE_CONFIG, PRODUCER_CODEC);
+        } else if (compression != null) {
+            String codec = compression.toString();
+            configs.put(TopicConfig.COMPRESSION_TYPE_CONFIG, "none".equals(codec) ? UNCOMPRESSED : codec);
+        }
+        Object maxRequestSize = producer.get(ProducerConfig.MAX_REQUEST_SIZE_CONFIG);
+        if (maxRequestSize != null) {
+            configs.put(TopicConfig.MAX_MESSAGE_BYTES_CONFIG, maxRequestSize.toString());
+        }
+        if (overrides != null) {
+            configs.putAll(overrides.getConfig());
+        }
+        return TopicBuilder.name(name).configs(configs);
+    }
+}
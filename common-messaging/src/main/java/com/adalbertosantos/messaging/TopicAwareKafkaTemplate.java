@@ -0,0 +1,40 @@
+package com.adalbertosantos.messaging;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+
+import java.util.Map;
+
+// Non-transactional sends to a topic with producer overrides go through that topic's own factory.
+// Sends inside a Kafka transaction always use the shared transactional producer.
+public class TopicAwareKafkaTemplate<K, V> extends KafkaTemplate<K, V> {
+
+    private final Map<String, ProducerFactory<K, V>> topicProducerFactories;
+
+    public TopicAwareKafkaTemplate(ProducerFactory<K, V> producerFactory,
+                                   Map<String, ProducerFactory<K, V>> topicProducerFactories) {
+        super(producerFactory);
+        this.topicProducerFactories = Map.copyOf(topicProducerFactories);
+    }
+
+    @Override
+    protected ProducerFactory<K, V> getProducerFactory(String topic) {
+        ProducerFactory<K, V> factory = topic != null ? topicProducerFactories.get(topic) : null;
+        return factory != null ? factory : super.getProducerFactory(topic);
+    }
+
+    @Override
+    public void destroy() {
+        super.destroy();
+        for (ProducerFactory<K, V> factory : topicProducerFactories.values()) {
+            if (factory instanceof DisposableBean disposable) {
+                try {
+                    disposable.destroy();
+                } catch (Exception e) {
+                    throw new RuntimeException("Failed to close topic producer", e);
+                }
+            }
+        }
+    }
+}
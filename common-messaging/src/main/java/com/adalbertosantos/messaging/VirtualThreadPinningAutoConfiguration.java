@@ -0,0 +1,27 @@
+package com.adalbertosantos.messaging;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+
+// Runs after the actuator has set up the MeterRegistry; services without one get no monitor
+@AutoConfiguration(afterName = "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration")
+@ConditionalOnClass(MeterRegistry.class)
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+@EnableConfigurationProperties(MessagingProperties.class)
+public class VirtualThreadPinningAutoConfiguration {
+
+    @Bean
+    @ConditionalOnBean(MeterRegistry.class)
+    @ConditionalOnMissingBean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                                                   MessagingProperties messagingProperties) {
+        return new VirtualThreadPinningMonitor(meterRegistry,
+            messagingProperties.getVirtualThreads().getPinningThreshold());
+    }
+}
@@ -0,0 +1,117 @@
+package com.adalbertosantos.messaging;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InFlightWindowTest {
+
+    private static final TopicPartition P0 = new TopicPartition("order.created", 0);
+    private static final TopicPartition P1 = new TopicPartition("order.created", 1);
+
+    private final List<String> events = new ArrayList<>();
+    private final InFlightWindow window = new InFlightWindow(4,
+            partition -> events.add("pause " + partition),
+            partition -> events.add("resume " + partition));
+
+    @Test
+    void testAcknowledgesInOffsetOrderPerPartition() {
+        CompletableFuture<Void> p0o0 = submit(P0, 0);
+        CompletableFuture<Void> p0o1 = submit(P0, 1);
+        CompletableFuture<Void> p0o2 = submit(P0, 2);
+        CompletableFuture<Void> p1o0 = submit(P1, 0);
+
+        p0o2.complete(null);
+        p1o0.complete(null);
+        p0o1.complete(null);
+        assertEquals(List.of("ack order.created-1@0"), events);
+
+        p0o0.complete(null);
+        assertEquals(List.of("ack order.created-1@0", "ack order.created-0@2"), events);
+        assertEquals(0, window.inFlight(P0));
+    }
+
+    @Test
+    void testPausesAFullPartitionAndResumesAtHalf() {
+        List<CompletableFuture<Void>> completions = new ArrayList<>();
+        for (int offset = 0; offset < 4; offset++) {
+            completions.add(submit(P0, offset));
+        }
+        CompletableFuture<Void> other = submit(P1, 0);
+        assertEquals(List.of("pause order.created-0"), events);
+
+        completions.get(0).complete(null);
+        completions.get(1).complete(null);
+        assertEquals(List.of("pause order.created-0", "ack order.created-0@0", "ack order.created-0@1",
+                "resume order.created-0"), events);
+        assertEquals(2, window.inFlight(P0));
+        assertEquals(1, window.inFlight(P1));
+        assertFalse(other.isDone());
+    }
+
+    @Test
+    void testAFailedCompletionHoldsBackTheOffsetsOfItsPartition() {
+        CompletableFuture<Void> p0o0 = submit(P0, 0);
+        CompletableFuture<Void> p0o1 = submit(P0, 1);
+        CompletableFuture<Void> p0o2 = submit(P0, 2);
+        CompletableFuture<Void> p1o0 = submit(P1, 0);
+
+        p0o0.complete(null);
+        p0o1.completeExceptionally(new IllegalStateException("could not be dead-lettered"));
+        p0o2.complete(null);
+        p1o0.complete(null);
+
+        assertEquals(List.of("ack order.created-0@0", "ack order.created-1@0"), events);
+        assertEquals(2, window.inFlight(P0));
+    }
+
+    @Test
+    void testRevokedPartitionsDropTheirPendingAcks() {
+        InFlightWindows windows = new InFlightWindows(() -> null);
+        windows.register("payments", window);
+        List<CompletableFuture<Void>> completions = new ArrayList<>();
+        for (int offset = 0; offset < 4; offset++) {
+            completions.add(submit(P0, offset));
+        }
+        CompletableFuture<Void> other = submit(P1, 0);
+        completions.get(1).complete(null);
+
+        windows.rebalanceListener("payments").onPartitionsRevokedBeforeCommit(null, List.of(P0));
+        completions.forEach(completion -> completion.complete(null));
+        other.complete(null);
+
+        assertEquals(List.of("pause order.created-0", "resume order.created-0", "ack order.created-1@0"), events);
+        assertEquals(0, window.inFlight(P0));
+
+        // Reassigned later, the partition starts over from the committed offset
+        submit(P0, 0).complete(null);
+        assertEquals("ack order.created-0@0", events.get(events.size() - 1));
+    }
+
+    @Test
+    void testRebalanceListenersOnlyRevokeTheirOwnWindow() {
+        InFlightWindows windows = new InFlightWindows(() -> null);
+        windows.register("payments", window);
+        CompletableFuture<Void> pending = submit(P0, 0);
+
+        windows.rebalanceListener("retries").onPartitionsRevokedBeforeCommit(null, List.of(P0));
+        pending.complete(null);
+
+        assertEquals(List.of("ack order.created-0@0"), events);
+    }
+
+    private CompletableFuture<Void> submit(TopicPartition partition, long offset) {
+        CompletableFuture<Void> completion = new CompletableFuture<>();
+        Acknowledgment acknowledgment = () -> events.add("ack " + partition + "@" + offset);
+        window.submit(new ConsumerRecord<>(partition.topic(), partition.partition(), offset, "key", new byte[0]),
+                acknowledgment, completion);
+        return completion;
+    }
+}
@@ -0,0 +1,170 @@
+package com.adalbertosantos.messaging;
+
+import com.adalbertosantos.events.codec.EventSerializer;
+import com.adalbertosantos.events.registry.IncompatibleSchemaException;
+import com.adalbertosantos.events.registry.SchemaRegistry;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.config.TopicConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MessagingAutoConfigurationTest {
+
+    @TempDir
+    static Path registryDir;
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(MessagingAutoConfiguration.class, KafkaAutoConfiguration.class))
+            .withPropertyValues(
+                    "spring.application.name=test-service",
+                    "spring.kafka.bootstrap-servers=localhost:9092",
+                    "spring.kafka.consumer.group-id=test-group",
+                    "messaging.schema-registry.path=" + registryDir.resolve("schemas.json"));
+
+    @Test
+    void testProfileAppliesToBothSidesAndServiceOverridesWin() {
+        contextRunner
+                .withPropertyValues("messaging.profile=low-latency", "messaging.producer.linger.ms=2")
+                .run(context -> {
+                    ProducerFactory<?, ?> producerFactory = context.getBean(ProducerFactory.class);
+                    ConsumerFactory<?, ?> consumerFactory = context.getBean(ConsumerFactory.class);
+
+                    assertEquals("2", producerFactory.getConfigurationProperties().get(ProducerConfig.LINGER_MS_CONFIG));
+                    assertEquals("none", producerFactory.getConfigurationProperties().get(ProducerConfig.COMPRESSION_TYPE_CONFIG));
+                    assertEquals(true, producerFactory.getConfigurationProperties().get(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG));
+                    assertEquals(EventSerializer.class,
+                            producerFactory.getConfigurationProperties().get(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG));
+                    assertEquals(100, consumerFactory.getConfigurationProperties().get(ConsumerConfig.MAX_POLL_RECORDS_CONFIG));
+                    assertEquals("test-group", consumerFactory.getConfigurationProperties().get(ConsumerConfig.GROUP_ID_CONFIG));
+                    assertFalse(producerFactory.transactionCapable());
+                });
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testTopicOverridesOnlyApplyToThatTopic() {
+        contextRunner
+                .withPropertyValues(
+                        "messaging.topics.[order.created].producer.compression.type=zstd",
+                        "messaging.topics.[order.created].consumer.max.poll.records=10")
+                .run(context -> {
+                    TopicAwareKafkaTemplate<String, Object> template =
+                            (TopicAwareKafkaTemplate<String, Object>) context.getBean(KafkaTemplate.class);
+                    assertEquals("zstd", template.getProducerFactory("order.created")
+                            .getConfigurationProperties().get(ProducerConfig.COMPRESSION_TYPE_CONFIG));
+                    assertEquals("lz4", template.getProducerFactory("payment.succeeded")
+                            .getConfigurationProperties().get(ProducerConfig.COMPRESSION_TYPE_CONFIG));
+
+                    ConcurrentKafkaListenerContainerFactory<String, byte[]> factory =
+                            context.getBean("kafkaListenerContainerFactory", ConcurrentKafkaListenerContainerFactory.class);
+                    ConcurrentMessageListenerContainer<String, byte[]> overridden = factory.createContainer("order.created");
+                    ConcurrentMessageListenerContainer<String, byte[]> plain = factory.createContainer("payment.succeeded");
+                    assertEquals("10", overridden.getContainerProperties().getKafkaConsumerProperties()
+                            .get(ConsumerConfig.MAX_POLL_RECORDS_CONFIG));
+                    assertNull(plain.getContainerProperties().getKafkaConsumerProperties()
+                            .get(ConsumerConfig.MAX_POLL_RECORDS_CONFIG));
+                });
+    }
+
+    @Test
+    void testTopicConfigsFollowTheProducerCodec() {
+        contextRunner
+                .withPropertyValues(
+                        "messaging.topics.[order.created].producer.compression.type=zstd",
+                        "messaging.topics.[order.created].producer.max.request.size=2097152",
+                        "messaging.topics.[order.fulfilled].producer.compression.type=none",
+                        "messaging.topics.[order.fulfilled].config.compression.type=producer",
+                        "messaging.topics.[order.fulfilled].config.retention.ms=86400000")
+                .run(context -> {
+                    MessagingTopics topics = context.getBean(MessagingTopics.class);
+                    Map<String, String> created = topics.topic("order.created").build().configs();
+                    Map<String, String> fulfilled = topics.topic("order.fulfilled").build().configs();
+                    Map<String, String> other = topics.topic("payment.succeeded").build().configs();
+
+                    assertEquals("zstd", created.get(TopicConfig.COMPRESSION_TYPE_CONFIG));
+                    assertEquals("2097152", created.get(TopicConfig.MAX_MESSAGE_BYTES_CONFIG));
+                    assertEquals("producer", fulfilled.get(TopicConfig.COMPRESSION_TYPE_CONFIG));
+                    assertEquals("86400000", fulfilled.get(TopicConfig.RETENTION_MS_CONFIG));
+                    assertEquals("lz4", other.get(TopicConfig.COMPRESSION_TYPE_CONFIG));
+                    assertNull(other.get(TopicConfig.MAX_MESSAGE_BYTES_CONFIG));
+                });
+        contextRunner
+                .withPropertyValues("messaging.profile=low-latency")
+                .run(context -> assertEquals("uncompressed", context.getBean(MessagingTopics.class)
+                        .topic("order.fulfilled").build().configs().get(TopicConfig.COMPRESSION_TYPE_CONFIG)));
+    }
+
+    @Test
+    void testExactlyOnceMakesListenersTransactional() {
+        contextRunner
+                .withPropertyValues("messaging.profile=exactly-once")
+                .run(context -> {
+                    ProducerFactory<?, ?> producerFactory = context.getBean(ProducerFactory.class);
+                    ConsumerFactory<?, ?> consumerFactory = context.getBean(ConsumerFactory.class);
+                    ConcurrentKafkaListenerContainerFactory<?, ?> factory =
+                            context.getBean("kafkaListenerContainerFactory", ConcurrentKafkaListenerContainerFactory.class);
+
+                    assertTrue(producerFactory.transactionCapable());
+                    assertTrue(producerFactory.getTransactionIdPrefix().startsWith("test-service-"));
+                    assertEquals("read_committed", consumerFactory.getConfigurationProperties()
+                            .get(ConsumerConfig.ISOLATION_LEVEL_CONFIG));
+                    assertNotNull(factory.getContainerProperties().getTransactionManager());
+                    assertEquals("producer", context.getBean(MessagingTopics.class).topic("order.created").build()
+                            .configs().get(TopicConfig.COMPRESSION_TYPE_CONFIG));
+                });
+    }
+
+    @Test
+    void testIncompatibleSchemaRegistryFailsStartup() throws Exception {
+        Path file = registryDir.resolve("incompatible.json");
+        Files.writeString(file, """
+                {"OrderCancelledEvent": {"typeId": 2, "versions": {"1": ["orderId:uuid", "reason:string"]}}}
+                """);
+
+        contextRunner
+                .withPropertyValues("messaging.schema-registry.path=" + file)
+                .run(context -> {
+                    assertInstanceOf(IncompatibleSchemaException.class, rootCause(context.getStartupFailure()));
+                    assertTrue(Files.readString(file).contains("\"orderId:uuid\", \"reason:string\""));
+                });
+        contextRunner
+                .withPropertyValues("messaging.schema-registry.enabled=false", "messaging.schema-registry.path=" + file)
+                .run(context -> assertFalse(context.containsBean("schemaRegistry")));
+        contextRunner.run(context -> assertEquals(registryDir.resolve("schemas.json"),
+                context.getBean(SchemaRegistry.class).getFile()));
+    }
+
+    @Test
+    void testSchemaRegistryWithoutAPathFailsStartup() {
+        new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(MessagingAutoConfiguration.class, KafkaAutoConfiguration.class))
+                .withPropertyValues("spring.kafka.bootstrap-servers=localhost:9092")
+                .run(context -> {
+                    Throwable cause = rootCause(context.getStartupFailure());
+                    assertInstanceOf(IllegalStateException.class, cause);
+                    assertTrue(cause.getMessage().contains("messaging.schema-registry.path"));
+                });
+    }
+
+    private static Throwable rootCause(Throwable failure) {
+        while (failure.getCause() != null) {
+            failure = failure.getCause();
+        }
+        return failure;
+    }
+}
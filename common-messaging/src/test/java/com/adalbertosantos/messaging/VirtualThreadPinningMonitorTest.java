@@ -0,0 +1,43 @@
+package com.adalbertosantos.messaging;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VirtualThreadPinningMonitorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(meterRegistry, Duration.ofMillis(1));
+
+    @AfterEach
+    void tearDown() {
+        monitor.stop();
+    }
+
+    @Test
+    void testRecordsVirtualThreadPinnedInsideSynchronizedBlock() throws Exception {
+        monitor.start();
+        Object lock = new Object();
+
+        Thread.ofVirtual().start(() -> {
+            synchronized (lock) {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }).join();
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (meterRegistry.timer("jvm.threads.virtual.pinned").count() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+
+        assertTrue(meterRegistry.timer("jvm.threads.virtual.pinned").count() > 0);
+    }
+}
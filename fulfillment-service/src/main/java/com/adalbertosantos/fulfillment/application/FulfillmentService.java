@@ -1,5 +1,6 @@
 package com.adalbertosantos.fulfillment.application;
 
+import com.adalbertosantos.events.id.TimeOrderedUuid;
 import com.adalbertosantos.events.inventory.InventoryReservedEvent;
 import com.adalbertosantos.events.order.OrderFulfilledEvent;
 import com.adalbertosantos.fulfillment.domain.Fulfillment;
@@ -28,13 +29,13 @@ public class FulfillmentService {
 
     @Transactional
     public void fulfillOrder(InventoryReservedEvent event) {
-        logger.info("Processing fulfillment for order: {}", event.getOrderId());
+        logger.info("Processing fulfillment for order: {}", event.orderId());
 
         try {
             Fulfillment fulfillment = new Fulfillment();
-            fulfillment.setFulfillmentId(UUID.randomUUID());
-            fulfillment.setOrderId(event.getOrderId());
-            fulfillment.setReservationId(event.getReservationId());
+            fulfillment.setFulfillmentId(TimeOrderedUuid.next());
+            fulfillment.setOrderId(event.orderId());
+            fulfillment.setReservationId(event.reservationId());
             fulfillment.setStatus(Fulfillment.FulfillmentStatus.PROCESSING);
 
             fulfillment = fulfillmentRepository.save(fulfillment);
@@ -47,26 +48,26 @@ public class FulfillmentService {
             fulfillmentRepository.save(fulfillment);
 
             OrderFulfilledEvent fulfilledEvent = new OrderFulfilledEvent(
-                event.getOrderId(),
+                event.orderId(),
                 trackingNumber
             );
             eventProducer.sendOrderFulfilledEvent(fulfilledEvent);
 
             logger.info("Order fulfilled successfully: {} with tracking number: {}", 
-                event.getOrderId(), trackingNumber);
+                event.orderId(), trackingNumber);
 
         } catch (Exception e) {
-            logger.error("Failed to fulfill order: {}", event.getOrderId(), e);
+            logger.error("Failed to fulfill order: {}", event.orderId(), e);
             
             Fulfillment failedFulfillment = new Fulfillment();
-            failedFulfillment.setFulfillmentId(UUID.randomUUID());
-            failedFulfillment.setOrderId(event.getOrderId());
-            failedFulfillment.setReservationId(event.getReservationId());
+            failedFulfillment.setFulfillmentId(TimeOrderedUuid.next());
+            failedFulfillment.setOrderId(event.orderId());
+            failedFulfillment.setReservationId(event.reservationId());
             failedFulfillment.setStatus(Fulfillment.FulfillmentStatus.FAILED);
             failedFulfillment.setFailureReason(e.getMessage());
             fulfillmentRepository.save(failedFulfillment);
             
-            throw new RuntimeException("Fulfillment failed for order: " + event.getOrderId(), e);
+            throw new RuntimeException("Fulfillment failed for order: " + event.orderId(), e);
         }
     }
 
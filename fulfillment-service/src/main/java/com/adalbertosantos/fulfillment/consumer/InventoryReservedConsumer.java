@@ -1,15 +1,13 @@
 package com.adalbertosantos.fulfillment.consumer;
 
+import com.adalbertosantos.events.envelope.EventDispatcher;
 import com.adalbertosantos.events.inventory.InventoryReservedEvent;
 import com.adalbertosantos.fulfillment.application.FulfillmentService;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.support.Acknowledgment;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.handler.annotation.Header;
-import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -17,13 +15,15 @@ public class InventoryReservedConsumer {
 
     private static final Logger logger = LoggerFactory.getLogger(InventoryReservedConsumer.class);
 
-    private final FulfillmentService fulfillmentService;
-    private final ObjectMapper objectMapper;
+    private final EventDispatcher eventDispatcher;
 
-    public InventoryReservedConsumer(FulfillmentService fulfillmentService,
-                                    ObjectMapper objectMapper) {
-        this.fulfillmentService = fulfillmentService;
-        this.objectMapper = objectMapper;
+    public InventoryReservedConsumer(FulfillmentService fulfillmentService) {
+        this.eventDispatcher = EventDispatcher.builder()
+            .on(InventoryReservedEvent.class, event -> {
+                fulfillmentService.fulfillOrder(event);
+                logger.info("Successfully processed fulfillment for order: {}", event.orderId());
+            })
+            .build();
     }
 
     @KafkaListener(
@@ -31,22 +31,15 @@ public class InventoryReservedConsumer {
         groupId = "fulfillment-service-group",
         containerFactory = "kafkaListenerContainerFactory"
     )
-    public void consumeInventoryReservedEvent(
-            @Payload String message,
-            @Header(KafkaHeaders.RECEIVED_KEY) String key,
-            @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
-            @Header(KafkaHeaders.OFFSET) long offset,
-            Acknowledgment acknowledgment) {
-        
-        logger.info("Received InventoryReservedEvent - Topic: {}, Key: {}, Offset: {}", topic, key, offset);
-        
+    public void consumeInventoryReservedEvent(ConsumerRecord<String, byte[]> record, Acknowledgment acknowledgment) {
+        logger.info("Received InventoryReservedEvent - Topic: {}, Key: {}, Offset: {}",
+            record.topic(), record.key(), record.offset());
+
         try {
-            InventoryReservedEvent event = objectMapper.readValue(message, InventoryReservedEvent.class);
-            fulfillmentService.fulfillOrder(event);
+            eventDispatcher.dispatch(record.headers(), record.value());
             acknowledgment.acknowledge();
-            logger.info("Successfully processed fulfillment for order: {}", event.getOrderId());
         } catch (Exception e) {
-            logger.error("Failed to process InventoryReservedEvent for key: {}", key, e);
+            logger.error("Failed to process InventoryReservedEvent for key: {}", record.key(), e);
             acknowledgment.acknowledge();
         }
     }
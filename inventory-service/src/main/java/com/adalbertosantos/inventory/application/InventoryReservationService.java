@@ -31,7 +31,7 @@ public class InventoryReservationService {
 
     @Transactional
     public void reserveInventory(PaymentSucceededEvent event) {
-        logger.info("Attempting to reserve inventory for order: {}", event.getOrderId());
+        logger.info("Attempting to reserve inventory for order: {}", event.orderId());
 
         try {
             List<InventoryReservedEvent.ReservedItem> reservedItems = new ArrayList<>();
@@ -54,30 +54,30 @@ public class InventoryReservationService {
                 ));
 
                 InventoryReservedEvent reservedEvent = new InventoryReservedEvent(
-                    event.getOrderId(),
+                    event.orderId(),
                     UUID.randomUUID(),
                     reservedItems
                 );
                 eventProducer.sendInventoryReservedEvent(reservedEvent);
                 
-                logger.info("Successfully reserved inventory for order: {}", event.getOrderId());
+                logger.info("Successfully reserved inventory for order: {}", event.orderId());
             } else {
                 String reason = String.format("Insufficient inventory for product %s. Available: %d, Requested: %d",
                     item.getProductId(), item.getAvailableQuantity(), requestedQuantity);
                 
                 InventoryRejectedEvent rejectedEvent = new InventoryRejectedEvent(
-                    event.getOrderId(),
+                    event.orderId(),
                     reason
                 );
                 eventProducer.sendInventoryRejectedEvent(rejectedEvent);
                 
-                logger.warn("Inventory reservation rejected for order: {} - {}", event.getOrderId(), reason);
+                logger.warn("Inventory reservation rejected for order: {} - {}", event.orderId(), reason);
             }
         } catch (Exception e) {
-            logger.error("Failed to reserve inventory for order: {}", event.getOrderId(), e);
+            logger.error("Failed to reserve inventory for order: {}", event.orderId(), e);
             
             InventoryRejectedEvent rejectedEvent = new InventoryRejectedEvent(
-                event.getOrderId(),
+                event.orderId(),
                 "Inventory reservation failed: " + e.getMessage()
             );
             eventProducer.sendInventoryRejectedEvent(rejectedEvent);
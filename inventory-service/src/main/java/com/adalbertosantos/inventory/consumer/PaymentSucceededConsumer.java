@@ -1,15 +1,13 @@
 package com.adalbertosantos.inventory.consumer;
 
+import com.adalbertosantos.events.envelope.EventDispatcher;
 import com.adalbertosantos.events.payment.PaymentSucceededEvent;
 import com.adalbertosantos.inventory.application.InventoryReservationService;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.support.Acknowledgment;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.handler.annotation.Header;
-import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -17,13 +15,15 @@ public class PaymentSucceededConsumer {
 
     private static final Logger logger = LoggerFactory.getLogger(PaymentSucceededConsumer.class);
 
-    private final InventoryReservationService inventoryReservationService;
-    private final ObjectMapper objectMapper;
+    private final EventDispatcher eventDispatcher;
 
-    public PaymentSucceededConsumer(InventoryReservationService inventoryReservationService,
-                                   ObjectMapper objectMapper) {
-        this.inventoryReservationService = inventoryReservationService;
-        this.objectMapper = objectMapper;
+    public PaymentSucceededConsumer(InventoryReservationService inventoryReservationService) {
+        this.eventDispatcher = EventDispatcher.builder()
+            .on(PaymentSucceededEvent.class, event -> {
+                inventoryReservationService.reserveInventory(event);
+                logger.info("Successfully processed inventory reservation for order: {}", event.orderId());
+            })
+            .build();
     }
 
     @KafkaListener(
@@ -31,22 +31,15 @@ public class PaymentSucceededConsumer {
         groupId = "inventory-service-group",
         containerFactory = "kafkaListenerContainerFactory"
     )
-    public void consumePaymentSucceededEvent(
-            @Payload String message,
-            @Header(KafkaHeaders.RECEIVED_KEY) String key,
-            @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
-            @Header(KafkaHeaders.OFFSET) long offset,
-            Acknowledgment acknowledgment) {
-        
-        logger.info("Received PaymentSucceededEvent - Topic: {}, Key: {}, Offset: {}", topic, key, offset);
-        
+    public void consumePaymentSucceededEvent(ConsumerRecord<String, byte[]> record, Acknowledgment acknowledgment) {
+        logger.info("Received PaymentSucceededEvent - Topic: {}, Key: {}, Offset: {}",
+            record.topic(), record.key(), record.offset());
+
         try {
-            PaymentSucceededEvent event = objectMapper.readValue(message, PaymentSucceededEvent.class);
-            inventoryReservationService.reserveInventory(event);
+            eventDispatcher.dispatch(record.headers(), record.value());
             acknowledgment.acknowledge();
-            logger.info("Successfully processed inventory reservation for order: {}", event.getOrderId());
         } catch (Exception e) {
-            logger.error("Failed to process PaymentSucceededEvent for key: {}", key, e);
+            logger.error("Failed to process PaymentSucceededEvent for key: {}", record.key(), e);
             acknowledgment.acknowledge();
         }
     }
@@ -1,11 +1,11 @@
 package com.adalbertosantos.inventory.infrastructure.messaging;
 
+import com.adalbertosantos.events.envelope.EventEnvelope;
 import com.adalbertosantos.events.inventory.InventoryRejectedEvent;
 import com.adalbertosantos.events.inventory.InventoryReservedEvent;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
@@ -16,33 +16,24 @@ public class InventoryEventProducer {
     private static final String INVENTORY_RESERVED_TOPIC = "inventory.reserved";
     private static final String INVENTORY_REJECTED_TOPIC = "inventory.rejected";
 
-    private final KafkaTemplate<String, String> kafkaTemplate;
-    private final ObjectMapper objectMapper;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final String producerName;
 
-    public InventoryEventProducer(KafkaTemplate<String, String> kafkaTemplate, ObjectMapper objectMapper) {
+    public InventoryEventProducer(KafkaTemplate<String, Object> kafkaTemplate,
+                                  @Value("${spring.application.name}") String producerName) {
         this.kafkaTemplate = kafkaTemplate;
-        this.objectMapper = objectMapper;
+        this.producerName = producerName;
     }
 
     public void sendInventoryReservedEvent(InventoryReservedEvent event) {
-        try {
-            String message = objectMapper.writeValueAsString(event);
-            kafkaTemplate.send(INVENTORY_RESERVED_TOPIC, event.getOrderId().toString(), message);
-            logger.info("Sent InventoryReservedEvent for order: {}", event.getOrderId());
-        } catch (JsonProcessingException e) {
-            logger.error("Failed to serialize InventoryReservedEvent", e);
-            throw new RuntimeException("Failed to send inventory reserved event", e);
-        }
+        kafkaTemplate.send(EventEnvelope.forEvent(event, producerName)
+            .toRecord(INVENTORY_RESERVED_TOPIC, event.orderId().toString(), event));
+        logger.info("Sent InventoryReservedEvent for order: {}", event.orderId());
     }
 
     public void sendInventoryRejectedEvent(InventoryRejectedEvent event) {
-        try {
-            String message = objectMapper.writeValueAsString(event);
-            kafkaTemplate.send(INVENTORY_REJECTED_TOPIC, event.getOrderId().toString(), message);
-            logger.info("Sent InventoryRejectedEvent for order: {}", event.getOrderId());
-        } catch (JsonProcessingException e) {
-            logger.error("Failed to serialize InventoryRejectedEvent", e);
-            throw new RuntimeException("Failed to send inventory rejected event", e);
-        }
+        kafkaTemplate.send(EventEnvelope.forEvent(event, producerName)
+            .toRecord(INVENTORY_REJECTED_TOPIC, event.orderId().toString(), event));
+        logger.info("Sent InventoryRejectedEvent for order: {}", event.orderId());
     }
 }
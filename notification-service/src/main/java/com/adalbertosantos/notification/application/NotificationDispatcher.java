@@ -1,5 +1,6 @@
 package com.adalbertosantos.notification.application;
 
+import com.adalbertosantos.events.id.TimeOrderedUuid;
 import com.adalbertosantos.events.inventory.InventoryRejectedEvent;
 import com.adalbertosantos.events.inventory.InventoryReservedEvent;
 import com.adalbertosantos.events.order.OrderCancelledEvent;
@@ -33,16 +34,16 @@ public class NotificationDispatcher {
 
     @Transactional
     public void sendOrderCreatedNotification(OrderCreatedEvent event) {
-        logger.info("Sending order created notification for order: {}", event.getOrderId());
+        logger.info("Sending order created notification for order: {}", event.orderId());
         
         String message = String.format(
-            "Your order %s has been created successfully. Total amount: $%.2f",
-            event.getOrderId(), event.getTotalAmount()
+            "Your order %s has been created successfully. Total amount: $%s",
+            event.orderId(), event.totalAmount()
         );
         
         Notification notification = createNotification(
-            event.getOrderId(),
-            event.getCustomerId(),
+            event.orderId(),
+            event.customerId(),
             "Order Created",
             message,
             Notification.NotificationType.ORDER_CREATED
@@ -50,27 +51,27 @@ public class NotificationDispatcher {
         
         emailService.sendEmail(
             "customer@example.com",
-            "Order Created - " + event.getOrderId(),
+            "Order Created - " + event.orderId(),
             message
         );
         
         notification.setStatus(Notification.NotificationStatus.SENT);
         notificationRepository.save(notification);
         
-        logger.info("Order created notification sent for order: {}", event.getOrderId());
+        logger.info("Order created notification sent for order: {}", event.orderId());
     }
 
     @Transactional
     public void sendPaymentSucceededNotification(PaymentSucceededEvent event) {
-        logger.info("Sending payment succeeded notification for order: {}", event.getOrderId());
+        logger.info("Sending payment succeeded notification for order: {}", event.orderId());
         
         String message = String.format(
-            "Payment of $%.2f has been processed successfully for order %s",
-            event.getAmount(), event.getOrderId()
+            "Payment of $%s has been processed successfully for order %s",
+            event.amount(), event.orderId()
         );
         
         Notification notification = createNotification(
-            event.getOrderId(),
+            event.orderId(),
             null,
             "Payment Succeeded",
             message,
@@ -79,7 +80,7 @@ public class NotificationDispatcher {
         
         emailService.sendEmail(
             "customer@example.com",
-            "Payment Successful - " + event.getOrderId(),
+            "Payment Successful - " + event.orderId(),
             message
         );
         
@@ -89,15 +90,15 @@ public class NotificationDispatcher {
 
     @Transactional
     public void sendPaymentFailedNotification(PaymentFailedEvent event) {
-        logger.info("Sending payment failed notification for order: {}", event.getOrderId());
+        logger.info("Sending payment failed notification for order: {}", event.orderId());
         
         String message = String.format(
             "Payment failed for order %s. Reason: %s",
-            event.getOrderId(), event.getReason()
+            event.orderId(), event.reason()
         );
         
         Notification notification = createNotification(
-            event.getOrderId(),
+            event.orderId(),
             null,
             "Payment Failed",
             message,
@@ -106,7 +107,7 @@ public class NotificationDispatcher {
         
         emailService.sendEmail(
             "customer@example.com",
-            "Payment Failed - " + event.getOrderId(),
+            "Payment Failed - " + event.orderId(),
             message
         );
         
@@ -116,15 +117,15 @@ public class NotificationDispatcher {
 
     @Transactional
     public void sendInventoryReservedNotification(InventoryReservedEvent event) {
-        logger.info("Sending inventory reserved notification for order: {}", event.getOrderId());
+        logger.info("Sending inventory reserved notification for order: {}", event.orderId());
         
         String message = String.format(
             "Inventory has been reserved for your order %s",
-            event.getOrderId()
+            event.orderId()
         );
         
         Notification notification = createNotification(
-            event.getOrderId(),
+            event.orderId(),
             null,
             "Inventory Reserved",
             message,
@@ -137,15 +138,15 @@ public class NotificationDispatcher {
 
     @Transactional
     public void sendInventoryRejectedNotification(InventoryRejectedEvent event) {
-        logger.info("Sending inventory rejected notification for order: {}", event.getOrderId());
+        logger.info("Sending inventory rejected notification for order: {}", event.orderId());
         
         String message = String.format(
             "Order %s cannot be fulfilled. Reason: %s",
-            event.getOrderId(), event.getReason()
+            event.orderId(), event.reason()
         );
         
         Notification notification = createNotification(
-            event.getOrderId(),
+            event.orderId(),
             null,
             "Order Cannot Be Fulfilled",
             message,
@@ -154,7 +155,7 @@ public class NotificationDispatcher {
         
         emailService.sendEmail(
             "customer@example.com",
-            "Order Cannot Be Fulfilled - " + event.getOrderId(),
+            "Order Cannot Be Fulfilled - " + event.orderId(),
             message
         );
         
@@ -164,15 +165,15 @@ public class NotificationDispatcher {
 
     @Transactional
     public void sendOrderFulfilledNotification(OrderFulfilledEvent event) {
-        logger.info("Sending order fulfilled notification for order: {}", event.getOrderId());
+        logger.info("Sending order fulfilled notification for order: {}", event.orderId());
         
         String message = String.format(
             "Your order %s has been shipped! Tracking number: %s",
-            event.getOrderId(), event.getTrackingNumber()
+            event.orderId(), event.trackingNumber()
         );
         
         Notification notification = createNotification(
-            event.getOrderId(),
+            event.orderId(),
             null,
             "Order Shipped",
             message,
@@ -181,27 +182,27 @@ public class NotificationDispatcher {
         
         emailService.sendEmail(
             "customer@example.com",
-            "Order Shipped - " + event.getOrderId(),
+            "Order Shipped - " + event.orderId(),
             message
         );
         
         notification.setStatus(Notification.NotificationStatus.SENT);
         notificationRepository.save(notification);
         
-        logger.info("Order fulfilled notification sent for order: {}", event.getOrderId());
+        logger.info("Order fulfilled notification sent for order: {}", event.orderId());
     }
 
     @Transactional
     public void sendOrderCancelledNotification(OrderCancelledEvent event) {
-        logger.info("Sending order cancelled notification for order: {}", event.getOrderId());
+        logger.info("Sending order cancelled notification for order: {}", event.orderId());
         
         String message = String.format(
             "Your order %s has been cancelled. Reason: %s",
-            event.getOrderId(), event.getReason()
+            event.orderId(), event.reason()
         );
         
         Notification notification = createNotification(
-            event.getOrderId(),
+            event.orderId(),
             null,
             "Order Cancelled",
             message,
@@ -210,7 +211,7 @@ public class NotificationDispatcher {
         
         emailService.sendEmail(
             "customer@example.com",
-            "Order Cancelled - " + event.getOrderId(),
+            "Order Cancelled - " + event.orderId(),
             message
         );
         
@@ -222,7 +223,7 @@ public class NotificationDispatcher {
                                           String subject, String message,
                                           Notification.NotificationType type) {
         Notification notification = new Notification();
-        notification.setNotificationId(UUID.randomUUID());
+        notification.setNotificationId(TimeOrderedUuid.next());
         notification.setOrderId(orderId);
         notification.setCustomerId(customerId);
         notification.setSubject(subject);
@@ -1,28 +1,176 @@
 package com.adalbertosantos.order.api;
 
+import com.adalbertosantos.events.money.Money;
+import com.adalbertosantos.order.application.AsyncOrderSubmitter;
+import com.adalbertosantos.order.application.IdempotentOrderService;
 import com.adalbertosantos.order.application.OrderService;
+import com.adalbertosantos.order.application.OrderStatusNotifier;
+import com.adalbertosantos.order.application.OrderStatusStreamHub;
 import com.adalbertosantos.order.domain.Order;
+import com.adalbertosantos.order.domain.OrderCursor;
+import com.adalbertosantos.order.domain.OrderPage;
+import com.adalbertosantos.order.domain.OrderSearchCriteria;
+import com.adalbertosantos.order.domain.OrderStatus;
+import com.adalbertosantos.order.domain.OrderStatusChange;
+import com.adalbertosantos.order.domain.OrderSummary;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/orders")
 public class OrderController {
 
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
     private final OrderService orderService;
+    private final IdempotentOrderService idempotentOrderService;
+    private final AsyncOrderSubmitter asyncOrderSubmitter;
+    private final OrderStatusNotifier statusNotifier;
+    private final OrderStatusStreamHub statusStreamHub;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter exportWriter;
+    private final int maxBatchSize;
+    private final long maxStatusWaitMs;
+    private final Duration exportTimeout;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService,
+                           IdempotentOrderService idempotentOrderService,
+                           AsyncOrderSubmitter asyncOrderSubmitter,
+                           OrderStatusNotifier statusNotifier,
+                           OrderStatusStreamHub statusStreamHub,
+                           ObjectMapper objectMapper,
+                           @Value("${order.batch.max-size:5000}") int maxBatchSize,
+                           @Value("${order.async.max-status-wait-ms:30000}") long maxStatusWaitMs,
+                           @Value("${order.export.timeout:30m}") Duration exportTimeout) {
         this.orderService = orderService;
+        this.idempotentOrderService = idempotentOrderService;
+        this.asyncOrderSubmitter = asyncOrderSubmitter;
+        this.statusNotifier = statusNotifier;
+        this.statusStreamHub = statusStreamHub;
+        this.objectMapper = objectMapper;
+        this.maxBatchSize = maxBatchSize;
+        this.maxStatusWaitMs = maxStatusWaitMs;
+        this.exportTimeout = exportTimeout;
+        this.exportWriter = objectMapper.writerFor(OrderSummary.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
     @PostMapping
-    public ResponseEntity<Order> createOrder(@RequestBody CreateOrderRequest request) {
-        Order order = orderService.createOrder(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(order);
+    public ResponseEntity<Order> createOrder(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestBody CreateOrderRequest request) {
+        // Rejected before an idempotency key is claimed, so a corrected retry can reuse the key
+        String error = orderService.validate(request);
+        if (error != null) {
+            return ResponseEntity.of(ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, error)).build();
+        }
+        if (idempotencyKey == null) {
+            Order order = orderService.createOrder(request);
+            return ResponseEntity.status(HttpStatus.CREATED).body(order);
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        IdempotentOrderService.Result result = idempotentOrderService.createOrder(idempotencyKey, request);
+        return switch (result.getOutcome()) {
+            case CREATED -> ResponseEntity.status(HttpStatus.CREATED).body(result.getOrder());
+            case REPLAYED -> ResponseEntity.status(HttpStatus.CREATED)
+                    .header("Idempotent-Replayed", "true")
+                    .body(result.getOrder());
+            case KEY_REUSED -> ResponseEntity.unprocessableEntity().build();
+        };
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchOrderResult>> createOrders(@RequestBody List<CreateOrderRequest> requests) {
+        if (requests.isEmpty() || requests.size() > maxBatchSize) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(orderService.createOrders(requests));
+    }
+
+    @PostMapping("/async")
+    public ResponseEntity<OrderStatusResponse> submitOrder(@RequestBody CreateOrderRequest request) {
+        if (orderService.validate(request) != null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return asyncOrderSubmitter.submit(request)
+                .map(orderId -> ResponseEntity.accepted()
+                        .location(URI.create("/api/orders/" + orderId + "/status"))
+                        .body(OrderStatusResponse.accepted(orderId)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "1")
+                        .build());
+    }
+
+    @GetMapping("/{orderId}/status")
+    public DeferredResult<ResponseEntity<OrderStatusResponse>> getOrderStatus(
+            @PathVariable UUID orderId,
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "0") long waitMs) {
+        long timeout = Math.max(0, Math.min(waitMs, maxStatusWaitMs));
+        DeferredResult<ResponseEntity<OrderStatusResponse>> result = new DeferredResult<>(timeout);
+
+        ResponseEntity<OrderStatusResponse> current = currentStatus(orderId);
+        if (since == null || timeout == 0 || !hasStatus(current, since)) {
+            result.setResult(current);
+            return result;
+        }
+
+        Runnable unsubscribe = statusNotifier.onNextChange(orderId, () -> result.setResult(currentStatus(orderId)));
+        result.onTimeout(() -> result.setResult(currentStatus(orderId)));
+        result.onCompletion(unsubscribe);
+
+        ResponseEntity<OrderStatusResponse> afterSubscribe = currentStatus(orderId);
+        if (!hasStatus(afterSubscribe, since)) {
+            result.setResult(afterSubscribe);
+        }
+        return result;
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamCustomerOrders(@RequestParam UUID customerId) {
+        return statusStreamHub.subscribeToCustomer(customerId)
+                .map(ResponseEntity::ok)
+                .orElseGet(OrderController::streamsExhausted);
+    }
+
+    @GetMapping(value = "/{orderId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamOrderStatus(@PathVariable UUID orderId) {
+        Optional<Order> order = orderService.getOrder(orderId);
+        if (order.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        return statusStreamHub.subscribeToOrder(orderId,
+                        () -> statusChange(orderService.getOrder(orderId).orElse(order.get())))
+                .map(ResponseEntity::ok)
+                .orElseGet(OrderController::streamsExhausted);
     }
 
     @GetMapping("/{orderId}")
@@ -33,8 +181,77 @@ public class OrderController {
     }
 
     @GetMapping
-    public ResponseEntity<List<Order>> getAllOrders() {
-        return ResponseEntity.ok(orderService.getAllOrders());
+    public ResponseEntity<OrderPage> getOrders(
+            @RequestParam(required = false) UUID customerId,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant createdTo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        OrderCursor after;
+        try {
+            after = cursor != null ? OrderCursor.decode(cursor) : null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        OrderSearchCriteria criteria = new OrderSearchCriteria(customerId, status, createdFrom, createdTo);
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return ResponseEntity.ok(orderService.findOrders(criteria, after, pageSize));
+    }
+
+    // The export sets its own timeout rather than raising the one every async request in the service gets
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public WebAsyncTask<Void> exportOrders(
+            @RequestParam(required = false) UUID customerId,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant createdTo,
+            HttpServletResponse response) {
+        OrderSearchCriteria criteria = new OrderSearchCriteria(customerId, status, createdFrom, createdTo);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+
+        return new WebAsyncTask<>(exportTimeout.toMillis(), () -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+                generator.setRootValueSeparator(null);
+                orderService.exportOrders(criteria, order -> {
+                    try {
+                        exportWriter.writeValue(generator, order);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+            return null;
+        });
+    }
+
+    private static OrderStatusChange statusChange(Order order) {
+        return new OrderStatusChange(order.getOrderId(), order.getCustomerId(), order.getStatus(), order.getUpdatedAt());
+    }
+
+    private static ResponseEntity<SseEmitter> streamsExhausted() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .build();
+    }
+
+    private ResponseEntity<OrderStatusResponse> currentStatus(UUID orderId) {
+        if (asyncOrderSubmitter.isPending(orderId)) {
+            return ResponseEntity.ok(OrderStatusResponse.accepted(orderId));
+        }
+        Optional<String> failure = asyncOrderSubmitter.failure(orderId);
+        if (failure.isPresent()) {
+            return ResponseEntity.ok(new OrderStatusResponse(orderId, OrderStatusResponse.FAILED, false, failure.get()));
+        }
+        return orderService.getOrder(orderId)
+                .map(order -> ResponseEntity.ok(new OrderStatusResponse(orderId, order.getStatus().name(), true, null)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    private static boolean hasStatus(ResponseEntity<OrderStatusResponse> response, String status) {
+        return response.getBody() != null && response.getBody().getStatus().equals(status);
     }
 
     @PutMapping("/{orderId}/cancel")
@@ -68,7 +285,7 @@ public class OrderController {
     public static class OrderItem {
         private UUID productId;
         private int quantity;
-        private double price;
+        private Money price;
 
         public UUID getProductId() {
             return productId;
@@ -86,12 +303,87 @@ public class OrderController {
             this.quantity = quantity;
         }
 
-        public double getPrice() {
+        public Money getPrice() {
             return price;
         }
 
-        public void setPrice(double price) {
+        public void setPrice(Money price) {
             this.price = price;
         }
     }
+
+    public static class BatchOrderResult {
+        private final int index;
+        private final UUID orderId;
+        private final String status;
+        private final String error;
+
+        private BatchOrderResult(int index, UUID orderId, String status, String error) {
+            this.index = index;
+            this.orderId = orderId;
+            this.status = status;
+            this.error = error;
+        }
+
+        public static BatchOrderResult created(int index, UUID orderId) {
+            return new BatchOrderResult(index, orderId, "CREATED", null);
+        }
+
+        public static BatchOrderResult rejected(int index, String error) {
+            return new BatchOrderResult(index, null, "REJECTED", error);
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public UUID getOrderId() {
+            return orderId;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public String getError() {
+            return error;
+        }
+    }
+
+    public static class OrderStatusResponse {
+        public static final String ACCEPTED = "ACCEPTED";
+        public static final String FAILED = "FAILED";
+
+        private final UUID orderId;
+        private final String status;
+        private final boolean durable;
+        private final String error;
+
+        public OrderStatusResponse(UUID orderId, String status, boolean durable, String error) {
+            this.orderId = orderId;
+            this.status = status;
+            this.durable = durable;
+            this.error = error;
+        }
+
+        public static OrderStatusResponse accepted(UUID orderId) {
+            return new OrderStatusResponse(orderId, ACCEPTED, false, null);
+        }
+
+        public UUID getOrderId() {
+            return orderId;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public boolean isDurable() {
+            return durable;
+        }
+
+        public String getError() {
+            return error;
+        }
+    }
 }
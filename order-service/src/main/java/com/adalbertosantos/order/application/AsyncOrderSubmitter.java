@@ -0,0 +1,147 @@
+package com.adalbertosantos.order.application;
+
+import com.adalbertosantos.events.id.TimeOrderedUuid;
+import com.adalbertosantos.order.api.OrderController.CreateOrderRequest;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class AsyncOrderSubmitter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncOrderSubmitter.class);
+    private static final long POLL_INTERVAL_MS = 100;
+
+    private final OrderService orderService;
+    private final OrderStatusNotifier statusNotifier;
+    private final BlockingQueue<PendingOrder> buffer;
+    private final int maxBatchSize;
+    private final Set<UUID> pending = ConcurrentHashMap.newKeySet();
+    private final Cache<UUID, String> failed;
+    private volatile boolean running;
+    private Thread writer;
+
+    public AsyncOrderSubmitter(OrderService orderService,
+                               OrderStatusNotifier statusNotifier,
+                               @Value("${order.async.buffer-capacity:10000}") int bufferCapacity,
+                               @Value("${order.async.max-batch-size:500}") int maxBatchSize,
+                               @Value("${order.async.failure-retention:1h}") Duration failureRetention) {
+        this.orderService = orderService;
+        this.statusNotifier = statusNotifier;
+        this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        this.maxBatchSize = maxBatchSize;
+        this.failed = Caffeine.newBuilder()
+                .maximumSize(bufferCapacity)
+                .expireAfterWrite(failureRetention)
+                .build();
+    }
+
+    public Optional<UUID> submit(CreateOrderRequest request) {
+        UUID orderId = TimeOrderedUuid.next();
+        pending.add(orderId);
+        if (!buffer.offer(new PendingOrder(orderId, request))) {
+            pending.remove(orderId);
+            return Optional.empty();
+        }
+        return Optional.of(orderId);
+    }
+
+    public boolean isPending(UUID orderId) {
+        return pending.contains(orderId);
+    }
+
+    public Optional<String> failure(UUID orderId) {
+        return Optional.ofNullable(failed.getIfPresent(orderId));
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = new Thread(this::writeLoop, "order-group-commit");
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        }
+    }
+
+    public int writeNextBatch(long timeout, TimeUnit unit) throws InterruptedException {
+        PendingOrder first = buffer.poll(timeout, unit);
+        if (first == null) {
+            return 0;
+        }
+
+        List<PendingOrder> batch = new ArrayList<>(maxBatchSize);
+        batch.add(first);
+        buffer.drainTo(batch, maxBatchSize - 1);
+
+        try {
+            orderService.createAcceptedOrders(toRequests(batch));
+        } catch (RuntimeException e) {
+            logger.warn("Group commit of {} orders failed, retrying them one by one: {}", batch.size(), e.getMessage());
+            batch.forEach(this::writeAlone);
+        } finally {
+            List<UUID> orderIds = batch.stream().map(PendingOrder::orderId).toList();
+            orderIds.forEach(pending::remove);
+            statusNotifier.notifyChanged(orderIds);
+        }
+
+        logger.debug("Group-committed {} orders", batch.size());
+        return batch.size();
+    }
+
+    private void writeLoop() {
+        while (running || !buffer.isEmpty()) {
+            try {
+                writeNextBatch(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Order group-commit writer failed", e);
+            }
+        }
+    }
+
+    private void writeAlone(PendingOrder order) {
+        try {
+            orderService.createAcceptedOrders(toRequests(List.of(order)));
+        } catch (RuntimeException e) {
+            logger.error("Failed to persist accepted order {}", order.orderId(), e);
+            failed.put(order.orderId(), e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        }
+    }
+
+    private Map<UUID, CreateOrderRequest> toRequests(List<PendingOrder> batch) {
+        Map<UUID, CreateOrderRequest> requests = new LinkedHashMap<>();
+        for (PendingOrder order : batch) {
+            requests.put(order.orderId(), order.request());
+        }
+        return requests;
+    }
+
+    private record PendingOrder(UUID orderId, CreateOrderRequest request) {
+    }
+}
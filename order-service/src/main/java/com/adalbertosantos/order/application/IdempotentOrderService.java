@@ -0,0 +1,145 @@
+package com.adalbertosantos.order.application;
+
+import com.adalbertosantos.order.api.OrderController.CreateOrderRequest;
+import com.adalbertosantos.order.domain.IdempotencyKeyRepository;
+import com.adalbertosantos.order.domain.IdempotencyRecord;
+import com.adalbertosantos.order.domain.Order;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+
+@Service
+public class IdempotentOrderService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotentOrderService.class);
+
+    public enum Outcome {
+        CREATED,
+        REPLAYED,
+        KEY_REUSED
+    }
+
+    private final OrderService orderService;
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final ObjectWriter requestWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final Cache<String, IdempotencyRecord> recentKeys;
+
+    public IdempotentOrderService(OrderService orderService,
+                                  IdempotencyKeyRepository idempotencyKeyRepository,
+                                  ObjectMapper objectMapper,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${order.idempotency.ttl:24h}") Duration ttl,
+                                  @Value("${order.idempotency.cache-size:100000}") long cacheSize) {
+        this.orderService = orderService;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.requestWriter = objectMapper.writerFor(CreateOrderRequest.class);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = ttl;
+        this.recentKeys = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public Result createOrder(String idempotencyKey, CreateOrderRequest request) {
+        String requestHash = fingerprint(request);
+
+        Optional<IdempotencyRecord> existing = lookup(idempotencyKey);
+        if (existing.isPresent()) {
+            return replay(existing.get(), requestHash);
+        }
+
+        try {
+            Instant now = Instant.now();
+            Order order = transactionTemplate.execute(status -> {
+                idempotencyKeyRepository.claim(idempotencyKey, requestHash, now, now.minus(ttl));
+                Order created = orderService.createOrder(request);
+                idempotencyKeyRepository.complete(idempotencyKey, created.getOrderId());
+                return created;
+            });
+            recentKeys.put(idempotencyKey, new IdempotencyRecord(idempotencyKey, requestHash, order.getOrderId(), now));
+            return new Result(Outcome.CREATED, order);
+        } catch (DuplicateKeyException e) {
+            logger.debug("Idempotency key {} claimed concurrently, replaying stored result", idempotencyKey);
+            IdempotencyRecord winner = lookup(idempotencyKey)
+                    .orElseThrow(() -> new IllegalStateException("Idempotency key vanished: " + idempotencyKey, e));
+            return replay(winner, requestHash);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${order.idempotency.cleanup-interval-ms:600000}")
+    public void purgeExpiredKeys() {
+        int purged = idempotencyKeyRepository.deleteCreatedBefore(Instant.now().minus(ttl));
+        if (purged > 0) {
+            logger.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private Optional<IdempotencyRecord> lookup(String idempotencyKey) {
+        Instant expiredBefore = Instant.now().minus(ttl);
+
+        IdempotencyRecord cached = recentKeys.getIfPresent(idempotencyKey);
+        if (cached != null && !cached.getCreatedAt().isBefore(expiredBefore)) {
+            return Optional.of(cached);
+        }
+
+        Optional<IdempotencyRecord> stored = idempotencyKeyRepository.find(idempotencyKey, expiredBefore);
+        stored.ifPresent(record -> recentKeys.put(idempotencyKey, record));
+        return stored;
+    }
+
+    private Result replay(IdempotencyRecord record, String requestHash) {
+        if (!record.getRequestHash().equals(requestHash)) {
+            return new Result(Outcome.KEY_REUSED, null);
+        }
+        Order order = orderService.getOrder(record.getOrderId())
+                .orElseThrow(() -> new IllegalStateException("Order not found for idempotency key: " + record.getKey()));
+        return new Result(Outcome.REPLAYED, order);
+    }
+
+    private String fingerprint(CreateOrderRequest request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(requestWriter.writeValueAsBytes(request)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new RuntimeException("Failed to fingerprint order request", e);
+        }
+    }
+
+    public static class Result {
+        private final Outcome outcome;
+        private final Order order;
+
+        public Result(Outcome outcome, Order order) {
+            this.outcome = outcome;
+            this.order = order;
+        }
+
+        public Outcome getOutcome() {
+            return outcome;
+        }
+
+        public Order getOrder() {
+            return order;
+        }
+    }
+}
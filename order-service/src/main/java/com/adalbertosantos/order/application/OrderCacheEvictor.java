@@ -0,0 +1,31 @@
+package com.adalbertosantos.order.application;
+
+import com.adalbertosantos.order.domain.OrderStatusChange;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// Drops a changed order from the orders cache once the change is committed, so a read racing the
+// transaction cannot put the old status back. Runs before the other listeners of the change, so the polls
+// and streams they wake read the new status.
+@Component
+public class OrderCacheEvictor {
+
+    private final CacheManager cacheManager;
+
+    public OrderCacheEvictor(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onStatusChange(OrderStatusChange change) {
+        Cache orders = cacheManager.getCache(OrderService.ORDERS_CACHE);
+        if (orders != null) {
+            orders.evict(change.getOrderId());
+        }
+    }
+}
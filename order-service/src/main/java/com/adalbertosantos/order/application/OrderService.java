@@ -1,67 +1,129 @@
 package com.adalbertosantos.order.application;
 
+import com.adalbertosantos.events.id.TimeOrderedUuid;
+import com.adalbertosantos.events.money.Money;
 import com.adalbertosantos.events.order.OrderCreatedEvent;
+import com.adalbertosantos.order.api.OrderController.BatchOrderResult;
 import com.adalbertosantos.order.api.OrderController.CreateOrderRequest;
+import com.adalbertosantos.order.api.OrderController.OrderItem;
+import com.adalbertosantos.order.domain.BulkOrderRepository;
 import com.adalbertosantos.order.domain.Order;
+import com.adalbertosantos.order.domain.OrderCursor;
+import com.adalbertosantos.order.domain.OrderPage;
+import com.adalbertosantos.order.domain.OrderQueryRepository;
 import com.adalbertosantos.order.domain.OrderRepository;
+import com.adalbertosantos.order.domain.OrderSearchCriteria;
 import com.adalbertosantos.order.domain.OrderStatus;
+import com.adalbertosantos.order.domain.OrderStatusChange;
+import com.adalbertosantos.order.domain.OrderSummary;
 import com.adalbertosantos.order.infrastructure.messaging.OrderEventProducer;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
 public class OrderService {
 
+    public static final String ORDERS_CACHE = "orders";
+
     private final OrderRepository orderRepository;
+    private final OrderQueryRepository orderQueryRepository;
+    private final BulkOrderRepository bulkOrderRepository;
     private final OrderEventProducer eventProducer;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public OrderService(OrderRepository orderRepository, OrderEventProducer eventProducer) {
+    public OrderService(OrderRepository orderRepository,
+                        OrderQueryRepository orderQueryRepository,
+                        BulkOrderRepository bulkOrderRepository,
+                        OrderEventProducer eventProducer,
+                        ApplicationEventPublisher eventPublisher) {
         this.orderRepository = orderRepository;
+        this.orderQueryRepository = orderQueryRepository;
+        this.bulkOrderRepository = bulkOrderRepository;
         this.eventProducer = eventProducer;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
     public Order createOrder(CreateOrderRequest request) {
-        double totalAmount = request.getItems().stream()
-                .mapToDouble(item -> item.getPrice() * item.getQuantity())
-                .sum();
+        Order savedOrder = orderRepository.save(newOrder(request));
 
-        Order order = new Order();
-        order.setOrderId(UUID.randomUUID());
-        order.setCustomerId(request.getCustomerId());
-        order.setStatus(OrderStatus.PENDING);
-        order.setTotalAmount(totalAmount);
+        eventProducer.sendOrderCreatedEvent(orderCreatedEvent(savedOrder, request));
 
-        Order savedOrder = orderRepository.save(order);
+        return savedOrder;
+    }
 
-        OrderCreatedEvent event = new OrderCreatedEvent(
-                savedOrder.getOrderId(),
-                savedOrder.getCustomerId(),
-                request.getItems().stream()
-                        .map(item -> new OrderCreatedEvent.OrderItem(
-                                item.getProductId(),
-                                item.getQuantity(),
-                                item.getPrice()))
-                        .collect(Collectors.toList()),
-                totalAmount
-        );
+    @Transactional
+    public List<BatchOrderResult> createOrders(List<CreateOrderRequest> requests) {
+        List<BatchOrderResult> results = new ArrayList<>(requests.size());
+        List<Order> orders = new ArrayList<>(requests.size());
+        List<OrderCreatedEvent> events = new ArrayList<>(requests.size());
 
-        eventProducer.sendOrderCreatedEvent(event);
+        for (int i = 0; i < requests.size(); i++) {
+            CreateOrderRequest request = requests.get(i);
+            String error = validate(request);
+            if (error != null) {
+                results.add(BatchOrderResult.rejected(i, error));
+                continue;
+            }
 
-        return savedOrder;
+            Order order = newOrder(request);
+            orders.add(order);
+            events.add(orderCreatedEvent(order, request));
+            results.add(BatchOrderResult.created(i, order.getOrderId()));
+        }
+
+        if (!orders.isEmpty()) {
+            bulkOrderRepository.insertAll(orders);
+            eventProducer.sendOrderCreatedEvents(events);
+        }
+
+        return results;
     }
 
+    @Transactional
+    public void createAcceptedOrders(Map<UUID, CreateOrderRequest> accepted) {
+        List<Order> orders = new ArrayList<>(accepted.size());
+        List<OrderCreatedEvent> events = new ArrayList<>(accepted.size());
+        accepted.forEach((orderId, request) -> {
+            Order order = newOrder(orderId, request);
+            orders.add(order);
+            events.add(orderCreatedEvent(order, request));
+        });
+
+        bulkOrderRepository.insertAll(orders);
+        eventProducer.sendOrderCreatedEvents(events);
+    }
+
+    // The cache holds a copy outside any persistence context, since the entity findById returns stays
+    // managed by the request's EntityManager. Status changes evict it through OrderCacheEvictor.
+    @Cacheable(cacheNames = ORDERS_CACHE, unless = "#result == null")
     public Optional<Order> getOrder(UUID orderId) {
-        return orderRepository.findById(orderId);
+        return orderRepository.findById(orderId).map(OrderService::detachedCopy);
+    }
+
+    public OrderPage findOrders(OrderSearchCriteria criteria, OrderCursor after, int limit) {
+        List<OrderSummary> rows = orderQueryRepository.findPage(criteria, after, limit + 1);
+        if (rows.size() <= limit) {
+            return new OrderPage(rows, null);
+        }
+        List<OrderSummary> orders = rows.subList(0, limit);
+        return new OrderPage(orders, OrderCursor.after(orders.get(limit - 1)).encode());
     }
 
-    public List<Order> getAllOrders() {
-        return orderRepository.findAll();
+    @Transactional(readOnly = true)
+    public void exportOrders(OrderSearchCriteria criteria, Consumer<OrderSummary> action) {
+        orderQueryRepository.streamAll(criteria, action);
     }
 
     @Transactional
@@ -69,7 +131,9 @@ public class OrderService {
         return orderRepository.findById(orderId)
                 .map(order -> {
                     order.setStatus(OrderStatus.CANCELLED);
-                    return orderRepository.save(order);
+                    Order cancelled = orderRepository.save(order);
+                    publishStatusChange(cancelled);
+                    return cancelled;
                 });
     }
 
@@ -78,7 +142,80 @@ public class OrderService {
         orderRepository.findById(orderId)
                 .ifPresent(order -> {
                     order.setStatus(status);
-                    orderRepository.save(order);
+                    publishStatusChange(orderRepository.save(order));
                 });
     }
+
+    private void publishStatusChange(Order order) {
+        eventPublisher.publishEvent(new OrderStatusChange(
+                order.getOrderId(), order.getCustomerId(), order.getStatus(), Instant.now()));
+    }
+
+    private static Order detachedCopy(Order order) {
+        Order copy = new Order();
+        copy.setOrderId(order.getOrderId());
+        copy.setCustomerId(order.getCustomerId());
+        copy.setStatus(order.getStatus());
+        copy.setTotalAmount(order.getTotalAmount());
+        copy.setCreatedAt(order.getCreatedAt());
+        copy.setUpdatedAt(order.getUpdatedAt());
+        return copy;
+    }
+
+    public String validate(CreateOrderRequest request) {
+        if (request == null) {
+            return "order is required";
+        }
+        if (request.getCustomerId() == null) {
+            return "customerId is required";
+        }
+        if (request.getItems() == null || request.getItems().isEmpty()) {
+            return "at least one item is required";
+        }
+        for (int i = 0; i < request.getItems().size(); i++) {
+            OrderItem item = request.getItems().get(i);
+            if (item == null || item.getProductId() == null) {
+                return "items[" + i + "].productId is required";
+            }
+            if (item.getQuantity() <= 0) {
+                return "items[" + i + "].quantity must be positive";
+            }
+            if (item.getPrice() == null || item.getPrice().isNegative()) {
+                return "items[" + i + "].price must be present and not negative";
+            }
+        }
+        return null;
+    }
+
+    private Order newOrder(CreateOrderRequest request) {
+        return newOrder(TimeOrderedUuid.next(), request);
+    }
+
+    private Order newOrder(UUID orderId, CreateOrderRequest request) {
+        long totalMinorUnits = 0;
+        for (OrderItem item : request.getItems()) {
+            totalMinorUnits = Money.add(totalMinorUnits, Money.multiply(item.getPrice().getMinorUnits(), item.getQuantity()));
+        }
+
+        Order order = new Order();
+        order.setOrderId(orderId);
+        order.setCustomerId(request.getCustomerId());
+        order.setStatus(OrderStatus.PENDING);
+        order.setTotalAmount(Money.ofMinor(totalMinorUnits));
+        return order;
+    }
+
+    private OrderCreatedEvent orderCreatedEvent(Order order, CreateOrderRequest request) {
+        return new OrderCreatedEvent(
+                order.getOrderId(),
+                order.getCustomerId(),
+                request.getItems().stream()
+                        .map(item -> new OrderCreatedEvent.OrderItem(
+                                item.getProductId(),
+                                item.getQuantity(),
+                                item.getPrice()))
+                        .collect(Collectors.toList()),
+                order.getTotalAmount()
+        );
+    }
 }
@@ -0,0 +1,57 @@
+package com.adalbertosantos.order.application;
+
+import com.adalbertosantos.order.domain.OrderStatusChange;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Listeners run on their own virtual threads: a woken poll re-reads the order, and that read must not hold
+// up the group-commit writer or the Kafka listener that reported the change
+@Component
+public class OrderStatusNotifier {
+
+    private final ConcurrentHashMap<UUID, Set<Runnable>> listeners = new ConcurrentHashMap<>();
+    private final ExecutorService wakers = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("order-status-waker-", 0).factory());
+
+    public Runnable onNextChange(UUID orderId, Runnable listener) {
+        listeners.compute(orderId, (id, waiting) -> {
+            Set<Runnable> updated = waiting != null ? waiting : ConcurrentHashMap.newKeySet();
+            updated.add(listener);
+            return updated;
+        });
+        return () -> listeners.computeIfPresent(orderId, (id, waiting) -> {
+            waiting.remove(listener);
+            return waiting.isEmpty() ? null : waiting;
+        });
+    }
+
+    // Every status change is published as an OrderStatusChange, so pollers are woken once it is committed
+    // whether it came from the API or from the projector
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChange(OrderStatusChange change) {
+        notifyChanged(List.of(change.getOrderId()));
+    }
+
+    public void notifyChanged(Collection<UUID> orderIds) {
+        for (UUID orderId : orderIds) {
+            Set<Runnable> waiting = listeners.remove(orderId);
+            if (waiting != null) {
+                waiting.forEach(wakers::execute);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        wakers.shutdownNow();
+    }
+}
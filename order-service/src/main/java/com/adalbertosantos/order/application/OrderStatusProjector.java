@@ -0,0 +1,74 @@
+package com.adalbertosantos.order.application;
+
+import com.adalbertosantos.order.domain.OrderStatusChange;
+import com.adalbertosantos.order.domain.OrderStatusRepository;
+import com.adalbertosantos.order.domain.OrderStatusTransition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+@Service
+public class OrderStatusProjector {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderStatusProjector.class);
+
+    private final OrderStatusRepository orderStatusRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    public OrderStatusProjector(OrderStatusRepository orderStatusRepository,
+                                ApplicationEventPublisher eventPublisher,
+                                PlatformTransactionManager transactionManager) {
+        this.orderStatusRepository = orderStatusRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public void project(List<OrderStatusTransition> transitions) {
+        if (transitions.isEmpty()) {
+            return;
+        }
+
+        Collection<OrderStatusTransition> latest = latestPerOrder(transitions);
+        List<UUID> applied = transactionTemplate.execute(status -> orderStatusRepository.applyTransitions(latest));
+
+        // The published changes also evict the cached orders, through OrderCacheEvictor
+        if (applied != null && !applied.isEmpty()) {
+            publishChanges(latest, applied);
+        }
+
+        logger.info("Projected {} status events into {} order updates ({} applied)",
+            transitions.size(), latest.size(), applied == null ? 0 : applied.size());
+    }
+
+    private void publishChanges(Collection<OrderStatusTransition> latest, List<UUID> applied) {
+        Set<UUID> appliedIds = new HashSet<>(applied);
+        Map<UUID, UUID> customerIds = orderStatusRepository.findCustomerIds(appliedIds);
+        for (OrderStatusTransition transition : latest) {
+            if (appliedIds.contains(transition.getOrderId())) {
+                eventPublisher.publishEvent(new OrderStatusChange(transition.getOrderId(),
+                    customerIds.get(transition.getOrderId()), transition.getStatus(), transition.getOccurredAt()));
+            }
+        }
+    }
+
+    static Collection<OrderStatusTransition> latestPerOrder(List<OrderStatusTransition> transitions) {
+        Map<UUID, OrderStatusTransition> latest = new LinkedHashMap<>();
+        for (OrderStatusTransition transition : transitions) {
+            latest.merge(transition.getOrderId(), transition,
+                (current, candidate) -> candidate.getOccurredAt().isAfter(current.getOccurredAt()) ? candidate : current);
+        }
+        return latest.values();
+    }
+}
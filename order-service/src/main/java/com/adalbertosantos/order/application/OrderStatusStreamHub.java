@@ -0,0 +1,208 @@
+package com.adalbertosantos.order.application;
+
+import com.adalbertosantos.events.json.EventSerde;
+import com.adalbertosantos.order.domain.OrderStatusChange;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+@Component
+public class OrderStatusStreamHub {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderStatusStreamHub.class);
+    private static final String STATUS_EVENT = "order-status";
+
+    private final ConcurrentHashMap<UUID, Set<Subscriber>> orderSubscribers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, Set<Subscriber>> customerSubscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final ExecutorService dispatcher = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("order-status-stream-", 0).factory());
+    private final int maxConnections;
+    private final int maxPendingEvents;
+    private final long timeoutMs;
+
+    public OrderStatusStreamHub(@Value("${order.status-stream.max-connections:20000}") int maxConnections,
+                                @Value("${order.status-stream.max-pending-events:16}") int maxPendingEvents,
+                                @Value("${order.status-stream.timeout-ms:3600000}") long timeoutMs) {
+        this.maxConnections = maxConnections;
+        this.maxPendingEvents = maxPendingEvents;
+        this.timeoutMs = timeoutMs;
+    }
+
+    // The snapshot is read only once the subscriber is registered, so no change committed in between is
+    // missed, and it is skipped when a change at least as recent has already been queued
+    public Optional<SseEmitter> subscribeToOrder(UUID orderId, Supplier<OrderStatusChange> current) {
+        return subscribe(orderSubscribers, orderId).map(subscriber -> {
+            OrderStatusChange snapshot = current.get();
+            subscriber.offerSnapshot(snapshot.getChangedAt(), EventSerde.shared().write(snapshot));
+            return subscriber.emitter;
+        });
+    }
+
+    public Optional<SseEmitter> subscribeToCustomer(UUID customerId) {
+        // Nothing to replay for a customer, so flush a comment to commit the response headers right away
+        return subscribe(customerSubscribers, customerId).map(subscriber -> {
+            subscriber.heartbeat();
+            return subscriber.emitter;
+        });
+    }
+
+    public int getConnectionCount() {
+        return connections.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChange(OrderStatusChange change) {
+        Set<Subscriber> forOrder = orderSubscribers.get(change.getOrderId());
+        Set<Subscriber> forCustomer = change.getCustomerId() != null ? customerSubscribers.get(change.getCustomerId()) : null;
+        if (forOrder == null && forCustomer == null) {
+            return;
+        }
+        // Serialized once and shared by every subscriber instead of once per connection
+        byte[] json = EventSerde.shared().write(change);
+        publish(forOrder, change.getChangedAt(), json);
+        publish(forCustomer, change.getChangedAt(), json);
+    }
+
+    @Scheduled(fixedDelayString = "${order.status-stream.heartbeat-interval-ms:30000}")
+    public void heartbeat() {
+        orderSubscribers.values().forEach(subscribers -> subscribers.forEach(Subscriber::heartbeat));
+        customerSubscribers.values().forEach(subscribers -> subscribers.forEach(Subscriber::heartbeat));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+    }
+
+    private Optional<Subscriber> subscribe(ConcurrentHashMap<UUID, Set<Subscriber>> subscribers, UUID key) {
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            return Optional.empty();
+        }
+
+        Subscriber subscriber = new Subscriber(new SseEmitter(timeoutMs), subscribers, key);
+        subscribers.compute(key, (k, existing) -> {
+            Set<Subscriber> updated = existing != null ? existing : ConcurrentHashMap.newKeySet();
+            updated.add(subscriber);
+            return updated;
+        });
+
+        subscriber.emitter.onCompletion(subscriber::close);
+        subscriber.emitter.onTimeout(subscriber::close);
+        subscriber.emitter.onError(e -> subscriber.close());
+        return Optional.of(subscriber);
+    }
+
+    private void publish(Set<Subscriber> subscribers, Instant changedAt, byte[] json) {
+        if (subscribers != null) {
+            subscribers.forEach(subscriber -> subscriber.offer(changedAt, json));
+        }
+    }
+
+    private class Subscriber {
+        private final SseEmitter emitter;
+        // Bounded per connection: a slow client drops its oldest pending changes instead of buffering without limit
+        private final BlockingQueue<byte[]> pending = new ArrayBlockingQueue<>(maxPendingEvents);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final ConcurrentHashMap<UUID, Set<Subscriber>> registry;
+        private final UUID key;
+        private volatile boolean heartbeatDue;
+        private Instant lastChangedAt;
+
+        private Subscriber(SseEmitter emitter, ConcurrentHashMap<UUID, Set<Subscriber>> registry, UUID key) {
+            this.emitter = emitter;
+            this.registry = registry;
+            this.key = key;
+        }
+
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                pending.clear();
+                connections.decrementAndGet();
+                registry.computeIfPresent(key, (k, existing) -> {
+                    existing.remove(this);
+                    return existing.isEmpty() ? null : existing;
+                });
+            }
+        }
+
+        synchronized void offer(Instant changedAt, byte[] json) {
+            if (changedAt != null && (lastChangedAt == null || changedAt.isAfter(lastChangedAt))) {
+                lastChangedAt = changedAt;
+            }
+            enqueue(json);
+        }
+
+        synchronized void offerSnapshot(Instant changedAt, byte[] json) {
+            if (lastChangedAt != null && (changedAt == null || !changedAt.isAfter(lastChangedAt))) {
+                return;
+            }
+            offer(changedAt, json);
+        }
+
+        private void enqueue(byte[] json) {
+            if (closed.get()) {
+                return;
+            }
+            while (!pending.offer(json)) {
+                pending.poll();
+            }
+            scheduleDrain();
+        }
+
+        void heartbeat() {
+            heartbeatDue = true;
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (!closed.get() && draining.compareAndSet(false, true)) {
+                dispatcher.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                if (heartbeatDue) {
+                    heartbeatDue = false;
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+                byte[] json;
+                while ((json = pending.poll()) != null) {
+                    emitter.send(SseEmitter.event().name(STATUS_EVENT).data(json, MediaType.APPLICATION_JSON));
+                }
+            } catch (IOException | IllegalStateException e) {
+                logger.debug("Closing order status stream: {}", e.getMessage());
+                close();
+                emitter.completeWithError(e);
+            } finally {
+                draining.set(false);
+                if ((!pending.isEmpty() || heartbeatDue) && !closed.get()) {
+                    scheduleDrain();
+                }
+            }
+        }
+    }
+}
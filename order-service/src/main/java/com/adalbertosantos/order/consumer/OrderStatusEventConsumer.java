@@ -0,0 +1,100 @@
+package com.adalbertosantos.order.consumer;
+
+import com.adalbertosantos.events.codec.EventView;
+import com.adalbertosantos.events.inventory.InventoryRejectedEvent;
+import com.adalbertosantos.events.inventory.InventoryReservedEvent;
+import com.adalbertosantos.events.order.OrderFulfilledEvent;
+import com.adalbertosantos.events.payment.PaymentFailedEvent;
+import com.adalbertosantos.events.payment.PaymentSucceededEvent;
+import com.adalbertosantos.order.application.OrderStatusProjector;
+import com.adalbertosantos.order.domain.OrderStatus;
+import com.adalbertosantos.order.domain.OrderStatusTransition;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+public class OrderStatusEventConsumer {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderStatusEventConsumer.class);
+
+    private static final String PAYMENT_SUCCEEDED_TOPIC = "payment.succeeded";
+    private static final String PAYMENT_FAILED_TOPIC = "payment.failed";
+    private static final String INVENTORY_RESERVED_TOPIC = "inventory.reserved";
+    private static final String INVENTORY_REJECTED_TOPIC = "inventory.rejected";
+    private static final String ORDER_FULFILLED_TOPIC = "order.fulfilled";
+
+    private final OrderStatusProjector orderStatusProjector;
+
+    public OrderStatusEventConsumer(OrderStatusProjector orderStatusProjector) {
+        this.orderStatusProjector = orderStatusProjector;
+    }
+
+    @KafkaListener(
+        topics = {
+            PAYMENT_SUCCEEDED_TOPIC,
+            PAYMENT_FAILED_TOPIC,
+            INVENTORY_RESERVED_TOPIC,
+            INVENTORY_REJECTED_TOPIC,
+            ORDER_FULFILLED_TOPIC
+        },
+        groupId = "order-service-group",
+        containerFactory = "statusEventListenerContainerFactory"
+    )
+    public void consumeStatusEvents(List<ConsumerRecord<String, byte[]>> records, Acknowledgment acknowledgment) {
+        logger.debug("Received {} order status events", records.size());
+
+        List<OrderStatusTransition> transitions = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, byte[]> record : records) {
+            try {
+                transitions.add(toTransition(record));
+            } catch (Exception e) {
+                logger.error("Skipping unreadable status event - Topic: {}, Key: {}, Offset: {}",
+                    record.topic(), record.key(), record.offset(), e);
+            }
+        }
+
+        orderStatusProjector.project(transitions);
+        acknowledgment.acknowledge();
+    }
+
+    // Projection only needs orderId and timestamp, so the events are never fully decoded
+    private OrderStatusTransition toTransition(ConsumerRecord<String, byte[]> record) {
+        EventView event;
+        OrderStatus status;
+        switch (record.topic()) {
+            case PAYMENT_SUCCEEDED_TOPIC -> {
+                event = EventView.of(record.value(), PaymentSucceededEvent.class);
+                status = OrderStatus.PAYMENT_SUCCEEDED;
+            }
+            case PAYMENT_FAILED_TOPIC -> {
+                event = EventView.of(record.value(), PaymentFailedEvent.class);
+                status = OrderStatus.PAYMENT_FAILED;
+            }
+            case INVENTORY_RESERVED_TOPIC -> {
+                event = EventView.of(record.value(), InventoryReservedEvent.class);
+                status = OrderStatus.INVENTORY_RESERVED;
+            }
+            case INVENTORY_REJECTED_TOPIC -> {
+                event = EventView.of(record.value(), InventoryRejectedEvent.class);
+                status = OrderStatus.INVENTORY_REJECTED;
+            }
+            case ORDER_FULFILLED_TOPIC -> {
+                event = EventView.of(record.value(), OrderFulfilledEvent.class);
+                status = OrderStatus.FULFILLED;
+            }
+            default -> throw new IllegalArgumentException("Unexpected topic: " + record.topic());
+        }
+
+        Instant timestamp = event.getTimestamp();
+        Instant occurredAt = timestamp != null ? timestamp : Instant.ofEpochMilli(record.timestamp());
+        return new OrderStatusTransition(event.getOrderId(), status, occurredAt);
+    }
+}
@@ -0,0 +1,7 @@
+package com.adalbertosantos.order.domain;
+
+import java.util.List;
+
+public interface BulkOrderRepository {
+    void insertAll(List<Order> orders);
+}
@@ -0,0 +1,15 @@
+package com.adalbertosantos.order.domain;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface IdempotencyKeyRepository {
+    void claim(String key, String requestHash, Instant createdAt, Instant expiredBefore);
+
+    void complete(String key, UUID orderId);
+
+    Optional<IdempotencyRecord> find(String key, Instant expiredBefore);
+
+    int deleteCreatedBefore(Instant expiredBefore);
+}
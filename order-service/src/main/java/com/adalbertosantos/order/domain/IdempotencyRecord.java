@@ -0,0 +1,34 @@
+package com.adalbertosantos.order.domain;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public class IdempotencyRecord {
+    private final String key;
+    private final String requestHash;
+    private final UUID orderId;
+    private final Instant createdAt;
+
+    public IdempotencyRecord(String key, String requestHash, UUID orderId, Instant createdAt) {
+        this.key = key;
+        this.requestHash = requestHash;
+        this.orderId = orderId;
+        this.createdAt = createdAt;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getRequestHash() {
+        return requestHash;
+    }
+
+    public UUID getOrderId() {
+        return orderId;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -1,5 +1,7 @@
 package com.adalbertosantos.order.domain;
 
+import com.adalbertosantos.events.money.Money;
+import com.adalbertosantos.events.money.MoneyConverter;
 import jakarta.persistence.*;
 import java.time.Instant;
 import java.util.UUID;
@@ -19,8 +21,9 @@ public class Order {
     @Column(nullable = false)
     private OrderStatus status;
 
-    @Column(name = "total_amount", nullable = false)
-    private double totalAmount;
+    @Convert(converter = MoneyConverter.class)
+    @Column(name = "total_amount", nullable = false, precision = 10, scale = 2)
+    private Money totalAmount;
 
     @Column(name = "created_at", nullable = false)
     private Instant createdAt;
@@ -63,11 +66,11 @@ public class Order {
         this.status = status;
     }
 
-    public double getTotalAmount() {
+    public Money getTotalAmount() {
         return totalAmount;
     }
 
-    public void setTotalAmount(double totalAmount) {
+    public void setTotalAmount(Money totalAmount) {
         this.totalAmount = totalAmount;
     }
 
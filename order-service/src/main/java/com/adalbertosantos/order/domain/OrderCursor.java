@@ -0,0 +1,50 @@
+package com.adalbertosantos.order.domain;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+public class OrderCursor {
+    private final Instant createdAt;
+    private final UUID orderId;
+
+    public OrderCursor(Instant createdAt, UUID orderId) {
+        this.createdAt = createdAt;
+        this.orderId = orderId;
+    }
+
+    public static OrderCursor after(OrderSummary order) {
+        return new OrderCursor(order.getCreatedAt(), order.getOrderId());
+    }
+
+    public static OrderCursor decode(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Malformed order cursor");
+            }
+            return new OrderCursor(
+                Instant.parse(decoded.substring(0, separator)),
+                UUID.fromString(decoded.substring(separator + 1))
+            );
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Malformed order cursor", e);
+        }
+    }
+
+    public String encode() {
+        String raw = createdAt + "|" + orderId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public UUID getOrderId() {
+        return orderId;
+    }
+}
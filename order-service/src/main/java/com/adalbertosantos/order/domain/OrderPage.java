@@ -0,0 +1,21 @@
+package com.adalbertosantos.order.domain;
+
+import java.util.List;
+
+public class OrderPage {
+    private final List<OrderSummary> orders;
+    private final String nextCursor;
+
+    public OrderPage(List<OrderSummary> orders, String nextCursor) {
+        this.orders = orders;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<OrderSummary> getOrders() {
+        return orders;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
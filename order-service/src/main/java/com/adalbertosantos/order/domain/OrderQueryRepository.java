@@ -0,0 +1,9 @@
+package com.adalbertosantos.order.domain;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface OrderQueryRepository {
+    List<OrderSummary> findPage(OrderSearchCriteria criteria, OrderCursor after, int limit);
+    void streamAll(OrderSearchCriteria criteria, Consumer<OrderSummary> action);
+}
@@ -0,0 +1,34 @@
+package com.adalbertosantos.order.domain;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public class OrderSearchCriteria {
+    private final UUID customerId;
+    private final OrderStatus status;
+    private final Instant createdFrom;
+    private final Instant createdTo;
+
+    public OrderSearchCriteria(UUID customerId, OrderStatus status, Instant createdFrom, Instant createdTo) {
+        this.customerId = customerId;
+        this.status = status;
+        this.createdFrom = createdFrom;
+        this.createdTo = createdTo;
+    }
+
+    public UUID getCustomerId() {
+        return customerId;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public Instant getCreatedFrom() {
+        return createdFrom;
+    }
+
+    public Instant getCreatedTo() {
+        return createdTo;
+    }
+}
@@ -3,6 +3,7 @@ package com.adalbertosantos.order.domain;
 public enum OrderStatus {
     PENDING,
     PAYMENT_PROCESSING,
+    PAYMENT_SUCCEEDED,
     PAYMENT_FAILED,
     INVENTORY_RESERVED,
     INVENTORY_REJECTED,
@@ -0,0 +1,34 @@
+package com.adalbertosantos.order.domain;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public class OrderStatusChange {
+    private final UUID orderId;
+    private final UUID customerId;
+    private final OrderStatus status;
+    private final Instant changedAt;
+
+    public OrderStatusChange(UUID orderId, UUID customerId, OrderStatus status, Instant changedAt) {
+        this.orderId = orderId;
+        this.customerId = customerId;
+        this.status = status;
+        this.changedAt = changedAt;
+    }
+
+    public UUID getOrderId() {
+        return orderId;
+    }
+
+    public UUID getCustomerId() {
+        return customerId;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public Instant getChangedAt() {
+        return changedAt;
+    }
+}
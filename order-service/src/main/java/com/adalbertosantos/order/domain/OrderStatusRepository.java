@@ -0,0 +1,12 @@
+package com.adalbertosantos.order.domain;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public interface OrderStatusRepository {
+    List<UUID> applyTransitions(Collection<OrderStatusTransition> transitions);
+
+    Map<UUID, UUID> findCustomerIds(Collection<UUID> orderIds);
+}
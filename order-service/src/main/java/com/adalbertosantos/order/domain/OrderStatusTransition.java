@@ -0,0 +1,28 @@
+package com.adalbertosantos.order.domain;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public class OrderStatusTransition {
+    private final UUID orderId;
+    private final OrderStatus status;
+    private final Instant occurredAt;
+
+    public OrderStatusTransition(UUID orderId, OrderStatus status, Instant occurredAt) {
+        this.orderId = orderId;
+        this.status = status;
+        this.occurredAt = occurredAt;
+    }
+
+    public UUID getOrderId() {
+        return orderId;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+}
@@ -0,0 +1,48 @@
+package com.adalbertosantos.order.domain;
+
+import com.adalbertosantos.events.money.Money;
+import java.time.Instant;
+import java.util.UUID;
+
+public class OrderSummary {
+    private final UUID orderId;
+    private final UUID customerId;
+    private final OrderStatus status;
+    private final Money totalAmount;
+    private final Instant createdAt;
+    private final Instant updatedAt;
+
+    public OrderSummary(UUID orderId, UUID customerId, OrderStatus status, Money totalAmount,
+                        Instant createdAt, Instant updatedAt) {
+        this.orderId = orderId;
+        this.customerId = customerId;
+        this.status = status;
+        this.totalAmount = totalAmount;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    public UUID getOrderId() {
+        return orderId;
+    }
+
+    public UUID getCustomerId() {
+        return customerId;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public Money getTotalAmount() {
+        return totalAmount;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -1,42 +1,37 @@
 package com.adalbertosantos.order.infrastructure.config;
 
+import com.adalbertosantos.messaging.MessagingListenerConfigurer;
+import com.adalbertosantos.messaging.MessagingTopics;
 import org.apache.kafka.clients.admin.NewTopic;
-import org.apache.kafka.clients.producer.ProducerConfig;
-import org.apache.kafka.common.serialization.StringSerializer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.kafka.config.TopicBuilder;
-import org.springframework.kafka.core.DefaultKafkaProducerFactory;
-import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.kafka.core.ProducerFactory;
-
-import java.util.HashMap;
-import java.util.Map;
+import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 
 @Configuration
+@EnableKafka
 public class KafkaConfig {
 
-    @Value("${spring.kafka.bootstrap-servers}")
-    private String bootstrapServers;
-
-    @Bean
-    public ProducerFactory<String, String> producerFactory() {
-        Map<String, Object> configProps = new HashMap<>();
-        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
-        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        return new DefaultKafkaProducerFactory<>(configProps);
-    }
+    @Value("${order.status-events.max-poll-records:500}")
+    private int statusEventsMaxPollRecords;
 
     @Bean
-    public KafkaTemplate<String, String> kafkaTemplate() {
-        return new KafkaTemplate<>(producerFactory());
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> statusEventListenerContainerFactory(
+            MessagingListenerConfigurer configurer) {
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory =
+            new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory);
+        factory.setBatchListener(true);
+        factory.getContainerProperties().getKafkaConsumerProperties()
+            .setProperty(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, String.valueOf(statusEventsMaxPollRecords));
+        return factory;
     }
 
     @Bean
-    public NewTopic orderCreatedTopic() {
-        return TopicBuilder.name("order.created")
+    public NewTopic orderCreatedTopic(MessagingTopics topics) {
+        return topics.topic("order.created")
                 .partitions(3)
                 .replicas(1)
                 .build();
@@ -1,12 +1,18 @@
 package com.adalbertosantos.order.infrastructure.messaging;
 
+import com.adalbertosantos.events.codec.BinaryEventCodec;
 import com.adalbertosantos.events.order.OrderCreatedEvent;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.adalbertosantos.order.infrastructure.persistence.JdbcOutboxWriter;
+import com.adalbertosantos.order.infrastructure.persistence.OutboxEvent;
+import com.adalbertosantos.order.infrastructure.persistence.OutboxEventRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
 
 @Component
 public class OrderEventProducer {
@@ -14,22 +20,30 @@ public class OrderEventProducer {
     private static final Logger logger = LoggerFactory.getLogger(OrderEventProducer.class);
     private static final String ORDER_CREATED_TOPIC = "order.created";
 
-    private final KafkaTemplate<String, String> kafkaTemplate;
-    private final ObjectMapper objectMapper;
+    private final OutboxEventRepository outboxEventRepository;
+    private final JdbcOutboxWriter outboxWriter;
 
-    public OrderEventProducer(KafkaTemplate<String, String> kafkaTemplate, ObjectMapper objectMapper) {
-        this.kafkaTemplate = kafkaTemplate;
-        this.objectMapper = objectMapper;
+    public OrderEventProducer(OutboxEventRepository outboxEventRepository,
+                              JdbcOutboxWriter outboxWriter) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxWriter = outboxWriter;
     }
 
+    @Transactional(propagation = Propagation.MANDATORY)
     public void sendOrderCreatedEvent(OrderCreatedEvent event) {
-        try {
-            String message = objectMapper.writeValueAsString(event);
-            kafkaTemplate.send(ORDER_CREATED_TOPIC, event.getOrderId().toString(), message);
-            logger.info("Sent OrderCreatedEvent for order: {}", event.getOrderId());
-        } catch (JsonProcessingException e) {
-            logger.error("Failed to serialize OrderCreatedEvent", e);
-            throw new RuntimeException("Failed to send order created event", e);
+        byte[] message = BinaryEventCodec.encode(event);
+        outboxEventRepository.save(new OutboxEvent(ORDER_CREATED_TOPIC, event.orderId().toString(), message));
+        logger.info("Queued OrderCreatedEvent in outbox for order: {}", event.orderId());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void sendOrderCreatedEvents(List<OrderCreatedEvent> events) {
+        List<OutboxEvent> outboxEvents = new ArrayList<>(events.size());
+        for (OrderCreatedEvent event : events) {
+            byte[] message = BinaryEventCodec.encode(event);
+            outboxEvents.add(new OutboxEvent(ORDER_CREATED_TOPIC, event.orderId().toString(), message));
         }
+        outboxWriter.appendAll(outboxEvents);
+        logger.info("Queued {} OrderCreatedEvents in outbox", events.size());
     }
 }
@@ -0,0 +1,148 @@
+package com.adalbertosantos.order.infrastructure.messaging;
+
+import com.adalbertosantos.events.envelope.EventEnvelope;
+import com.adalbertosantos.events.id.TimeOrderedUuid;
+import com.adalbertosantos.order.infrastructure.persistence.OutboxEvent;
+import com.adalbertosantos.order.infrastructure.persistence.OutboxEventRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Claims a batch in one short transaction, sends it with no transaction or row lock held, and deletes what
+// the broker acknowledged in a second one. Unacknowledged rows are claimed again once their claim lapses.
+// Runs on its own thread, since draining a backlog would otherwise hold up the shared scheduler.
+@Component
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("outbox-relay").factory());
+    private final String producerName;
+    private final int batchSize;
+    private final long intervalMs;
+    private final long sendTimeoutMs;
+    private final Duration claimTimeout;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       KafkaTemplate<String, Object> kafkaTemplate,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${spring.application.name:order-service}") String producerName,
+                       @Value("${order.outbox.relay.batch-size:500}") int batchSize,
+                       @Value("${order.outbox.relay.interval-ms:100}") long intervalMs,
+                       @Value("${order.outbox.relay.send-timeout-ms:10000}") long sendTimeoutMs,
+                       @Value("${order.outbox.relay.claim-timeout:30s}") Duration claimTimeout) {
+        if (claimTimeout.toMillis() <= sendTimeoutMs) {
+            throw new IllegalArgumentException("order.outbox.relay.claim-timeout must exceed send-timeout-ms");
+        }
+        this.outboxEventRepository = outboxEventRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.producerName = producerName;
+        this.batchSize = batchSize;
+        this.intervalMs = intervalMs;
+        this.sendTimeoutMs = sendTimeoutMs;
+        this.claimTimeout = claimTimeout;
+    }
+
+    @PostConstruct
+    public void start() {
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                relay();
+            } catch (RuntimeException e) {
+                logger.warn("Outbox relay run failed: {}", e.getMessage());
+            }
+        }, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    public void relay() {
+        int relayed;
+        do {
+            relayed = relayBatch();
+        } while (relayed == batchSize);
+    }
+
+    int relayBatch() {
+        List<OutboxEvent> batch = transactionTemplate.execute(status -> claimNextBatch());
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<SendResult<String, Object>>> sends = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            try {
+                sends.add(kafkaTemplate.send(toRecord(event)));
+            } catch (Exception e) {
+                logger.warn("Outbox relay stopped sending at event {}: {}", event.getId(), e.getMessage());
+                break;
+            }
+        }
+
+        List<Long> acked = new ArrayList<>(sends.size());
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        for (int i = 0; i < sends.size(); i++) {
+            OutboxEvent event = batch.get(i);
+            try {
+                sends.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                acked.add(event.getId());
+            } catch (ExecutionException | TimeoutException e) {
+                logger.warn("Outbox event {} not acknowledged, will retry: {}", event.getId(), e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        if (!acked.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> outboxEventRepository.deleteAllByIdInBatch(acked));
+            logger.debug("Relayed {} outbox events", acked.size());
+        }
+        return acked.size();
+    }
+
+    private List<OutboxEvent> claimNextBatch() {
+        Instant now = Instant.now();
+        List<OutboxEvent> batch = outboxEventRepository.lockNextBatch(now, PageRequest.of(0, batchSize));
+        if (!batch.isEmpty()) {
+            outboxEventRepository.claim(batch.stream().map(OutboxEvent::getId).toList(), now.plus(claimTimeout));
+        }
+        return batch;
+    }
+
+    private ProducerRecord<String, Object> toRecord(OutboxEvent event) {
+        // Rows written before event ids were stored get a fresh one
+        UUID eventId = event.getEventId() != null ? event.getEventId() : TimeOrderedUuid.next();
+        return EventEnvelope.forPayload(event.getPayload(), eventId, producerName, event.getCreatedAt())
+            .toRecord(event.getTopic(), event.getEventKey(), event.getPayload());
+    }
+}
@@ -0,0 +1,47 @@
+package com.adalbertosantos.order.infrastructure.persistence;
+
+import com.adalbertosantos.order.domain.BulkOrderRepository;
+import com.adalbertosantos.order.domain.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+@Repository
+public class JdbcBulkOrderRepository implements BulkOrderRepository {
+
+    private static final String INSERT_ORDER =
+        "INSERT INTO orders (order_id, customer_id, status, total_amount, created_at, updated_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcBulkOrderRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertAll(List<Order> orders) {
+        Instant now = Instant.now();
+        Timestamp timestamp = Timestamp.from(now);
+
+        List<Object[]> batchArgs = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            order.setCreatedAt(now);
+            order.setUpdatedAt(now);
+            batchArgs.add(new Object[] {
+                order.getOrderId(),
+                order.getCustomerId(),
+                order.getStatus().name(),
+                order.getTotalAmount().toBigDecimal(),
+                timestamp,
+                timestamp
+            });
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_ORDER, batchArgs);
+    }
+}
@@ -0,0 +1,69 @@
+package com.adalbertosantos.order.infrastructure.persistence;
+
+import com.adalbertosantos.order.domain.IdempotencyKeyRepository;
+import com.adalbertosantos.order.domain.IdempotencyRecord;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public class JdbcIdempotencyKeyRepository implements IdempotencyKeyRepository {
+
+    private static final String DELETE_EXPIRED_KEY =
+        "DELETE FROM order_idempotency_keys WHERE idempotency_key = ? AND created_at < ?";
+
+    // A concurrent request holding the same key blocks here until the holder commits, then fails on the primary key
+    private static final String INSERT_KEY =
+        "INSERT INTO order_idempotency_keys (idempotency_key, request_hash, created_at) VALUES (?, ?, ?)";
+
+    private static final String COMPLETE_KEY =
+        "UPDATE order_idempotency_keys SET order_id = ? WHERE idempotency_key = ?";
+
+    private static final String SELECT_KEY =
+        "SELECT idempotency_key, request_hash, order_id, created_at FROM order_idempotency_keys " +
+        "WHERE idempotency_key = ? AND created_at >= ?";
+
+    private static final String DELETE_EXPIRED_KEYS =
+        "DELETE FROM order_idempotency_keys WHERE created_at < ?";
+
+    private static final RowMapper<IdempotencyRecord> RECORD_MAPPER = (rs, rowNum) -> new IdempotencyRecord(
+        rs.getString("idempotency_key"),
+        rs.getString("request_hash"),
+        rs.getObject("order_id", UUID.class),
+        rs.getTimestamp("created_at").toInstant()
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcIdempotencyKeyRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void claim(String key, String requestHash, Instant createdAt, Instant expiredBefore) {
+        jdbcTemplate.update(DELETE_EXPIRED_KEY, key, Timestamp.from(expiredBefore));
+        jdbcTemplate.update(INSERT_KEY, key, requestHash, Timestamp.from(createdAt));
+    }
+
+    @Override
+    public void complete(String key, UUID orderId) {
+        jdbcTemplate.update(COMPLETE_KEY, orderId, key);
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> find(String key, Instant expiredBefore) {
+        return jdbcTemplate.query(SELECT_KEY, RECORD_MAPPER, key, Timestamp.from(expiredBefore))
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public int deleteCreatedBefore(Instant expiredBefore) {
+        return jdbcTemplate.update(DELETE_EXPIRED_KEYS, Timestamp.from(expiredBefore));
+    }
+}
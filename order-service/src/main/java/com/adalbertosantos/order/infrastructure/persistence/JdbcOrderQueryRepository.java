@@ -0,0 +1,101 @@
+package com.adalbertosantos.order.infrastructure.persistence;
+
+import com.adalbertosantos.events.money.Money;
+import com.adalbertosantos.order.domain.OrderCursor;
+import com.adalbertosantos.order.domain.OrderQueryRepository;
+import com.adalbertosantos.order.domain.OrderSearchCriteria;
+import com.adalbertosantos.order.domain.OrderStatus;
+import com.adalbertosantos.order.domain.OrderSummary;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+@Repository
+public class JdbcOrderQueryRepository implements OrderQueryRepository {
+
+    private static final String SELECT_SUMMARY =
+        "SELECT order_id, customer_id, status, total_amount, created_at, updated_at FROM orders";
+
+    static final RowMapper<OrderSummary> SUMMARY_MAPPER = (rs, rowNum) -> new OrderSummary(
+        rs.getObject("order_id", UUID.class),
+        rs.getObject("customer_id", UUID.class),
+        OrderStatus.valueOf(rs.getString("status")),
+        Money.of(rs.getBigDecimal("total_amount")),
+        rs.getTimestamp("created_at").toInstant(),
+        rs.getTimestamp("updated_at").toInstant()
+    );
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate streamingJdbcTemplate;
+
+    public JdbcOrderQueryRepository(NamedParameterJdbcTemplate jdbcTemplate,
+                                    DataSource dataSource,
+                                    @Value("${order.export.fetch-size:1000}") int exportFetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        JdbcTemplate streaming = new JdbcTemplate(dataSource);
+        streaming.setFetchSize(exportFetchSize);
+        this.streamingJdbcTemplate = new NamedParameterJdbcTemplate(streaming);
+    }
+
+    @Override
+    public List<OrderSummary> findPage(OrderSearchCriteria criteria, OrderCursor after, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        List<String> conditions = filterConditions(criteria, params);
+
+        if (after != null) {
+            conditions.add("(created_at, order_id) < (:afterCreatedAt, :afterOrderId)");
+            params.addValue("afterCreatedAt", Timestamp.from(after.getCreatedAt()));
+            params.addValue("afterOrderId", after.getOrderId());
+        }
+
+        String sql = SELECT_SUMMARY + where(conditions) + " ORDER BY created_at DESC, order_id DESC LIMIT :limit";
+        params.addValue("limit", limit);
+
+        return jdbcTemplate.query(sql, params, SUMMARY_MAPPER);
+    }
+
+    @Override
+    public void streamAll(OrderSearchCriteria criteria, Consumer<OrderSummary> action) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql = SELECT_SUMMARY + where(filterConditions(criteria, params)) + " ORDER BY created_at, order_id";
+
+        streamingJdbcTemplate.query(sql, params, rs -> {
+            action.accept(SUMMARY_MAPPER.mapRow(rs, 0));
+        });
+    }
+
+    static List<String> filterConditions(OrderSearchCriteria criteria, MapSqlParameterSource params) {
+        List<String> conditions = new ArrayList<>();
+        if (criteria.getCustomerId() != null) {
+            conditions.add("customer_id = :customerId");
+            params.addValue("customerId", criteria.getCustomerId());
+        }
+        if (criteria.getStatus() != null) {
+            conditions.add("status = :status");
+            params.addValue("status", criteria.getStatus().name());
+        }
+        if (criteria.getCreatedFrom() != null) {
+            conditions.add("created_at >= :createdFrom");
+            params.addValue("createdFrom", Timestamp.from(criteria.getCreatedFrom()));
+        }
+        if (criteria.getCreatedTo() != null) {
+            conditions.add("created_at < :createdTo");
+            params.addValue("createdTo", Timestamp.from(criteria.getCreatedTo()));
+        }
+        return conditions;
+    }
+
+    static String where(List<String> conditions) {
+        return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+    }
+}
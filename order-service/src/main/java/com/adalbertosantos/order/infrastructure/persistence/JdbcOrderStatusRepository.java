@@ -0,0 +1,74 @@
+package com.adalbertosantos.order.infrastructure.persistence;
+
+import com.adalbertosantos.order.domain.OrderStatus;
+import com.adalbertosantos.order.domain.OrderStatusRepository;
+import com.adalbertosantos.order.domain.OrderStatusTransition;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Repository
+public class JdbcOrderStatusRepository implements OrderStatusRepository {
+
+    // Transitions older than the last applied one, or for cancelled orders, match no row and are dropped
+    private static final String APPLY_TRANSITION =
+        "UPDATE orders SET status = ?, status_updated_at = ?, updated_at = ? " +
+        "WHERE order_id = ? AND status <> '" + OrderStatus.CANCELLED.name() + "' " +
+        "AND (status_updated_at IS NULL OR status_updated_at < ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcOrderStatusRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<UUID> applyTransitions(Collection<OrderStatusTransition> transitions) {
+        List<OrderStatusTransition> ordered = new ArrayList<>(transitions);
+        Timestamp now = Timestamp.from(Instant.now());
+
+        List<Object[]> batchArgs = new ArrayList<>(ordered.size());
+        for (OrderStatusTransition transition : ordered) {
+            Timestamp occurredAt = Timestamp.from(transition.getOccurredAt());
+            batchArgs.add(new Object[] {
+                transition.getStatus().name(), occurredAt, now, transition.getOrderId(), occurredAt
+            });
+        }
+
+        int[] updateCounts = jdbcTemplate.batchUpdate(APPLY_TRANSITION, batchArgs);
+
+        List<UUID> applied = new ArrayList<>();
+        for (int i = 0; i < updateCounts.length; i++) {
+            if (updateCounts[i] > 0) {
+                applied.add(ordered.get(i).getOrderId());
+            }
+        }
+        return applied;
+    }
+
+    @Override
+    public Map<UUID, UUID> findCustomerIds(Collection<UUID> orderIds) {
+        if (orderIds.isEmpty()) {
+            return Map.of();
+        }
+
+        String placeholders = String.join(", ", Collections.nCopies(orderIds.size(), "?"));
+        Map<UUID, UUID> customerIds = new HashMap<>();
+        jdbcTemplate.query(
+            "SELECT order_id, customer_id FROM orders WHERE order_id IN (" + placeholders + ")",
+            rs -> {
+                customerIds.put(rs.getObject("order_id", UUID.class), rs.getObject("customer_id", UUID.class));
+            },
+            orderIds.toArray());
+        return customerIds;
+    }
+}
@@ -0,0 +1,33 @@
+package com.adalbertosantos.order.infrastructure.persistence;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+@Repository
+public class JdbcOutboxWriter {
+
+    private static final String INSERT_OUTBOX_EVENT =
+        "INSERT INTO order_outbox (topic, event_key, event_id, payload, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcOutboxWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void appendAll(List<OutboxEvent> events) {
+        Timestamp now = Timestamp.from(Instant.now());
+
+        List<Object[]> batchArgs = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            batchArgs.add(new Object[] {event.getTopic(), event.getEventKey(), event.getEventId(), event.getPayload(), now});
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_OUTBOX_EVENT, batchArgs);
+    }
+}
@@ -0,0 +1,76 @@
+package com.adalbertosantos.order.infrastructure.persistence;
+
+import com.adalbertosantos.events.id.TimeOrderedUuid;
+import jakarta.persistence.*;
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(name = "order_outbox")
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String topic;
+
+    @Column(name = "event_key", nullable = false)
+    private String eventKey;
+
+    @Column(name = "event_id")
+    private UUID eventId;
+
+    @Column(nullable = false)
+    private byte[] payload;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "claimed_until")
+    private Instant claimedUntil;
+
+    public OutboxEvent() {
+    }
+
+    public OutboxEvent(String topic, String eventKey, byte[] payload) {
+        this.topic = topic;
+        this.eventKey = eventKey;
+        this.eventId = TimeOrderedUuid.next();
+        this.payload = payload;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = Instant.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public String getEventKey() {
+        return eventKey;
+    }
+
+    public UUID getEventId() {
+        return eventId;
+    }
+
+    public byte[] getPayload() {
+        return payload;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getClaimedUntil() {
+        return claimedUntil;
+    }
+}
@@ -0,0 +1,30 @@
+package com.adalbertosantos.order.infrastructure.persistence;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // lock.timeout -2 renders as SKIP LOCKED so concurrent relays claim disjoint batches
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM OutboxEvent e WHERE e.claimedUntil IS NULL OR e.claimedUntil < :now ORDER BY e.id")
+    List<OutboxEvent> lockNextBatch(@Param("now") Instant now, Pageable pageable);
+
+    // Rows stay claimed until the relay deletes them or the claim lapses, so no row lock is held while sending
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.claimedUntil = :claimedUntil WHERE e.id IN :ids")
+    int claim(@Param("ids") List<Long> ids, @Param("claimedUntil") Instant claimedUntil);
+}
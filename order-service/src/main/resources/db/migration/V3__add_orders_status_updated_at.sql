@@ -0,0 +1 @@
+ALTER TABLE orders ADD COLUMN status_updated_at TIMESTAMP;
@@ -0,0 +1,8 @@
+CREATE TABLE order_idempotency_keys (
+    idempotency_key VARCHAR(255) PRIMARY KEY,
+    request_hash VARCHAR(64) NOT NULL,
+    order_id UUID,
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_order_idempotency_keys_created_at ON order_idempotency_keys (created_at);
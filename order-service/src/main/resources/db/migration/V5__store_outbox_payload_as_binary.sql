@@ -0,0 +1,3 @@
+-- Outbox payloads are binary-encoded events from here on; the relay must have drained the outbox first
+ALTER TABLE order_outbox DROP COLUMN payload;
+ALTER TABLE order_outbox ADD COLUMN payload VARBINARY NOT NULL;
@@ -0,0 +1 @@
+ALTER TABLE order_outbox ADD COLUMN event_id UUID;
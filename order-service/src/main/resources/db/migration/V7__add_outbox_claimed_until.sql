@@ -0,0 +1 @@
+ALTER TABLE order_outbox ADD COLUMN claimed_until TIMESTAMP;
@@ -0,0 +1,73 @@
+package com.adalbertosantos.order;
+
+import com.adalbertosantos.order.api.OrderController.CreateOrderRequest;
+import com.adalbertosantos.order.application.AsyncOrderSubmitter;
+import com.adalbertosantos.order.application.OrderService;
+import com.adalbertosantos.order.application.OrderStatusNotifier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncOrderSubmitterTest {
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private OrderStatusNotifier statusNotifier;
+
+    private AsyncOrderSubmitter submitter;
+
+    @BeforeEach
+    void setUp() {
+        submitter = new AsyncOrderSubmitter(orderService, statusNotifier, 3, 10, Duration.ofHours(1));
+    }
+
+    @Test
+    void testBufferedOrdersAreGroupCommittedInOneBatch() throws InterruptedException {
+        UUID first = submitter.submit(new CreateOrderRequest()).orElseThrow();
+        UUID second = submitter.submit(new CreateOrderRequest()).orElseThrow();
+        UUID third = submitter.submit(new CreateOrderRequest()).orElseThrow();
+
+        assertTrue(submitter.submit(new CreateOrderRequest()).isEmpty());
+        assertTrue(submitter.isPending(first));
+
+        int written = submitter.writeNextBatch(0, TimeUnit.MILLISECONDS);
+
+        assertEquals(3, written);
+        verify(orderService).createAcceptedOrders(argThat(batch ->
+            batch.keySet().stream().toList().equals(List.of(first, second, third))));
+        verify(statusNotifier).notifyChanged(List.of(first, second, third));
+        assertFalse(submitter.isPending(first));
+        assertEquals(0, submitter.writeNextBatch(0, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void testFailedGroupCommitIsRetriedPerOrderAndFailuresAreReported() throws InterruptedException {
+        UUID good = submitter.submit(new CreateOrderRequest()).orElseThrow();
+        UUID bad = submitter.submit(new CreateOrderRequest()).orElseThrow();
+        doThrow(new IllegalStateException("constraint violated"))
+            .when(orderService).createAcceptedOrders(argThat((Map<UUID, CreateOrderRequest> batch) -> batch.containsKey(bad)));
+
+        submitter.writeNextBatch(0, TimeUnit.MILLISECONDS);
+
+        verify(orderService).createAcceptedOrders(argThat(batch -> batch.keySet().equals(Set.of(good))));
+        assertTrue(submitter.failure(good).isEmpty());
+        assertEquals("constraint violated", submitter.failure(bad).orElseThrow());
+        assertFalse(submitter.isPending(bad));
+    }
+}
@@ -0,0 +1,112 @@
+package com.adalbertosantos.order;
+
+import com.adalbertosantos.order.api.OrderController.CreateOrderRequest;
+import com.adalbertosantos.order.application.IdempotentOrderService;
+import com.adalbertosantos.order.application.IdempotentOrderService.Outcome;
+import com.adalbertosantos.order.application.IdempotentOrderService.Result;
+import com.adalbertosantos.order.application.OrderService;
+import com.adalbertosantos.order.domain.IdempotencyKeyRepository;
+import com.adalbertosantos.order.domain.IdempotencyRecord;
+import com.adalbertosantos.order.domain.Order;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotentOrderServiceTest {
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private IdempotentOrderService idempotentOrderService;
+
+    @BeforeEach
+    void setUp() {
+        idempotentOrderService = new IdempotentOrderService(orderService, idempotencyKeyRepository,
+                new ObjectMapper(), transactionManager, Duration.ofHours(24), 100);
+    }
+
+    @Test
+    void testRetryWithSameKeyIsServedFromMemoryWithoutCreatingAgain() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        CreateOrderRequest request = request();
+        Order order = order();
+        when(orderService.createOrder(request)).thenReturn(order);
+        when(orderService.getOrder(order.getOrderId())).thenReturn(Optional.of(order));
+
+        Result first = idempotentOrderService.createOrder("key-1", request);
+        Result retry = idempotentOrderService.createOrder("key-1", request);
+
+        assertEquals(Outcome.CREATED, first.getOutcome());
+        assertEquals(Outcome.REPLAYED, retry.getOutcome());
+        assertSame(order, retry.getOrder());
+        verify(orderService, times(1)).createOrder(request);
+        verify(idempotencyKeyRepository).complete("key-1", order.getOrderId());
+        verify(idempotencyKeyRepository, times(1)).find(eq("key-1"), any());
+    }
+
+    @Test
+    void testConcurrentClaimReplaysWinnerAndRejectsDifferentPayload() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        CreateOrderRequest request = request();
+        Order order = order();
+        ArgumentCaptor<String> requestHash = ArgumentCaptor.forClass(String.class);
+        doThrow(new DuplicateKeyException("duplicate"))
+                .when(idempotencyKeyRepository).claim(eq("key-2"), requestHash.capture(), any(), any());
+        when(idempotencyKeyRepository.find(eq("key-2"), any()))
+                .thenReturn(Optional.empty())
+                .thenAnswer(invocation -> Optional.of(
+                        new IdempotencyRecord("key-2", requestHash.getValue(), order.getOrderId(), Instant.now())));
+        when(orderService.getOrder(order.getOrderId())).thenReturn(Optional.of(order));
+
+        Result result = idempotentOrderService.createOrder("key-2", request);
+
+        CreateOrderRequest different = request();
+        Result reused = idempotentOrderService.createOrder("key-2", different);
+
+        assertEquals(Outcome.REPLAYED, result.getOutcome());
+        assertSame(order, result.getOrder());
+        assertEquals(Outcome.KEY_REUSED, reused.getOutcome());
+        verify(orderService, never()).createOrder(any());
+        verify(idempotencyKeyRepository, never()).complete(anyString(), any());
+    }
+
+    private CreateOrderRequest request() {
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setCustomerId(UUID.randomUUID());
+        request.setItems(List.of());
+        return request;
+    }
+
+    private Order order() {
+        Order order = new Order();
+        order.setOrderId(UUID.randomUUID());
+        return order;
+    }
+}
@@ -0,0 +1,131 @@
+package com.adalbertosantos.order;
+
+import com.adalbertosantos.events.money.Money;
+import com.adalbertosantos.order.application.OrderCacheEvictor;
+import com.adalbertosantos.order.application.OrderService;
+import com.adalbertosantos.order.domain.BulkOrderRepository;
+import com.adalbertosantos.order.domain.Order;
+import com.adalbertosantos.order.domain.OrderQueryRepository;
+import com.adalbertosantos.order.domain.OrderRepository;
+import com.adalbertosantos.order.domain.OrderStatus;
+import com.adalbertosantos.order.infrastructure.messaging.OrderEventProducer;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class OrderCacheTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(CacheConfig.class);
+
+    @Test
+    void testRepeatedReadsAreServedFromTheCache() {
+        contextRunner.run(context -> {
+            OrderService orderService = context.getBean(OrderService.class);
+            OrderRepository orderRepository = context.getBean(OrderRepository.class);
+            Order order = order(OrderStatus.PENDING);
+            when(orderRepository.findById(order.getOrderId())).thenReturn(Optional.of(order));
+
+            Order first = orderService.getOrder(order.getOrderId()).orElseThrow();
+            Order second = orderService.getOrder(order.getOrderId()).orElseThrow();
+
+            assertSame(first, second);
+            verify(orderRepository, times(1)).findById(order.getOrderId());
+        });
+    }
+
+    @Test
+    void testCachesADetachedCopyRatherThanTheEntity() {
+        contextRunner.run(context -> {
+            OrderService orderService = context.getBean(OrderService.class);
+            OrderRepository orderRepository = context.getBean(OrderRepository.class);
+            Order entity = order(OrderStatus.PENDING);
+            when(orderRepository.findById(entity.getOrderId())).thenReturn(Optional.of(entity));
+
+            orderService.getOrder(entity.getOrderId());
+            entity.setStatus(OrderStatus.PAYMENT_PROCESSING);
+
+            // Spring unwraps the Optional before caching
+            Order copy = context.getBean(CacheManager.class).getCache(OrderService.ORDERS_CACHE)
+                    .get(entity.getOrderId(), Order.class);
+            assertNotNull(copy);
+            assertNotSame(entity, copy);
+            assertEquals(OrderStatus.PENDING, copy.getStatus());
+            assertEquals(entity.getTotalAmount(), copy.getTotalAmount());
+            assertEquals(entity.getUpdatedAt(), copy.getUpdatedAt());
+        });
+    }
+
+    @Test
+    void testCancellingEvictsTheCachedOrder() {
+        contextRunner.run(context -> {
+            OrderService orderService = context.getBean(OrderService.class);
+            OrderRepository orderRepository = context.getBean(OrderRepository.class);
+            Order order = order(OrderStatus.PENDING);
+            when(orderRepository.findById(order.getOrderId())).thenReturn(Optional.of(order));
+            when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+            assertEquals(OrderStatus.PENDING, orderService.getOrder(order.getOrderId()).orElseThrow().getStatus());
+            orderService.cancelOrder(order.getOrderId());
+
+            assertNull(context.getBean(CacheManager.class).getCache(OrderService.ORDERS_CACHE).get(order.getOrderId()));
+            assertEquals(OrderStatus.CANCELLED, orderService.getOrder(order.getOrderId()).orElseThrow().getStatus());
+        });
+    }
+
+    private static Order order(OrderStatus status) {
+        Order order = new Order();
+        order.setOrderId(UUID.randomUUID());
+        order.setCustomerId(UUID.randomUUID());
+        order.setStatus(status);
+        order.setTotalAmount(Money.parse("25.00"));
+        order.setCreatedAt(Instant.parse("2026-01-01T00:00:00Z"));
+        order.setUpdatedAt(Instant.parse("2026-01-01T00:00:00Z"));
+        return order;
+    }
+
+    // No transaction manager, so the status change listeners run as the change is published
+    @Configuration
+    @EnableCaching
+    @Import({OrderService.class, OrderCacheEvictor.class})
+    static class CacheConfig {
+
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager(OrderService.ORDERS_CACHE);
+        }
+
+        @Bean
+        OrderRepository orderRepository() {
+            return mock(OrderRepository.class);
+        }
+
+        @Bean
+        OrderQueryRepository orderQueryRepository() {
+            return mock(OrderQueryRepository.class);
+        }
+
+        @Bean
+        BulkOrderRepository bulkOrderRepository() {
+            return mock(BulkOrderRepository.class);
+        }
+
+        @Bean
+        OrderEventProducer orderEventProducer() {
+            return mock(OrderEventProducer.class);
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.adalbertosantos.order;
 
+import com.adalbertosantos.events.money.Money;
 import com.adalbertosantos.order.api.OrderController.CreateOrderRequest;
 import com.adalbertosantos.order.api.OrderController.OrderItem;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,14 +11,16 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.List;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@SpringBootTest
+@SpringBootTest(properties = "messaging.schema-registry.enabled=false")
 @AutoConfigureMockMvc
 class OrderIntegrationTest {
 
@@ -34,7 +38,7 @@ class OrderIntegrationTest {
         OrderItem item = new OrderItem();
         item.setProductId(UUID.randomUUID());
         item.setQuantity(1);
-        item.setPrice(99.99);
+        item.setPrice(Money.parse("99.99"));
         request.setItems(List.of(item));
 
         mockMvc.perform(post("/api/orders")
@@ -52,4 +56,93 @@ class OrderIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON));
     }
+
+    @Test
+    void testItemWithoutAPriceIsRejectedWithItsReason() throws Exception {
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setCustomerId(UUID.randomUUID());
+        OrderItem item = new OrderItem();
+        item.setProductId(UUID.randomUUID());
+        item.setQuantity(1);
+        request.setItems(List.of(item));
+        String body = objectMapper.writeValueAsString(request);
+
+        mockMvc.perform(post("/api/orders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("items[0].price must be present and not negative"));
+        mockMvc.perform(post("/api/orders")
+                .header("Idempotency-Key", UUID.randomUUID().toString())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testCancelWakesAWaitingStatusPoll() throws Exception {
+        String orderId = createOrder(UUID.randomUUID());
+
+        MvcResult poll = mockMvc.perform(get("/api/orders/{orderId}/status", orderId)
+                .param("since", "PENDING")
+                .param("waitMs", "10000"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(put("/api/orders/{orderId}/cancel", orderId))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(asyncDispatch(poll))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CANCELLED"));
+    }
+
+    @Test
+    void testExportStreamsMatchingOrdersAsNdjson() throws Exception {
+        UUID customerId = UUID.randomUUID();
+        String first = createOrder(customerId);
+        String cancelled = createOrder(customerId);
+        String last = createOrder(customerId);
+        createOrder(UUID.randomUUID());
+        mockMvc.perform(put("/api/orders/{orderId}/cancel", cancelled))
+                .andExpect(status().isOk());
+
+        MvcResult export = mockMvc.perform(get("/api/orders/export")
+                .param("customerId", customerId.toString())
+                .param("status", "PENDING"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(export))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertTrue(body.endsWith("\n"));
+        assertEquals(2, lines.length);
+        JsonNode firstRow = objectMapper.readTree(lines[0]);
+        JsonNode lastRow = objectMapper.readTree(lines[1]);
+        assertEquals(first, firstRow.get("orderId").asText());
+        assertEquals(last, lastRow.get("orderId").asText());
+        for (JsonNode row : List.of(firstRow, lastRow)) {
+            assertEquals(customerId.toString(), row.get("customerId").asText());
+            assertEquals("PENDING", row.get("status").asText());
+        }
+    }
+
+    private String createOrder(UUID customerId) throws Exception {
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setCustomerId(customerId);
+        OrderItem item = new OrderItem();
+        item.setProductId(UUID.randomUUID());
+        item.setQuantity(1);
+        item.setPrice(Money.parse("10.00"));
+        request.setItems(List.of(item));
+        String created = mockMvc.perform(post("/api/orders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(created).get("orderId").asText();
+    }
 }
@@ -1,10 +1,19 @@
 package com.adalbertosantos.order;
 
+import com.adalbertosantos.events.money.Money;
 import com.adalbertosantos.order.application.OrderService;
+import com.adalbertosantos.order.domain.BulkOrderRepository;
 import com.adalbertosantos.order.domain.Order;
+import com.adalbertosantos.order.domain.OrderCursor;
+import com.adalbertosantos.order.domain.OrderPage;
+import com.adalbertosantos.order.domain.OrderQueryRepository;
 import com.adalbertosantos.order.domain.OrderRepository;
+import com.adalbertosantos.order.domain.OrderSearchCriteria;
 import com.adalbertosantos.order.domain.OrderStatus;
+import com.adalbertosantos.order.domain.OrderStatusChange;
+import com.adalbertosantos.order.domain.OrderSummary;
 import com.adalbertosantos.order.infrastructure.messaging.OrderEventProducer;
+import com.adalbertosantos.order.api.OrderController.BatchOrderResult;
 import com.adalbertosantos.order.api.OrderController.CreateOrderRequest;
 import com.adalbertosantos.order.api.OrderController.OrderItem;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,13 +21,16 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,14 +39,23 @@ class OrderServiceTest {
     @Mock
     private OrderRepository orderRepository;
 
+    @Mock
+    private OrderQueryRepository orderQueryRepository;
+
+    @Mock
+    private BulkOrderRepository bulkOrderRepository;
+
     @Mock
     private OrderEventProducer eventProducer;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private OrderService orderService;
 
     @BeforeEach
     void setUp() {
-        orderService = new OrderService(orderRepository, eventProducer);
+        orderService = new OrderService(orderRepository, orderQueryRepository, bulkOrderRepository, eventProducer, eventPublisher);
     }
 
     @Test
@@ -45,14 +66,14 @@ class OrderServiceTest {
         OrderItem item = new OrderItem();
         item.setProductId(UUID.randomUUID());
         item.setQuantity(2);
-        item.setPrice(50.0);
+        item.setPrice(Money.parse("50.00"));
         request.setItems(List.of(item));
 
         Order savedOrder = new Order();
         savedOrder.setOrderId(UUID.randomUUID());
         savedOrder.setCustomerId(request.getCustomerId());
         savedOrder.setStatus(OrderStatus.PENDING);
-        savedOrder.setTotalAmount(100.0);
+        savedOrder.setTotalAmount(Money.parse("100.00"));
 
         when(orderRepository.save(any(Order.class))).thenReturn(savedOrder);
 
@@ -60,11 +81,37 @@ class OrderServiceTest {
 
         assertNotNull(result);
         assertEquals(OrderStatus.PENDING, result.getStatus());
-        assertEquals(100.0, result.getTotalAmount());
+        assertEquals(Money.parse("100.00"), result.getTotalAmount());
         verify(orderRepository).save(any(Order.class));
         verify(eventProducer).sendOrderCreatedEvent(any());
     }
 
+    @Test
+    void testCreateOrdersInsertsValidOrdersAndRejectsInvalidOnes() {
+        CreateOrderRequest valid = new CreateOrderRequest();
+        valid.setCustomerId(UUID.randomUUID());
+        OrderItem item = new OrderItem();
+        item.setProductId(UUID.randomUUID());
+        item.setQuantity(3);
+        item.setPrice(Money.parse("0.10"));
+        valid.setItems(List.of(item));
+
+        CreateOrderRequest missingCustomer = new CreateOrderRequest();
+        missingCustomer.setItems(List.of(item));
+
+        List<BatchOrderResult> results = orderService.createOrders(List.of(valid, missingCustomer));
+
+        assertEquals(2, results.size());
+        assertEquals("CREATED", results.get(0).getStatus());
+        assertNotNull(results.get(0).getOrderId());
+        assertEquals("REJECTED", results.get(1).getStatus());
+        assertEquals("customerId is required", results.get(1).getError());
+        verify(bulkOrderRepository).insertAll(argThat(orders ->
+            orders.size() == 1 && orders.get(0).getTotalAmount().equals(Money.parse("0.30"))));
+        verify(eventProducer).sendOrderCreatedEvents(argThat(events -> events.size() == 1));
+        verify(orderRepository, never()).save(any());
+    }
+
     @Test
     void testGetOrder() {
         UUID orderId = UUID.randomUUID();
@@ -94,5 +141,41 @@ class OrderServiceTest {
         assertTrue(result.isPresent());
         assertEquals(OrderStatus.CANCELLED, result.get().getStatus());
         verify(orderRepository).save(order);
+        verify(eventPublisher).publishEvent(argThat((OrderStatusChange change) ->
+                change.getOrderId().equals(orderId) && change.getStatus() == OrderStatus.CANCELLED));
+    }
+
+    @Test
+    void testFindOrdersReturnsCursorWhenMoreRowsExist() {
+        OrderSearchCriteria criteria = new OrderSearchCriteria(null, OrderStatus.PENDING, null, null);
+        OrderSummary newest = summary(Instant.parse("2026-01-02T00:00:00Z"));
+        OrderSummary older = summary(Instant.parse("2026-01-01T00:00:00Z"));
+        OrderSummary oldest = summary(Instant.parse("2025-12-31T00:00:00Z"));
+
+        when(orderQueryRepository.findPage(criteria, null, 3)).thenReturn(List.of(newest, older, oldest));
+
+        OrderPage page = orderService.findOrders(criteria, null, 2);
+
+        assertEquals(List.of(newest, older), page.getOrders());
+        OrderCursor cursor = OrderCursor.decode(page.getNextCursor());
+        assertEquals(older.getCreatedAt(), cursor.getCreatedAt());
+        assertEquals(older.getOrderId(), cursor.getOrderId());
+    }
+
+    @Test
+    void testFindOrdersOmitsCursorOnLastPage() {
+        OrderSearchCriteria criteria = new OrderSearchCriteria(UUID.randomUUID(), null, null, null);
+        OrderSummary only = summary(Instant.parse("2026-01-01T00:00:00Z"));
+
+        when(orderQueryRepository.findPage(criteria, null, 3)).thenReturn(List.of(only));
+
+        OrderPage page = orderService.findOrders(criteria, null, 2);
+
+        assertEquals(List.of(only), page.getOrders());
+        assertNull(page.getNextCursor());
+    }
+
+    private OrderSummary summary(Instant createdAt) {
+        return new OrderSummary(UUID.randomUUID(), UUID.randomUUID(), OrderStatus.PENDING, Money.parse("10.00"), createdAt, createdAt);
     }
 }
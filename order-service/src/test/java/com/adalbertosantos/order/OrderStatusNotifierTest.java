@@ -0,0 +1,57 @@
+package com.adalbertosantos.order;
+
+import com.adalbertosantos.order.application.OrderStatusNotifier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderStatusNotifierTest {
+
+    private final OrderStatusNotifier notifier = new OrderStatusNotifier();
+
+    @AfterEach
+    void tearDown() {
+        notifier.shutdown();
+    }
+
+    @Test
+    void testWaitersAreWokenOffTheNotifyingThread() throws Exception {
+        UUID orderId = UUID.randomUUID();
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Thread> woken = new CompletableFuture<>();
+        notifier.onNextChange(orderId, () -> {
+            woken.complete(Thread.currentThread());
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        // Returns while the waiter is still blocked in its callback
+        notifier.notifyChanged(List.of(orderId));
+        release.countDown();
+
+        assertNotSame(Thread.currentThread(), woken.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testAWaiterIsWokenOnlyOnce() throws Exception {
+        UUID orderId = UUID.randomUUID();
+        CountDownLatch woken = new CountDownLatch(2);
+        notifier.onNextChange(orderId, woken::countDown);
+
+        notifier.notifyChanged(List.of(orderId));
+        notifier.notifyChanged(List.of(orderId));
+
+        assertFalse(woken.await(200, TimeUnit.MILLISECONDS));
+        assertEquals(1, woken.getCount());
+    }
+}
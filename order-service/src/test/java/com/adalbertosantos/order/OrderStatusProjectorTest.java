@@ -0,0 +1,84 @@
+package com.adalbertosantos.order;
+
+import com.adalbertosantos.order.application.OrderStatusProjector;
+import com.adalbertosantos.order.domain.OrderStatus;
+import com.adalbertosantos.order.domain.OrderStatusChange;
+import com.adalbertosantos.order.domain.OrderStatusRepository;
+import com.adalbertosantos.order.domain.OrderStatusTransition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderStatusProjectorTest {
+
+    @Mock
+    private OrderStatusRepository orderStatusRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OrderStatusProjector projector;
+
+    @BeforeEach
+    void setUp() {
+        projector = new OrderStatusProjector(orderStatusRepository, eventPublisher, transactionManager);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testProjectKeepsLatestTransitionPerOrderAndPublishesAppliedChanges() {
+        UUID orderId = UUID.randomUUID();
+        UUID otherOrderId = UUID.randomUUID();
+        UUID customerId = UUID.randomUUID();
+        OrderStatusTransition fulfilled = new OrderStatusTransition(
+            orderId, OrderStatus.FULFILLED, Instant.parse("2026-01-01T00:00:03Z"));
+        OrderStatusTransition paid = new OrderStatusTransition(
+            orderId, OrderStatus.PAYMENT_SUCCEEDED, Instant.parse("2026-01-01T00:00:01Z"));
+        OrderStatusTransition rejected = new OrderStatusTransition(
+            otherOrderId, OrderStatus.INVENTORY_REJECTED, Instant.parse("2026-01-01T00:00:02Z"));
+
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(orderStatusRepository.applyTransitions(any())).thenReturn(List.of(orderId));
+        when(orderStatusRepository.findCustomerIds(Set.of(orderId))).thenReturn(Map.of(orderId, customerId));
+
+        projector.project(List.of(fulfilled, paid, rejected));
+
+        ArgumentCaptor<Collection<OrderStatusTransition>> applied = ArgumentCaptor.forClass(Collection.class);
+        verify(orderStatusRepository).applyTransitions(applied.capture());
+        assertEquals(List.of(fulfilled, rejected), new ArrayList<>(applied.getValue()));
+        ArgumentCaptor<OrderStatusChange> change = ArgumentCaptor.forClass(OrderStatusChange.class);
+        verify(eventPublisher).publishEvent(change.capture());
+        assertEquals(orderId, change.getValue().getOrderId());
+        assertEquals(customerId, change.getValue().getCustomerId());
+        assertEquals(OrderStatus.FULFILLED, change.getValue().getStatus());
+    }
+
+    @Test
+    void testProjectSkipsEmptyBatch() {
+        projector.project(List.of());
+
+        verifyNoInteractions(orderStatusRepository, eventPublisher);
+    }
+}
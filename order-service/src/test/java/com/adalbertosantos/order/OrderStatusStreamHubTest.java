@@ -0,0 +1,117 @@
+package com.adalbertosantos.order;
+
+import com.adalbertosantos.order.api.OrderController;
+import com.adalbertosantos.order.application.AsyncOrderSubmitter;
+import com.adalbertosantos.order.application.IdempotentOrderService;
+import com.adalbertosantos.order.application.OrderService;
+import com.adalbertosantos.order.application.OrderStatusNotifier;
+import com.adalbertosantos.order.application.OrderStatusStreamHub;
+import com.adalbertosantos.order.domain.Order;
+import com.adalbertosantos.order.domain.OrderStatus;
+import com.adalbertosantos.order.domain.OrderStatusChange;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+class OrderStatusStreamHubTest {
+
+    private OrderStatusStreamHub hub;
+
+    @BeforeEach
+    void setUp() {
+        hub = new OrderStatusStreamHub(2, 4, 60000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.shutdown();
+    }
+
+    @Test
+    void testRejectsSubscriptionsBeyondConnectionLimit() {
+        UUID customerId = UUID.randomUUID();
+
+        assertTrue(hub.subscribeToCustomer(customerId).isPresent());
+        assertTrue(hub.subscribeToCustomer(customerId).isPresent());
+        assertTrue(hub.subscribeToCustomer(customerId).isEmpty());
+        assertEquals(2, hub.getConnectionCount());
+    }
+
+    @Test
+    void testChangeCommittedWhileSubscribingIsNotOverwrittenByAStaleSnapshot() throws Exception {
+        UUID orderId = UUID.randomUUID();
+        UUID customerId = UUID.randomUUID();
+        Instant createdAt = Instant.now().minusSeconds(10);
+        Order pending = order(orderId, customerId, OrderStatus.PENDING, createdAt);
+        OrderService orderService = mock(OrderService.class);
+        // The change lands after the subscriber is registered and before the snapshot read returns
+        when(orderService.getOrder(orderId))
+                .thenReturn(Optional.of(pending))
+                .thenAnswer(invocation -> {
+                    hub.onStatusChange(new OrderStatusChange(orderId, customerId,
+                            OrderStatus.PAYMENT_PROCESSING, createdAt.plusSeconds(1)));
+                    return Optional.of(pending);
+                });
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new OrderController(orderService,
+                mock(IdempotentOrderService.class), mock(AsyncOrderSubmitter.class), mock(OrderStatusNotifier.class),
+                hub, new ObjectMapper(), 5000, 30000, Duration.ofMinutes(30))).build();
+
+        MockHttpServletResponse response = mockMvc.perform(get("/api/orders/{orderId}/stream", orderId))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+        hub.onStatusChange(new OrderStatusChange(orderId, customerId, OrderStatus.FULFILLED, createdAt.plusSeconds(2)));
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!response.getContentAsString().contains("FULFILLED") && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        String events = response.getContentAsString();
+        assertTrue(events.indexOf("PAYMENT_PROCESSING") >= 0);
+        assertTrue(events.indexOf("PAYMENT_PROCESSING") < events.indexOf("FULFILLED"));
+        assertFalse(events.contains("PENDING"));
+    }
+
+    @Test
+    void testCompletedStreamReleasesItsConnectionOnNextDelivery() throws InterruptedException {
+        UUID orderId = UUID.randomUUID();
+        OrderStatusChange current = new OrderStatusChange(orderId, UUID.randomUUID(), OrderStatus.PENDING, Instant.now());
+
+        Optional<SseEmitter> emitter = hub.subscribeToOrder(orderId, () -> current);
+        assertTrue(emitter.isPresent());
+        assertEquals(1, hub.getConnectionCount());
+
+        emitter.get().complete();
+        hub.onStatusChange(new OrderStatusChange(orderId, null, OrderStatus.CANCELLED, Instant.now()));
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (hub.getConnectionCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, hub.getConnectionCount());
+    }
+
+    private static Order order(UUID orderId, UUID customerId, OrderStatus status, Instant updatedAt) {
+        Order order = new Order();
+        order.setOrderId(orderId);
+        order.setCustomerId(customerId);
+        order.setStatus(status);
+        order.setUpdatedAt(updatedAt);
+        return order;
+    }
+}
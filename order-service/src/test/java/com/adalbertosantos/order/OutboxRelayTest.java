@@ -0,0 +1,139 @@
+package com.adalbertosantos.order;
+
+import com.adalbertosantos.events.codec.BinaryEventCodec;
+import com.adalbertosantos.events.envelope.EventHeaders;
+import com.adalbertosantos.events.money.Money;
+import com.adalbertosantos.events.order.OrderCreatedEvent;
+import com.adalbertosantos.order.infrastructure.messaging.OutboxRelay;
+import com.adalbertosantos.order.infrastructure.persistence.OutboxEvent;
+import com.adalbertosantos.order.infrastructure.persistence.OutboxEventRepository;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Headers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    private static final byte[] PAYLOAD = BinaryEventCodec.encode(
+            new OrderCreatedEvent(UUID.randomUUID(), UUID.randomUUID(), List.of(), Money.ZERO));
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        outboxRelay = new OutboxRelay(outboxEventRepository, kafkaTemplate, transactionManager, "order-service",
+                2, 100, 1000, Duration.ofSeconds(5));
+    }
+
+    @Test
+    void testRelayDeletesOnlyAcknowledgedEvents() {
+        OutboxEvent first = outboxEvent(1L, "key-1");
+        OutboxEvent second = outboxEvent(2L, "key-2");
+
+        when(outboxEventRepository.lockNextBatch(any(Instant.class), any(Pageable.class))).thenReturn(List.of(first, second));
+        when(kafkaTemplate.send(recordWithKey("key-1")))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+        when(kafkaTemplate.send(recordWithKey("key-2")))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("broker unavailable")));
+
+        outboxRelay.relay();
+
+        verify(outboxEventRepository).claim(eq(List.of(1L, 2L)), any(Instant.class));
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(1L));
+        verify(outboxEventRepository, times(1)).lockNextBatch(any(Instant.class), any(Pageable.class));
+    }
+
+    @Test
+    void testRelayDrainsFullBatchesUntilEmpty() {
+        OutboxEvent first = outboxEvent(1L, "key-1");
+        OutboxEvent second = outboxEvent(2L, "key-2");
+
+        when(outboxEventRepository.lockNextBatch(any(Instant.class), any(Pageable.class)))
+                .thenReturn(List.of(first, second))
+                .thenReturn(List.of());
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        outboxRelay.relay();
+
+        ArgumentCaptor<ProducerRecord<String, Object>> sent = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate, times(2)).send(sent.capture());
+        Headers headers = sent.getValue().headers();
+        assertEquals("OrderCreatedEvent", new String(headers.lastHeader(EventHeaders.EVENT_TYPE).value()));
+        assertEquals("order-service", new String(headers.lastHeader(EventHeaders.PRODUCER).value()));
+        assertNotNull(headers.lastHeader(EventHeaders.EVENT_ID));
+
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        verify(outboxEventRepository, times(2)).lockNextBatch(any(Instant.class), any(Pageable.class));
+    }
+
+    @Test
+    void testSendsAreAwaitedOutsideTheClaimTransaction() {
+        SimpleTransactionStatus claim = new SimpleTransactionStatus();
+        SimpleTransactionStatus delete = new SimpleTransactionStatus();
+        when(transactionManager.getTransaction(any())).thenReturn(claim, delete);
+        when(outboxEventRepository.lockNextBatch(any(Instant.class), any(Pageable.class)))
+                .thenReturn(List.of(outboxEvent(1L, "key-1")));
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        outboxRelay.relay();
+
+        InOrder inOrder = inOrder(transactionManager, outboxEventRepository, kafkaTemplate);
+        inOrder.verify(outboxEventRepository).claim(eq(List.of(1L)), argThat(until -> until.isAfter(Instant.now())));
+        inOrder.verify(transactionManager).commit(claim);
+        inOrder.verify(kafkaTemplate).send(any(ProducerRecord.class));
+        inOrder.verify(outboxEventRepository).deleteAllByIdInBatch(List.of(1L));
+        inOrder.verify(transactionManager).commit(delete);
+    }
+
+    @Test
+    void testClaimTimeoutMustOutlastTheSendTimeout() {
+        assertThrows(IllegalArgumentException.class, () -> new OutboxRelay(outboxEventRepository, kafkaTemplate,
+                transactionManager, "order-service", 2, 100, 10000, Duration.ofSeconds(5)));
+    }
+
+    private static ProducerRecord<String, Object> recordWithKey(String key) {
+        return argThat(record -> record != null && key.equals(record.key()));
+    }
+
+    private OutboxEvent outboxEvent(Long id, String key) {
+        OutboxEvent event = new OutboxEvent("order.created", key, PAYLOAD);
+        ReflectionTestUtils.setField(event, "id", id);
+        return event;
+    }
+}
@@ -0,0 +1,56 @@
+package com.adalbertosantos.payment.api;
+
+import com.adalbertosantos.payment.application.DeadLetterReplay;
+import com.adalbertosantos.payment.application.DeadLetterReplayer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.List;
+
+// Admin API for replaying payment.dlq after an incident, e.g. every record that failed with a provider
+// error in the last hour:
+//   POST /api/admin/dlq/replays {"target": "PROCESSOR", "failedFrom": "...", "errorContains": "provider"}
+// The replay runs in the background; GET its location for progress and DELETE it to stop it.
+@RestController
+@RequestMapping("/api/admin/dlq/replays")
+public class DeadLetterReplayController {
+
+    private final DeadLetterReplayer replayer;
+
+    public DeadLetterReplayController(DeadLetterReplayer replayer) {
+        this.replayer = replayer;
+    }
+
+    @PostMapping
+    public ResponseEntity<DeadLetterReplay> startReplay(@RequestBody DeadLetterReplay.Request request) {
+        DeadLetterReplay replay;
+        try {
+            replay = replayer.start(request);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/admin/dlq/replays/" + replay.getId()))
+                .body(replay);
+    }
+
+    @GetMapping
+    public ResponseEntity<List<DeadLetterReplay>> getReplays() {
+        return ResponseEntity.ok(replayer.list());
+    }
+
+    @GetMapping("/{replayId}")
+    public ResponseEntity<DeadLetterReplay> getReplay(@PathVariable String replayId) {
+        return replayer.find(replayId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/{replayId}")
+    public ResponseEntity<DeadLetterReplay> cancelReplay(@PathVariable String replayId) {
+        return replayer.cancel(replayId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,155 @@
+package com.adalbertosantos.payment.application;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Progress of one replay of payment.dlq, as reported by the admin API. Counters are updated from the
+// replay thread and from the completions of the records it replays.
+public class DeadLetterReplay {
+
+    public enum State {
+        RUNNING,
+        COMPLETED,
+        CANCELLED,
+        FAILED
+    }
+
+    public enum Target {
+        // Publishes the record to the first payment retry tier, due right away and with a fresh set of retries
+        RETRY,
+        // Hands the event straight to PaymentProcessor; a failure fails the payment again
+        PROCESSOR
+    }
+
+    // Offsets are inclusive; unset bounds mean the start or the end of the partition when the replay starts
+    public record Request(Target target,
+                          Integer partition,
+                          Long fromOffset,
+                          Long toOffset,
+                          Instant failedFrom,
+                          Instant failedTo,
+                          String originalTopic,
+                          String errorContains,
+                          Integer ratePerSecond,
+                          Integer parallelism) {
+    }
+
+    private final String id;
+    private final Request request;
+    private final Instant startedAt = Instant.now();
+    private final Map<Integer, Long> nextOffsets = new ConcurrentHashMap<>();
+    private final Map<Integer, Long> endOffsets = new ConcurrentHashMap<>();
+    private final AtomicLong scanned = new AtomicLong();
+    private final AtomicLong matched = new AtomicLong();
+    private final AtomicLong replayed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile State state = State.RUNNING;
+    private volatile boolean cancelRequested;
+    private volatile Instant finishedAt;
+    private volatile String error;
+
+    DeadLetterReplay(String id, Request request) {
+        this.id = id;
+        this.request = request;
+    }
+
+    void track(int partition, long from, long end) {
+        nextOffsets.put(partition, from);
+        endOffsets.put(partition, end);
+    }
+
+    void scanned(int partition, long offset, boolean matches) {
+        nextOffsets.put(partition, offset + 1);
+        scanned.incrementAndGet();
+        if (matches) {
+            matched.incrementAndGet();
+        }
+    }
+
+    void replayed() {
+        replayed.incrementAndGet();
+    }
+
+    void failed() {
+        failed.incrementAndGet();
+    }
+
+    void cancel() {
+        cancelRequested = true;
+    }
+
+    boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    void finish(State state, String error) {
+        this.error = error;
+        this.finishedAt = Instant.now();
+        this.state = state;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Request getRequest() {
+        return request;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public long getScanned() {
+        return scanned.get();
+    }
+
+    public long getMatched() {
+        return matched.get();
+    }
+
+    public long getReplayed() {
+        return replayed.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    // Matched records whose replay has not completed yet
+    public long getInFlight() {
+        return matched.get() - replayed.get() - failed.get();
+    }
+
+    // Records of the range not scanned yet, which includes ones the filters will skip
+    public long getRemaining() {
+        long remaining = 0;
+        for (Map.Entry<Integer, Long> end : endOffsets.entrySet()) {
+            remaining += Math.max(0, end.getValue() - nextOffsets.getOrDefault(end.getKey(), end.getValue()));
+        }
+        return remaining;
+    }
+
+    public Map<Integer, Long> getNextOffsets() {
+        return new TreeMap<>(nextOffsets);
+    }
+
+    public Map<Integer, Long> getEndOffsets() {
+        return new TreeMap<>(endOffsets);
+    }
+}
@@ -0,0 +1,363 @@
+package com.adalbertosantos.payment.application;
+
+import com.adalbertosantos.events.codec.BinaryEventCodec;
+import com.adalbertosantos.events.order.OrderCreatedEvent;
+import com.adalbertosantos.payment.application.DeadLetterReplay.Request;
+import com.adalbertosantos.payment.application.DeadLetterReplay.State;
+import com.adalbertosantos.payment.application.DeadLetterReplay.Target;
+import com.adalbertosantos.payment.infrastructure.messaging.DeadLetterPublisher;
+import com.adalbertosantos.payment.infrastructure.messaging.PaymentRetryPublisher;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndTimestamp;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+
+// Replays a range of payment.dlq, either through the payment retry tiers or straight into PaymentProcessor. Each replay
+// reads with its own assigned consumer, so it commits nothing and does not disturb the service's groups,
+// and stops at the end offsets it saw when it started. Records are started at ratePerSecond with at most
+// parallelism of them in flight; the DLQ records stay where they are, so a range can be replayed again.
+@Service
+public class DeadLetterReplayer {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeadLetterReplayer.class);
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(500);
+    private static final int FINISHED_REPLAYS_KEPT = 20;
+
+    public static final String REPLAY_ID_HEADER = "dlq-replay-id";
+
+    private final ConsumerFactory<String, byte[]> consumerFactory;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final PaymentRetryPublisher retryPublisher;
+    private final PaymentProcessor paymentProcessor;
+    private final Counter replayedCounter;
+    private final Counter failedCounter;
+    private final Counter skippedCounter;
+    private final int defaultRatePerSecond;
+    private final int defaultParallelism;
+    private final int maxParallelism;
+    private final Map<String, DeadLetterReplay> replays = new LinkedHashMap<>();
+
+    public DeadLetterReplayer(ConsumerFactory<String, byte[]> consumerFactory,
+                              KafkaTemplate<String, Object> kafkaTemplate,
+                              PaymentRetryPublisher retryPublisher,
+                              PaymentProcessor paymentProcessor,
+                              MeterRegistry meterRegistry,
+                              @Value("${payment.dlq-replay.rate-per-second:200}") int defaultRatePerSecond,
+                              @Value("${payment.dlq-replay.parallelism:16}") int defaultParallelism,
+                              @Value("${payment.dlq-replay.max-parallelism:256}") int maxParallelism) {
+        this.consumerFactory = consumerFactory;
+        this.kafkaTemplate = kafkaTemplate;
+        this.retryPublisher = retryPublisher;
+        this.paymentProcessor = paymentProcessor;
+        this.replayedCounter = replayCounter(meterRegistry, "replayed");
+        this.failedCounter = replayCounter(meterRegistry, "failed");
+        this.skippedCounter = replayCounter(meterRegistry, "skipped");
+        this.defaultRatePerSecond = defaultRatePerSecond;
+        this.defaultParallelism = defaultParallelism;
+        this.maxParallelism = maxParallelism;
+        meterRegistry.gauge("payment.dlq.replay.active", replays, this::countRunning);
+    }
+
+    public DeadLetterReplay start(Request request) {
+        if (request.target() == null) {
+            throw new IllegalArgumentException("target is required");
+        }
+        if (request.fromOffset() != null && request.toOffset() != null && request.fromOffset() > request.toOffset()) {
+            throw new IllegalArgumentException("fromOffset is after toOffset");
+        }
+        int ratePerSecond = request.ratePerSecond() != null ? request.ratePerSecond() : defaultRatePerSecond;
+        int parallelism = request.parallelism() != null ? request.parallelism() : defaultParallelism;
+        if (ratePerSecond < 1) {
+            throw new IllegalArgumentException("ratePerSecond must be at least 1");
+        }
+        if (parallelism < 1 || parallelism > maxParallelism) {
+            throw new IllegalArgumentException("parallelism must be between 1 and " + maxParallelism);
+        }
+
+        Request effective = new Request(request.target(), request.partition(), request.fromOffset(),
+            request.toOffset(), request.failedFrom(), request.failedTo(), request.originalTopic(),
+            request.errorContains(), ratePerSecond, parallelism);
+        DeadLetterReplay replay = new DeadLetterReplay(UUID.randomUUID().toString(), effective);
+        synchronized (replays) {
+            replays.put(replay.getId(), replay);
+            pruneFinished();
+        }
+        logger.info("Starting replay {} of {}: {}", replay.getId(), DeadLetterPublisher.DEAD_LETTER_TOPIC, effective);
+        Thread.ofVirtual().name("payment-dlq-replay-" + replay.getId()).start(() -> run(replay));
+        return replay;
+    }
+
+    public Optional<DeadLetterReplay> find(String id) {
+        synchronized (replays) {
+            return Optional.ofNullable(replays.get(id));
+        }
+    }
+
+    public List<DeadLetterReplay> list() {
+        synchronized (replays) {
+            return new ArrayList<>(replays.values());
+        }
+    }
+
+    // The replay stops starting records; the ones already in flight still complete
+    public Optional<DeadLetterReplay> cancel(String id) {
+        Optional<DeadLetterReplay> replay = find(id);
+        replay.ifPresent(DeadLetterReplay::cancel);
+        return replay;
+    }
+
+    private void run(DeadLetterReplay replay) {
+        Request request = replay.getRequest();
+        Semaphore inFlight = new Semaphore(request.parallelism());
+        RateLimiter rateLimiter = RateLimiter.of("payment-dlq-replay-" + replay.getId(), RateLimiterConfig.custom()
+            .limitForPeriod(1)
+            .limitRefreshPeriod(Duration.ofNanos(Math.max(1, 1_000_000_000L / request.ratePerSecond())))
+            .timeoutDuration(POLL_TIMEOUT)
+            .build());
+
+        try (Consumer<String, byte[]> consumer = consumerFactory.createConsumer(
+                null, "payment-dlq-replay-", replay.getId(), replayConsumerProperties())) {
+            Map<TopicPartition, Long> endOffsets = assign(consumer, replay);
+            Set<TopicPartition> remaining = new HashSet<>(endOffsets.keySet());
+            remaining.removeIf(partition -> consumer.position(partition) >= endOffsets.get(partition));
+            consumer.pause(endOffsets.keySet().stream().filter(partition -> !remaining.contains(partition)).toList());
+
+            while (!remaining.isEmpty() && !replay.isCancelRequested()) {
+                for (ConsumerRecord<String, byte[]> record : consumer.poll(POLL_TIMEOUT)) {
+                    TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+                    if (record.offset() >= endOffsets.get(partition) || replay.isCancelRequested()) {
+                        continue;
+                    }
+                    boolean matches = matches(record, request);
+                    if (!matches) {
+                        replay.scanned(record.partition(), record.offset(), false);
+                        skippedCounter.increment();
+                        continue;
+                    }
+                    inFlight.acquire();
+                    while (!rateLimiter.acquirePermission()) {
+                        if (replay.isCancelRequested()) {
+                            break;
+                        }
+                    }
+                    if (replay.isCancelRequested()) {
+                        inFlight.release();
+                        break;
+                    }
+                    replay.scanned(record.partition(), record.offset(), true);
+                    replayRecord(record, request.target(), replay.getId()).whenComplete((result, error) -> {
+                        if (error != null) {
+                            replay.failed();
+                            failedCounter.increment();
+                            logger.warn("Replay {} failed for key: {} at offset {}: {}",
+                                replay.getId(), record.key(), record.offset(), error.getMessage());
+                        } else {
+                            replay.replayed();
+                            replayedCounter.increment();
+                        }
+                        inFlight.release();
+                    });
+                }
+                for (Iterator<TopicPartition> it = remaining.iterator(); it.hasNext(); ) {
+                    TopicPartition partition = it.next();
+                    if (consumer.position(partition) >= endOffsets.get(partition)) {
+                        consumer.pause(List.of(partition));
+                        it.remove();
+                    }
+                }
+            }
+
+            inFlight.acquire(request.parallelism());
+            replay.finish(replay.isCancelRequested() ? State.CANCELLED : State.COMPLETED, null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            replay.finish(State.FAILED, "interrupted");
+        } catch (RuntimeException e) {
+            logger.error("Replay {} failed", replay.getId(), e);
+            replay.finish(State.FAILED, e.getMessage());
+        }
+        logger.info("Replay {} {} - Scanned: {}, Replayed: {}, Failed: {}", replay.getId(), replay.getState(),
+            replay.getScanned(), replay.getReplayed(), replay.getFailed());
+    }
+
+    // Seeks each partition to the first offset the request covers and returns where the range ends
+    private static Map<TopicPartition, Long> assign(Consumer<String, byte[]> consumer, DeadLetterReplay replay) {
+        Request request = replay.getRequest();
+        List<TopicPartition> partitions = consumer.partitionsFor(DeadLetterPublisher.DEAD_LETTER_TOPIC).stream()
+            .filter(info -> request.partition() == null || info.partition() == request.partition())
+            .map(info -> new TopicPartition(info.topic(), info.partition()))
+            .toList();
+        if (partitions.isEmpty()) {
+            throw new IllegalArgumentException("No partition " + request.partition() + " in "
+                + DeadLetterPublisher.DEAD_LETTER_TOPIC);
+        }
+        consumer.assign(partitions);
+
+        Map<TopicPartition, Long> beginnings = consumer.beginningOffsets(partitions);
+        Map<TopicPartition, Long> ends = consumer.endOffsets(partitions);
+        Map<TopicPartition, OffsetAndTimestamp> failedFrom = Map.of();
+        if (request.failedFrom() != null) {
+            Map<TopicPartition, Long> timestamps = new HashMap<>();
+            partitions.forEach(partition -> timestamps.put(partition, request.failedFrom().toEpochMilli()));
+            failedFrom = consumer.offsetsForTimes(timestamps);
+        }
+
+        Map<TopicPartition, Long> endOffsets = new HashMap<>();
+        for (TopicPartition partition : partitions) {
+            long end = ends.get(partition);
+            if (request.toOffset() != null) {
+                end = Math.min(end, request.toOffset() + 1);
+            }
+            long from = beginnings.get(partition);
+            if (request.fromOffset() != null) {
+                from = Math.max(from, request.fromOffset());
+            }
+            if (request.failedFrom() != null) {
+                // Dead letters are appended as they fail, so nothing before this offset failed late enough
+                OffsetAndTimestamp first = failedFrom.get(partition);
+                from = first != null ? Math.max(from, first.offset()) : end;
+            }
+            from = Math.min(from, end);
+            consumer.seek(partition, from);
+            replay.track(partition.partition(), from, end);
+            endOffsets.put(partition, end);
+        }
+        return endOffsets;
+    }
+
+    private CompletableFuture<?> replayRecord(ConsumerRecord<String, byte[]> record, Target target, String replayId) {
+        try {
+            return switch (target) {
+                case RETRY -> kafkaTemplate.send(toRetry(record, replayId));
+                case PROCESSOR -> process(BinaryEventCodec.decode(record.value(), OrderCreatedEvent.class));
+            };
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    // A payment that fails again is failed again rather than left PROCESSING for the sweeper
+    private CompletableFuture<Void> process(OrderCreatedEvent event) {
+        CompletableFuture<Void> processed;
+        try {
+            processed = paymentProcessor.processPaymentAsync(event);
+        } catch (RuntimeException e) {
+            processed = CompletableFuture.failedFuture(e);
+        }
+        return processed.exceptionallyCompose(error -> {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            return paymentProcessor.exhaustPaymentAsync(event, cause.getMessage())
+                .thenCompose(failed -> CompletableFuture.failedFuture(cause));
+        });
+    }
+
+    // Not order.created: its other consumers, such as notifications, would act on the order a second time
+    private ProducerRecord<String, Object> toRetry(ConsumerRecord<String, byte[]> record, String replayId) {
+        ProducerRecord<String, Object> replayed = retryPublisher.redriveRecord(record);
+        replayed.headers().add(REPLAY_ID_HEADER, replayId.getBytes(StandardCharsets.UTF_8));
+        return replayed;
+    }
+
+    private static boolean matches(ConsumerRecord<String, byte[]> record, Request request) {
+        if (request.originalTopic() != null
+                && !request.originalTopic().equals(header(record, DeadLetterPublisher.ORIGINAL_TOPIC_HEADER))) {
+            return false;
+        }
+        if (request.errorContains() != null) {
+            String error = header(record, DeadLetterPublisher.ERROR_HEADER);
+            if (error == null || !error.contains(request.errorContains())) {
+                return false;
+            }
+        }
+        if (request.failedFrom() != null || request.failedTo() != null) {
+            Instant failedAt = failedAt(record);
+            if (request.failedFrom() != null && failedAt.isBefore(request.failedFrom())) {
+                return false;
+            }
+            if (request.failedTo() != null && !failedAt.isBefore(request.failedTo())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Instant failedAt(ConsumerRecord<String, byte[]> record) {
+        String failedAt = header(record, DeadLetterPublisher.FAILED_AT_HEADER);
+        if (failedAt != null) {
+            try {
+                return Instant.parse(failedAt);
+            } catch (DateTimeParseException e) {
+                // Fall back to when the record was written
+            }
+        }
+        return Instant.ofEpochMilli(record.timestamp());
+    }
+
+    private static String header(ConsumerRecord<?, ?> record, String key) {
+        Header header = record.headers().lastHeader(key);
+        return header != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
+    }
+
+    private static Properties replayConsumerProperties() {
+        Properties properties = new Properties();
+        properties.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        properties.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, "500");
+        return properties;
+    }
+
+    private double countRunning(Map<String, DeadLetterReplay> tracked) {
+        synchronized (tracked) {
+            return tracked.values().stream().filter(replay -> replay.getState() == State.RUNNING).count();
+        }
+    }
+
+    private void pruneFinished() {
+        int finished = (int) replays.values().stream().filter(replay -> replay.getState() != State.RUNNING).count();
+        Iterator<DeadLetterReplay> it = replays.values().iterator();
+        while (finished > FINISHED_REPLAYS_KEPT && it.hasNext()) {
+            if (it.next().getState() != State.RUNNING) {
+                it.remove();
+                finished--;
+            }
+        }
+    }
+
+    private static Counter replayCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("payment.dlq.replay.records")
+            .description("Dead letters handled by replays, by outcome")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+}
@@ -1,5 +1,6 @@
 package com.adalbertosantos.payment.application;
 
+import com.adalbertosantos.events.id.TimeOrderedUuid;
 import com.adalbertosantos.events.order.OrderCreatedEvent;
 import com.adalbertosantos.events.payment.PaymentFailedEvent;
 import com.adalbertosantos.events.payment.PaymentSucceededEvent;
@@ -10,14 +11,26 @@ import com.adalbertosantos.payment.infrastructure.external.PaymentProviderClient
 import com.adalbertosantos.payment.infrastructure.external.PaymentProviderClient.PaymentResult;
 import com.adalbertosantos.payment.infrastructure.messaging.PaymentEventProducer;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
-import io.github.resilience4j.retry.annotation.Retry;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-
-import java.util.UUID;
-
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// A payment moves through two short transactions: PROCESSING is stored before the provider is called
+// and the outcome after it answers. The provider call itself runs without a transaction, so a pooled
+// connection is held for the two writes rather than for the 100-300ms the provider takes. Payments left
+// in PROCESSING by a crash between the two are finished by PaymentRecoverySweeper. Payments that failed
+// every retry are FAILED like declined ones, but a replay of payment.dlq may reopen them.
+//
+// processPaymentAsync returns as soon as the provider has the call, so the listener thread can start the
+// next payment. Outcomes are stored on virtual threads rather than the provider's callback thread.
 @Service
 public class PaymentProcessor {
 
@@ -26,88 +39,150 @@ public class PaymentProcessor {
     private final PaymentRepository paymentRepository;
     private final PaymentProviderClient paymentProviderClient;
     private final PaymentEventProducer eventProducer;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService completionExecutor = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name("payment-completion-", 0).factory());
 
     public PaymentProcessor(PaymentRepository paymentRepository,
                           PaymentProviderClient paymentProviderClient,
-                          PaymentEventProducer eventProducer) {
+                          PaymentEventProducer eventProducer,
+                          PlatformTransactionManager transactionManager) {
         this.paymentRepository = paymentRepository;
         this.paymentProviderClient = paymentProviderClient;
         this.eventProducer = eventProducer;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
-    @Transactional
-    @CircuitBreaker(name = "paymentProcessor", fallbackMethod = "processPaymentFallback")
-    @Retry(name = "paymentProcessor")
-    public void processPayment(OrderCreatedEvent event) {
-        logger.info("Processing payment for order: {}", event.getOrderId());
+    // A provider error or an open breaker fails the returned future and leaves the payment PROCESSING;
+    // the consumer retries it later through a retry topic rather than on the listener thread
+    @CircuitBreaker(name = "paymentProcessor")
+    public CompletableFuture<Void> processPaymentAsync(OrderCreatedEvent event) {
+        logger.info("Processing payment for order: {}", event.orderId());
 
-        Payment payment = new Payment();
-        payment.setPaymentId(UUID.randomUUID());
-        payment.setOrderId(event.getOrderId());
-        payment.setAmount(event.getTotalAmount());
-        payment.setPaymentMethod("CREDIT_CARD");
-        payment.setStatus(PaymentStatus.PROCESSING);
+        Payment payment = transactionTemplate.execute(status -> startPayment(event));
+        if (payment.getStatus() != PaymentStatus.PROCESSING) {
+            logger.info("Payment for order: {} is already {}, skipping", event.orderId(), payment.getStatus());
+            return CompletableFuture.completedFuture(null);
+        }
 
-        payment = paymentRepository.save(payment);
+        // A retry after a provider error lands here again with the same PROCESSING payment
+        return paymentProviderClient.processPaymentAsync(
+            payment.getPaymentId(),
+            event.orderId(),
+            event.totalAmount(),
+            event.customerId()
+        ).thenAcceptAsync(result -> complete(payment, result), completionExecutor);
+    }
 
-        try {
-            PaymentResult result = paymentProviderClient.processPayment(
-                event.getOrderId(),
-                event.getTotalAmount(),
-                event.getCustomerId()
-            );
+    // Sends a payment that was left in PROCESSING to the provider again, unless another sweeper got to it first
+    public void resume(Payment payment) {
+        if (paymentRepository.claim(payment.getPaymentId(), PaymentStatus.PROCESSING,
+                payment.getUpdatedAt(), Instant.now()) == 0) {
+            return;
+        }
+        logger.info("Resuming payment: {} for order: {}", payment.getPaymentId(), payment.getOrderId());
+
+        PaymentResult result = paymentProviderClient.processPayment(
+            payment.getPaymentId(),
+            payment.getOrderId(),
+            payment.getAmount(),
+            payment.getCustomerId()
+        );
+        complete(payment, result);
+    }
+
+    // Redelivered events find the payment their first delivery stored. A payment that failed only because
+    // its retries ran out is being replayed from payment.dlq, so it goes back to PROCESSING unless another
+    // replay of it got there first; a later outcome supersedes the PaymentFailedEvent already sent.
+    private Payment startPayment(OrderCreatedEvent event) {
+        return paymentRepository.findByOrderId(event.orderId()).map(payment -> {
+            if (payment.getStatus() == PaymentStatus.FAILED && payment.isRetriesExhausted()
+                    && paymentRepository.reopen(payment.getPaymentId(), Instant.now()) == 1) {
+                payment.setStatus(PaymentStatus.PROCESSING);
+                payment.setFailureReason(null);
+                payment.setRetriesExhausted(false);
+            }
+            return payment;
+        }).orElseGet(() -> {
+            Payment payment = newPayment(event);
+            payment.setStatus(PaymentStatus.PROCESSING);
+            return paymentRepository.save(payment);
+        });
+    }
 
-            if (result.isSuccess()) {
-                payment.setStatus(PaymentStatus.SUCCEEDED);
-                payment.setProviderTransactionId(result.getTransactionId());
-                paymentRepository.save(payment);
-
-                PaymentSucceededEvent successEvent = new PaymentSucceededEvent(
-                    event.getOrderId(),
-                    payment.getPaymentId(),
-                    payment.getAmount(),
-                    payment.getPaymentMethod()
-                );
-                eventProducer.sendPaymentSucceededEvent(successEvent);
-                
-                logger.info("Payment succeeded for order: {}", event.getOrderId());
-            } else {
-                handlePaymentFailure(payment, event, result.getErrorMessage());
+    private void complete(Payment payment, PaymentResult result) {
+        if (result.isSuccess()) {
+            if (!transition(payment, PaymentStatus.SUCCEEDED, result.getTransactionId(), null)) {
+                return;
             }
-        } catch (Exception e) {
-            logger.error("Payment processing failed for order: {}", event.getOrderId(), e);
-            handlePaymentFailure(payment, event, e.getMessage());
-            throw e;
+            PaymentSucceededEvent successEvent = new PaymentSucceededEvent(
+                payment.getOrderId(),
+                payment.getPaymentId(),
+                payment.getAmount(),
+                payment.getPaymentMethod()
+            );
+            eventProducer.sendPaymentSucceededEvent(successEvent);
+
+            logger.info("Payment succeeded for order: {}", payment.getOrderId());
+        } else if (transition(payment, PaymentStatus.FAILED, null, result.getErrorMessage())) {
+            publishFailure(payment, result.getErrorMessage());
         }
     }
 
-    private void handlePaymentFailure(Payment payment, OrderCreatedEvent event, String errorMessage) {
-        payment.setStatus(PaymentStatus.FAILED);
-        payment.setFailureReason(errorMessage);
-        paymentRepository.save(payment);
+    private boolean transition(Payment payment, PaymentStatus outcome, String transactionId, String failureReason) {
+        if (paymentRepository.transition(payment.getPaymentId(), PaymentStatus.PROCESSING, outcome,
+                transactionId, failureReason, Instant.now()) == 0) {
+            logger.info("Payment: {} for order: {} was already completed", payment.getPaymentId(), payment.getOrderId());
+            return false;
+        }
+        return true;
+    }
 
+    private void publishFailure(Payment payment, String errorMessage) {
         PaymentFailedEvent failedEvent = new PaymentFailedEvent(
-            event.getOrderId(),
+            payment.getOrderId(),
             payment.getPaymentId(),
             errorMessage
         );
         eventProducer.sendPaymentFailedEvent(failedEvent);
-        
-        logger.warn("Payment failed for order: {} - Reason: {}", event.getOrderId(), errorMessage);
+
+        logger.warn("Payment failed for order: {} - Reason: {}", payment.getOrderId(), errorMessage);
+    }
+
+    // For records that used up their retries: the saga gets a PaymentFailedEvent, and the payment is marked
+    // so a replay of its dead letter can still reopen it
+    public CompletableFuture<Void> exhaustPaymentAsync(OrderCreatedEvent event, String reason) {
+        return CompletableFuture.runAsync(() -> exhaustPayment(event, reason), completionExecutor);
     }
 
-    private void processPaymentFallback(OrderCreatedEvent event, Exception e) {
-        logger.error("Circuit breaker activated for order: {}", event.getOrderId(), e);
-        
-        Payment payment = paymentRepository.findByOrderId(event.getOrderId())
-            .orElseGet(() -> {
-                Payment newPayment = new Payment();
-                newPayment.setPaymentId(UUID.randomUUID());
-                newPayment.setOrderId(event.getOrderId());
-                newPayment.setAmount(event.getTotalAmount());
-                return newPayment;
-            });
-
-        handlePaymentFailure(payment, event, "Payment service temporarily unavailable");
+    private void exhaustPayment(OrderCreatedEvent event, String reason) {
+        logger.error("Giving up on payment for order: {} - Reason: {}", event.orderId(), reason);
+        Payment payment = paymentRepository.findByOrderId(event.orderId()).orElse(null);
+        if (payment == null) {
+            // Every attempt found the breaker open, so no payment was started
+            payment = newPayment(event);
+            payment.setStatus(PaymentStatus.FAILED);
+            payment.setFailureReason(reason);
+            payment.setRetriesExhausted(true);
+            publishFailure(paymentRepository.save(payment), reason);
+        } else if (payment.getStatus() == PaymentStatus.PROCESSING
+                && paymentRepository.exhaust(payment.getPaymentId(), reason, Instant.now()) == 1) {
+            publishFailure(payment, reason);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        completionExecutor.shutdown();
+    }
+
+    private static Payment newPayment(OrderCreatedEvent event) {
+        Payment payment = new Payment();
+        payment.setPaymentId(TimeOrderedUuid.next());
+        payment.setOrderId(event.orderId());
+        payment.setCustomerId(event.customerId());
+        payment.setAmount(event.totalAmount());
+        payment.setPaymentMethod("CREDIT_CARD");
+        return payment;
     }
 }
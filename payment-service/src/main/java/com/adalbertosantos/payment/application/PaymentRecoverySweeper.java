@@ -0,0 +1,58 @@
+package com.adalbertosantos.payment.application;
+
+import com.adalbertosantos.payment.domain.Payment;
+import com.adalbertosantos.payment.domain.Payment.PaymentStatus;
+import com.adalbertosantos.payment.domain.PaymentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+// Finishes payments whose service stopped between storing PROCESSING and storing the outcome. stuck-after
+// has to exceed the longest a live consumer spends on one payment, including its trips through the retry
+// topics, or the sweeper races it; the conditional updates in PaymentRepository keep that race from
+// publishing twice.
+@Component
+public class PaymentRecoverySweeper {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentRecoverySweeper.class);
+
+    private final PaymentRepository paymentRepository;
+    private final PaymentProcessor paymentProcessor;
+    private final Duration stuckAfter;
+    private final int batchSize;
+
+    public PaymentRecoverySweeper(PaymentRepository paymentRepository,
+                                  PaymentProcessor paymentProcessor,
+                                  @Value("${payment.recovery.stuck-after:5m}") Duration stuckAfter,
+                                  @Value("${payment.recovery.batch-size:100}") int batchSize) {
+        this.paymentRepository = paymentRepository;
+        this.paymentProcessor = paymentProcessor;
+        this.stuckAfter = stuckAfter;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${payment.recovery.interval-ms:30000}")
+    public void sweep() {
+        List<Payment> stuck = paymentRepository.findByStatusAndUpdatedAtBefore(
+            PaymentStatus.PROCESSING, Instant.now().minus(stuckAfter), PageRequest.of(0, batchSize));
+        if (stuck.isEmpty()) {
+            return;
+        }
+
+        logger.warn("Recovering {} payments stuck in PROCESSING", stuck.size());
+        for (Payment payment : stuck) {
+            try {
+                paymentProcessor.resume(payment);
+            } catch (Exception e) {
+                logger.warn("Payment: {} is still PROCESSING, will retry: {}", payment.getPaymentId(), e.getMessage());
+            }
+        }
+    }
+}
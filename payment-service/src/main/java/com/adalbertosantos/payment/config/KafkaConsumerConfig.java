@@ -1,90 +1,49 @@
 package com.adalbertosantos.payment.config;
 
+import com.adalbertosantos.events.json.EventSerde;
+import com.adalbertosantos.messaging.MessagingTopics;
+import com.adalbertosantos.payment.infrastructure.messaging.PaymentRetryPublisher;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.apache.kafka.clients.admin.NewTopic;
-import org.apache.kafka.clients.consumer.ConsumerConfig;
-import org.apache.kafka.clients.producer.ProducerConfig;
-import org.apache.kafka.common.serialization.StringDeserializer;
-import org.apache.kafka.common.serialization.StringSerializer;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.annotation.EnableKafka;
-import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
-import org.springframework.kafka.config.TopicBuilder;
-import org.springframework.kafka.core.*;
-import org.springframework.kafka.listener.ContainerProperties;
-
-import java.util.HashMap;
-import java.util.Map;
+import org.springframework.kafka.core.KafkaAdmin;
 
 @Configuration
 @EnableKafka
 public class KafkaConsumerConfig {
 
-    @Value("${spring.kafka.bootstrap-servers}")
-    private String bootstrapServers;
-
-    @Bean
-    public ConsumerFactory<String, String> consumerFactory() {
-        Map<String, Object> config = new HashMap<>();
-        config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
-        config.put(ConsumerConfig.GROUP_ID_CONFIG, "payment-service-group");
-        config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
-        config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
-        config.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 10);
-        return new DefaultKafkaConsumerFactory<>(config);
-    }
-
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, String> kafkaListenerContainerFactory() {
-        ConcurrentKafkaListenerContainerFactory<String, String> factory = 
-            new ConcurrentKafkaListenerContainerFactory<>();
-        factory.setConsumerFactory(consumerFactory());
-        factory.setConcurrency(3);
-        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
-        return factory;
-    }
-
-    @Bean
-    public ProducerFactory<String, String> producerFactory() {
-        Map<String, Object> config = new HashMap<>();
-        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
-        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        config.put(ProducerConfig.ACKS_CONFIG, "all");
-        config.put(ProducerConfig.RETRIES_CONFIG, 3);
-        return new DefaultKafkaProducerFactory<>(config);
-    }
-
-    @Bean
-    public KafkaTemplate<String, String> kafkaTemplate() {
-        return new KafkaTemplate<>(producerFactory());
-    }
-
-    @Bean
-    public NewTopic paymentSucceededTopic() {
-        return TopicBuilder.name("payment.succeeded")
+    public NewTopic paymentSucceededTopic(MessagingTopics topics) {
+        return topics.topic("payment.succeeded")
                 .partitions(3)
                 .replicas(1)
                 .build();
     }
 
     @Bean
-    public NewTopic paymentFailedTopic() {
-        return TopicBuilder.name("payment.failed")
+    public NewTopic paymentFailedTopic(MessagingTopics topics) {
+        return topics.topic("payment.failed")
                 .partitions(3)
                 .replicas(1)
                 .build();
     }
 
+    // One topic per payment.retry.delays entry
+    @Bean
+    public KafkaAdmin.NewTopics paymentRetryTopics(MessagingTopics topics, PaymentRetryPublisher retryPublisher) {
+        return new KafkaAdmin.NewTopics(retryPublisher.topics().stream()
+                .map(topic -> topics.topic(topic)
+                        .partitions(3)
+                        .replicas(1)
+                        .build())
+                .toArray(NewTopic[]::new));
+    }
+
     @Bean
-    public NewTopic deadLetterTopic() {
-        return TopicBuilder.name("payment.dlq")
+    public NewTopic deadLetterTopic(MessagingTopics topics) {
+        return topics.topic("payment.dlq")
                 .partitions(1)
                 .replicas(1)
                 .build();
@@ -92,9 +51,6 @@ public class KafkaConsumerConfig {
 
     @Bean
     public ObjectMapper objectMapper() {
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.registerModule(new JavaTimeModule());
-        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-        return mapper;
+        return EventSerde.shared().getObjectMapper();
     }
 }
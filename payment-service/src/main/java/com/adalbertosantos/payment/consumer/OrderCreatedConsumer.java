@@ -1,58 +1,86 @@
 package com.adalbertosantos.payment.consumer;
 
+import com.adalbertosantos.events.envelope.EventDispatcher;
 import com.adalbertosantos.events.order.OrderCreatedEvent;
+import com.adalbertosantos.messaging.InFlightWindow;
+import com.adalbertosantos.messaging.InFlightWindows;
 import com.adalbertosantos.payment.application.PaymentProcessor;
-import com.adalbertosantos.payment.infrastructure.messaging.DeadLetterPublisher;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.support.Acknowledgment;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.handler.annotation.Header;
-import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.CompletableFuture;
+
+// Starts a payment per record and returns without waiting for the provider, so up to max-in-flight
+// payments per partition are with the provider at once. A failed payment is handed to a retry topic
+// before its record counts as done, and offsets are committed in order by the InFlightWindow.
 @Component
 public class OrderCreatedConsumer {
 
     private static final Logger logger = LoggerFactory.getLogger(OrderCreatedConsumer.class);
+    private static final String LISTENER_ID = "payment-order-created";
+
+    private final EventDispatcher eventDispatcher;
+    private final PaymentFailureRouter failureRouter;
+    private final InFlightWindow inFlightWindow;
 
-    private final PaymentProcessor paymentProcessor;
-    private final ObjectMapper objectMapper;
-    private final DeadLetterPublisher deadLetterPublisher;
+    public OrderCreatedConsumer(PaymentProcessor paymentProcessor,
+                               PaymentFailureRouter failureRouter,
+                               InFlightWindows inFlightWindows,
+                               @Value("${payment.consumer.max-in-flight:64}") int maxInFlight) {
+        this.eventDispatcher = paymentDispatcher(paymentProcessor);
+        this.failureRouter = failureRouter;
+        this.inFlightWindow = inFlightWindows.forListener(LISTENER_ID, maxInFlight);
+    }
 
-    public OrderCreatedConsumer(PaymentProcessor paymentProcessor, 
-                               ObjectMapper objectMapper,
-                               DeadLetterPublisher deadLetterPublisher) {
-        this.paymentProcessor = paymentProcessor;
-        this.objectMapper = objectMapper;
-        this.deadLetterPublisher = deadLetterPublisher;
+    // Payment errors arrive through the returned future, so anything dispatchAsync throws is a record
+    // that could not be decoded
+    static EventDispatcher paymentDispatcher(PaymentProcessor paymentProcessor) {
+        return EventDispatcher.builder()
+            .onAsync(OrderCreatedEvent.class, event -> {
+                CompletableFuture<Void> processed;
+                try {
+                    processed = paymentProcessor.processPaymentAsync(event);
+                } catch (RuntimeException e) {
+                    processed = CompletableFuture.failedFuture(e);
+                }
+                return processed.thenRun(() ->
+                    logger.info("Successfully processed payment for order: {}", event.orderId()));
+            })
+            .build();
     }
 
     @KafkaListener(
+        id = LISTENER_ID,
         topics = "order.created",
         groupId = "payment-service-group",
         containerFactory = "kafkaListenerContainerFactory"
     )
-    public void consumeOrderCreatedEvent(
-            @Payload String message,
-            @Header(KafkaHeaders.RECEIVED_KEY) String key,
-            @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
-            @Header(KafkaHeaders.OFFSET) long offset,
-            Acknowledgment acknowledgment) {
-        
-        logger.info("Received OrderCreatedEvent - Topic: {}, Key: {}, Offset: {}", topic, key, offset);
-        
+    public void consumeOrderCreatedEvent(ConsumerRecord<String, byte[]> record, Acknowledgment acknowledgment) {
+        logger.info("Received OrderCreatedEvent - Topic: {}, Key: {}, Offset: {}",
+            record.topic(), record.key(), record.offset());
+
+        CompletableFuture<EventDispatcher.Outcome> outcome;
         try {
-            OrderCreatedEvent event = objectMapper.readValue(message, OrderCreatedEvent.class);
-            paymentProcessor.processPayment(event);
-            acknowledgment.acknowledge();
-            logger.info("Successfully processed payment for order: {}", event.getOrderId());
+            outcome = eventDispatcher.dispatchAsync(record.headers(), record.value());
         } catch (Exception e) {
-            logger.error("Failed to process OrderCreatedEvent for key: {}", key, e);
-            deadLetterPublisher.publishToDeadLetter(topic, key, message, e.getMessage());
-            acknowledgment.acknowledge();
+            inFlightWindow.submit(record, acknowledgment, failureRouter.unprocessable(record, e));
+            return;
         }
+
+        inFlightWindow.submit(record, acknowledgment, outcome.handle((result, error) -> {
+            if (error != null) {
+                return failureRouter.paymentFailed(record, error);
+            }
+            if (result == EventDispatcher.Outcome.SKIPPED) {
+                logger.warn("Skipping record that is not an OrderCreatedEvent - Key: {}, Offset: {}",
+                    record.key(), record.offset());
+            }
+            return CompletableFuture.<Void>completedFuture(null);
+        }).thenCompose(next -> next));
     }
 }
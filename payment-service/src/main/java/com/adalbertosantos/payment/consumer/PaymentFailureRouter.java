@@ -0,0 +1,87 @@
+package com.adalbertosantos.payment.consumer;
+
+import com.adalbertosantos.events.codec.BinaryEventCodec;
+import com.adalbertosantos.events.order.OrderCreatedEvent;
+import com.adalbertosantos.payment.application.PaymentProcessor;
+import com.adalbertosantos.payment.infrastructure.messaging.DeadLetterPublisher;
+import com.adalbertosantos.payment.infrastructure.messaging.PaymentRetryPublisher;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+// Decides where a record whose payment attempt failed goes next: the next retry tier while there is one,
+// then payment.dlq with the payment FAILED, which a replay of the dead letter can reopen. A returned future
+// fails only when the record could not be dead-lettered, and the InFlightWindow then leaves its offset
+// uncommitted.
+@Component
+public class PaymentFailureRouter {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentFailureRouter.class);
+
+    private final PaymentRetryPublisher retryPublisher;
+    private final DeadLetterPublisher deadLetterPublisher;
+    private final PaymentProcessor paymentProcessor;
+
+    public PaymentFailureRouter(PaymentRetryPublisher retryPublisher,
+                                DeadLetterPublisher deadLetterPublisher,
+                                PaymentProcessor paymentProcessor) {
+        this.retryPublisher = retryPublisher;
+        this.deadLetterPublisher = deadLetterPublisher;
+        this.paymentProcessor = paymentProcessor;
+    }
+
+    public CompletableFuture<Void> paymentFailed(ConsumerRecord<String, byte[]> record, Throwable error) {
+        Throwable cause = unwrap(error);
+        String reason = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+        logger.error("Payment attempt failed for key: {}", record.key(), cause);
+
+        if (!retryPublisher.hasAttemptsLeft(record)) {
+            return exhausted(record, reason);
+        }
+        try {
+            return retryPublisher.publishForRetry(record, reason)
+                .handle((sent, sendError) -> sendError)
+                .thenCompose(sendError -> {
+                    if (sendError == null) {
+                        return CompletableFuture.<Void>completedFuture(null);
+                    }
+                    logger.error("Failed to publish to retry topic - Key: {}", record.key(), sendError);
+                    return deadLetterPublisher.publishToDeadLetter(record, reason);
+                });
+        } catch (Exception e) {
+            logger.error("Failed to publish to retry topic - Key: {}", record.key(), e);
+            return deadLetterPublisher.publishToDeadLetter(record, reason);
+        }
+    }
+
+    // Records that cannot be decoded would fail the same way on every attempt
+    public CompletableFuture<Void> unprocessable(ConsumerRecord<String, byte[]> record, Throwable error) {
+        Throwable cause = unwrap(error);
+        logger.error("Failed to process OrderCreatedEvent for key: {}", record.key(), cause);
+        return deadLetterPublisher.publishToDeadLetter(record, cause.getMessage());
+    }
+
+    private CompletableFuture<Void> exhausted(ConsumerRecord<String, byte[]> record, String reason) {
+        CompletableFuture<Void> failed;
+        try {
+            OrderCreatedEvent event = BinaryEventCodec.decode(record.value(), OrderCreatedEvent.class);
+            failed = paymentProcessor.exhaustPaymentAsync(event, reason);
+        } catch (RuntimeException e) {
+            failed = CompletableFuture.failedFuture(e);
+        }
+        return failed
+            .exceptionally(error -> {
+                logger.error("Failed to mark payment failed - Key: {}", record.key(), error);
+                return null;
+            })
+            .thenCompose(ignored -> deadLetterPublisher.publishToDeadLetter(record, reason));
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+}
@@ -0,0 +1,85 @@
+package com.adalbertosantos.payment.consumer;
+
+import com.adalbertosantos.events.envelope.EventDispatcher;
+import com.adalbertosantos.messaging.InFlightWindow;
+import com.adalbertosantos.messaging.InFlightWindows;
+import com.adalbertosantos.payment.application.PaymentProcessor;
+import com.adalbertosantos.payment.infrastructure.messaging.PaymentRetryPublisher;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// Redelivers records from the payment.retry.* tiers once they are due. A record that is not due yet waits
+// in the InFlightWindow, so a tier partition holds at most max-in-flight waiting records and is paused
+// beyond that; since a tier is in due order, the records behind them could not have gone sooner anyway.
+// A failure moves the record on to the next tier, so a slow provider never holds up order.created.
+@Component
+public class PaymentRetryConsumer {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentRetryConsumer.class);
+    private static final String LISTENER_ID = "payment-retry";
+
+    private final EventDispatcher eventDispatcher;
+    private final PaymentFailureRouter failureRouter;
+    private final InFlightWindow inFlightWindow;
+    private final ExecutorService redeliveryExecutor = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name("payment-retry-", 0).factory());
+
+    public PaymentRetryConsumer(PaymentProcessor paymentProcessor,
+                                PaymentFailureRouter failureRouter,
+                                InFlightWindows inFlightWindows,
+                                @Value("${payment.retry.max-in-flight:256}") int maxInFlight) {
+        this.eventDispatcher = OrderCreatedConsumer.paymentDispatcher(paymentProcessor);
+        this.failureRouter = failureRouter;
+        this.inFlightWindow = inFlightWindows.forListener(LISTENER_ID, maxInFlight);
+    }
+
+    @KafkaListener(
+        id = LISTENER_ID,
+        topics = "#{@paymentRetryPublisher.topics()}",
+        groupId = "payment-service-group",
+        containerFactory = "kafkaListenerContainerFactory"
+    )
+    public void consumeRetry(ConsumerRecord<String, byte[]> record, Acknowledgment acknowledgment) {
+        Duration wait = Duration.between(Instant.now(), PaymentRetryPublisher.dueAt(record));
+        logger.info("Received payment retry - Topic: {}, Key: {}, Offset: {}, Due in: {}",
+            record.topic(), record.key(), record.offset(), wait.isNegative() ? Duration.ZERO : wait);
+
+        CompletableFuture<Void> completion = CompletableFuture
+            .runAsync(() -> { }, wait.isNegative() || wait.isZero()
+                ? redeliveryExecutor
+                : CompletableFuture.delayedExecutor(wait.toMillis(), TimeUnit.MILLISECONDS, redeliveryExecutor))
+            .thenCompose(due -> redeliver(record));
+        inFlightWindow.submit(record, acknowledgment, completion);
+    }
+
+    private CompletableFuture<Void> redeliver(ConsumerRecord<String, byte[]> record) {
+        CompletableFuture<EventDispatcher.Outcome> outcome;
+        try {
+            outcome = eventDispatcher.dispatchAsync(record.headers(), record.value());
+        } catch (Exception e) {
+            return failureRouter.unprocessable(record, e);
+        }
+        return outcome.handle((result, error) -> error != null
+                ? failureRouter.paymentFailed(record, error)
+                : CompletableFuture.<Void>completedFuture(null))
+            .thenCompose(next -> next);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        redeliveryExecutor.shutdown();
+    }
+}
@@ -1,5 +1,7 @@
 package com.adalbertosantos.payment.domain;
 
+import com.adalbertosantos.events.money.Money;
+import com.adalbertosantos.events.money.MoneyConverter;
 import jakarta.persistence.*;
 import java.time.Instant;
 import java.util.UUID;
@@ -15,8 +17,13 @@ public class Payment {
     @Column(name = "order_id", nullable = false)
     private UUID orderId;
 
-    @Column(nullable = false)
-    private double amount;
+    // Kept so a payment interrupted mid-call can be sent to the provider again
+    @Column(name = "customer_id")
+    private UUID customerId;
+
+    @Convert(converter = MoneyConverter.class)
+    @Column(nullable = false, precision = 10, scale = 2)
+    private Money amount;
 
     @Column(name = "payment_method")
     private String paymentMethod;
@@ -31,6 +38,11 @@ public class Payment {
     @Column(name = "failure_reason")
     private String failureReason;
 
+    // Failed because every retry tier errored, not because the provider declined; a replay of its
+    // payment.dlq record may reopen it
+    @Column(name = "retries_exhausted", nullable = false)
+    private boolean retriesExhausted;
+
     @Column(name = "created_at", nullable = false)
     private Instant createdAt;
 
@@ -64,11 +76,19 @@ public class Payment {
         this.orderId = orderId;
     }
 
-    public double getAmount() {
+    public UUID getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(UUID customerId) {
+        this.customerId = customerId;
+    }
+
+    public Money getAmount() {
         return amount;
     }
 
-    public void setAmount(double amount) {
+    public void setAmount(Money amount) {
         this.amount = amount;
     }
 
@@ -104,6 +124,14 @@ public class Payment {
         this.failureReason = failureReason;
     }
 
+    public boolean isRetriesExhausted() {
+        return retriesExhausted;
+    }
+
+    public void setRetriesExhausted(boolean retriesExhausted) {
+        this.retriesExhausted = retriesExhausted;
+    }
+
     public Instant getCreatedAt() {
         return createdAt;
     }
@@ -1,12 +1,56 @@
 package com.adalbertosantos.payment.domain;
 
+import com.adalbertosantos.payment.domain.Payment.PaymentStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, UUID> {
     Optional<Payment> findByOrderId(UUID orderId);
+
+    List<Payment> findByStatusAndUpdatedAtBefore(PaymentStatus status, Instant cutoff, Pageable pageable);
+
+    // Only the caller that moves the payment out of `from` gets 1 back, so the outcome is published once
+    // even when the consumer and the recovery sweeper finish the same payment
+    @Transactional
+    @Modifying
+    @Query("UPDATE Payment p SET p.status = :to, p.providerTransactionId = :providerTransactionId, "
+        + "p.failureReason = :failureReason, p.updatedAt = :updatedAt "
+        + "WHERE p.paymentId = :paymentId AND p.status = :from")
+    int transition(UUID paymentId, PaymentStatus from, PaymentStatus to, String providerTransactionId,
+                   String failureReason, Instant updatedAt);
+
+    // Fails a payment whose every retry errored, marking it as one a DLQ replay may reopen
+    @Transactional
+    @Modifying
+    @Query("UPDATE Payment p SET p.status = com.adalbertosantos.payment.domain.Payment.PaymentStatus.FAILED, "
+        + "p.failureReason = :failureReason, p.retriesExhausted = true, p.updatedAt = :updatedAt "
+        + "WHERE p.paymentId = :paymentId "
+        + "AND p.status = com.adalbertosantos.payment.domain.Payment.PaymentStatus.PROCESSING")
+    int exhaust(UUID paymentId, String failureReason, Instant updatedAt);
+
+    // Only one replay of the same dead letter gets 1 back and goes on to call the provider
+    @Transactional
+    @Modifying
+    @Query("UPDATE Payment p SET p.status = com.adalbertosantos.payment.domain.Payment.PaymentStatus.PROCESSING, "
+        + "p.failureReason = null, p.retriesExhausted = false, p.updatedAt = :updatedAt "
+        + "WHERE p.paymentId = :paymentId AND p.retriesExhausted = true "
+        + "AND p.status = com.adalbertosantos.payment.domain.Payment.PaymentStatus.FAILED")
+    int reopen(UUID paymentId, Instant updatedAt);
+
+    // Claims a stuck payment for one sweeper by moving its updatedAt past the value that sweeper read
+    @Transactional
+    @Modifying
+    @Query("UPDATE Payment p SET p.updatedAt = :updatedAt "
+        + "WHERE p.paymentId = :paymentId AND p.status = :status AND p.updatedAt = :seenUpdatedAt")
+    int claim(UUID paymentId, PaymentStatus status, Instant seenUpdatedAt, Instant updatedAt);
 }
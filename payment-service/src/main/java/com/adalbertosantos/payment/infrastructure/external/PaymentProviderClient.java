@@ -1,41 +1,118 @@
 package com.adalbertosantos.payment.infrastructure.external;
 
+import com.adalbertosantos.events.money.Money;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.util.Random;
+import java.time.Duration;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
+// Simulated provider. Calls are answered from a timer after a latency drawn uniformly from
+// [latency-min, latency-max], except for slow-rate of calls which take slow-latency, so no thread waits
+// on a call in progress. decline-rate of calls are declined and error-rate fail outright. Like a real
+// provider it keys calls by payment id: a payment sent again gets the outcome of its first call, which is
+// remembered for idempotency-retention, up to idempotency-max-keys payments. Errors are not remembered,
+// since nothing was charged.
 @Component
 public class PaymentProviderClient {
 
     private static final Logger logger = LoggerFactory.getLogger(PaymentProviderClient.class);
-    private final Random random = new Random();
 
-    public PaymentResult processPayment(UUID orderId, double amount, UUID customerId) {
-        logger.info("Processing payment with external provider - Order: {}, Amount: {}", orderId, amount);
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("payment-provider").daemon().factory());
+    private final long latencyMinMicros;
+    private final long latencyMaxMicros;
+    private final double slowRate;
+    private final long slowLatencyMicros;
+    private final double declineRate;
+    private final double errorRate;
+    private final Cache<UUID, CompletableFuture<PaymentResult>> outcomes;
 
+    public PaymentProviderClient(@Value("${payment.provider.latency-min:100ms}") Duration latencyMin,
+                                 @Value("${payment.provider.latency-max:300ms}") Duration latencyMax,
+                                 @Value("${payment.provider.slow-rate:0}") double slowRate,
+                                 @Value("${payment.provider.slow-latency:2s}") Duration slowLatency,
+                                 @Value("${payment.provider.decline-rate:0.1}") double declineRate,
+                                 @Value("${payment.provider.error-rate:0}") double errorRate,
+                                 @Value("${payment.provider.idempotency-retention:24h}") Duration idempotencyRetention,
+                                 @Value("${payment.provider.idempotency-max-keys:100000}") long idempotencyMaxKeys) {
+        this.latencyMinMicros = TimeUnit.NANOSECONDS.toMicros(latencyMin.toNanos());
+        this.latencyMaxMicros = Math.max(latencyMinMicros, TimeUnit.NANOSECONDS.toMicros(latencyMax.toNanos()));
+        this.slowRate = slowRate;
+        this.slowLatencyMicros = TimeUnit.NANOSECONDS.toMicros(slowLatency.toNanos());
+        this.declineRate = declineRate;
+        this.errorRate = errorRate;
+        this.outcomes = Caffeine.newBuilder()
+            .maximumSize(idempotencyMaxKeys)
+            .expireAfterWrite(idempotencyRetention)
+            .build();
+    }
+
+    // The payment id goes to the provider as its idempotency key, so a payment that is sent again after a
+    // crash is answered with the first outcome instead of being charged twice
+    public CompletableFuture<PaymentResult> processPaymentAsync(UUID paymentId, UUID orderId, Money amount, UUID customerId) {
+        logger.info("Processing payment with external provider - Payment: {}, Order: {}, Amount: {}",
+            paymentId, orderId, amount);
+
+        CompletableFuture<PaymentResult> outcome = outcomes.get(paymentId, this::call);
+        outcome.whenComplete((answered, error) -> {
+            if (error != null) {
+                outcomes.asMap().remove(paymentId, outcome);
+            }
+        });
+        // A copy, so a caller completing its future cannot change what the next call for the payment sees
+        return outcome.copy();
+    }
+
+    private CompletableFuture<PaymentResult> call(UUID paymentId) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long latency = random.nextDouble() < slowRate
+            ? slowLatencyMicros
+            : latencyMinMicros + random.nextLong(latencyMaxMicros - latencyMinMicros + 1);
+        CompletableFuture<PaymentResult> result = new CompletableFuture<>();
+        timer.schedule(() -> answer(result), latency, TimeUnit.MICROSECONDS);
+        return result;
+    }
+
+    public PaymentResult processPayment(UUID paymentId, UUID orderId, Money amount, UUID customerId) {
         try {
-            Thread.sleep(100 + random.nextInt(200));
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new RuntimeException("Payment processing interrupted", e);
+            return processPaymentAsync(paymentId, orderId, amount, customerId).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
         }
+    }
 
-        boolean success = random.nextDouble() > 0.1;
-
-        if (success) {
-            String transactionId = "TXN-" + UUID.randomUUID().toString().substring(0, 8);
-            logger.info("Payment provider succeeded - Transaction: {}", transactionId);
-            return new PaymentResult(true, transactionId, null);
-        } else {
+    private void answer(CompletableFuture<PaymentResult> result) {
+        double outcome = ThreadLocalRandom.current().nextDouble();
+        if (outcome < errorRate) {
+            result.completeExceptionally(new IllegalStateException("Payment provider unavailable"));
+        } else if (outcome < errorRate + declineRate) {
             String errorMessage = "Insufficient funds";
             logger.warn("Payment provider failed - Reason: {}", errorMessage);
-            return new PaymentResult(false, null, errorMessage);
+            result.complete(new PaymentResult(false, null, errorMessage));
+        } else {
+            String transactionId = "TXN-" + UUID.randomUUID().toString().substring(0, 8);
+            logger.info("Payment provider succeeded - Transaction: {}", transactionId);
+            result.complete(new PaymentResult(true, transactionId, null));
         }
     }
 
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+    }
+
     public static class PaymentResult {
         private final boolean success;
         private final String transactionId;
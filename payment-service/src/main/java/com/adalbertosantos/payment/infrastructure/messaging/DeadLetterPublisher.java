@@ -1,39 +1,121 @@
 package com.adalbertosantos.payment.infrastructure.messaging;
 
+import com.adalbertosantos.events.codec.EventView;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class DeadLetterPublisher {
 
     private static final Logger logger = LoggerFactory.getLogger(DeadLetterPublisher.class);
-    private static final String DEAD_LETTER_TOPIC = "payment.dlq";
+    public static final String DEAD_LETTER_TOPIC = "payment.dlq";
 
-    private final KafkaTemplate<String, String> kafkaTemplate;
+    public static final String ORIGINAL_TOPIC_HEADER = "dlq-original-topic";
+    public static final String ORIGINAL_PARTITION_HEADER = "dlq-original-partition";
+    public static final String ORIGINAL_OFFSET_HEADER = "dlq-original-offset";
+    public static final String ATTEMPTS_HEADER = "dlq-attempts";
+    public static final String ERROR_HEADER = "dlq-error";
+    public static final String FAILED_AT_HEADER = "dlq-failed-at";
 
-    public DeadLetterPublisher(KafkaTemplate<String, String> kafkaTemplate) {
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final Duration sendRetryInterval;
+    private volatile boolean stopped;
+
+    public DeadLetterPublisher(KafkaTemplate<String, Object> kafkaTemplate,
+                               @Value("${payment.dlq.send-retry-interval:5s}") Duration sendRetryInterval) {
         this.kafkaTemplate = kafkaTemplate;
+        this.sendRetryInterval = sendRetryInterval;
+    }
+
+    // Keeps the original payload and envelope headers so the record can be replayed as-is. A record from a
+    // retry topic is recorded under the topic, partition and offset it was first consumed from. The future
+    // completes once the broker has the record; it fails only if that never happens, so callers can leave
+    // the original offset uncommitted.
+    public CompletableFuture<Void> publishToDeadLetter(ConsumerRecord<String, byte[]> record, String errorReason) {
+        List<Header> headers = new ArrayList<>();
+        try {
+            for (Header header : record.headers()) {
+                if (!header.key().startsWith("retry-")) {
+                    headers.add(header);
+                }
+            }
+            int attempts = PaymentRetryPublisher.attemptsOf(record);
+            headers.add(new RecordHeader(ORIGINAL_TOPIC_HEADER, utf8(PaymentRetryPublisher.originalTopic(record))));
+            headers.add(new RecordHeader(ORIGINAL_PARTITION_HEADER,
+                utf8(Integer.toString(PaymentRetryPublisher.originalPartition(record)))));
+            headers.add(new RecordHeader(ORIGINAL_OFFSET_HEADER,
+                utf8(Long.toString(PaymentRetryPublisher.originalOffset(record)))));
+            headers.add(new RecordHeader(ATTEMPTS_HEADER, utf8(Integer.toString(attempts))));
+            headers.add(new RecordHeader(ERROR_HEADER, utf8(errorReason != null ? errorReason : "unknown")));
+            headers.add(new RecordHeader(FAILED_AT_HEADER, utf8(Instant.now().toString())));
+
+            logger.warn("Publishing message to dead letter queue - Key: {}, Order: {}, Attempts: {}, Reason: {}",
+                record.key(), orderIdOf(record.value()), attempts, errorReason);
+        } catch (RuntimeException e) {
+            logger.error("Failed to build dead letter - Key: {}", record.key(), e);
+            return CompletableFuture.failedFuture(e);
+        }
+        CompletableFuture<Void> published = new CompletableFuture<>();
+        send(record, headers, published);
+        return published;
+    }
+
+    // The producer has already retried within its delivery timeout, so a failed send means the broker is
+    // unreachable for longer; the send is tried again every sendRetryInterval until it goes through. Each
+    // attempt gets a fresh ProducerRecord, since sending adds tracing headers to it.
+    private void send(ConsumerRecord<String, byte[]> record, List<Header> headers, CompletableFuture<Void> published) {
+        CompletableFuture<?> sent;
+        try {
+            sent = kafkaTemplate.send(new ProducerRecord<>(DEAD_LETTER_TOPIC, null, record.key(), record.value(), headers));
+        } catch (RuntimeException e) {
+            sent = CompletableFuture.failedFuture(e);
+        }
+        sent.whenComplete((result, error) -> {
+            if (error == null) {
+                published.complete(null);
+            } else if (stopped) {
+                logger.error("Failed to publish to dead letter queue, giving up on shutdown - Key: {}", record.key(), error);
+                published.completeExceptionally(error);
+            } else {
+                logger.error("Failed to publish to dead letter queue, retrying in {} - Key: {}",
+                    sendRetryInterval, record.key(), error);
+                CompletableFuture.delayedExecutor(sendRetryInterval.toMillis(), TimeUnit.MILLISECONDS)
+                    .execute(() -> send(record, headers, published));
+            }
+        });
     }
 
-    public void publishToDeadLetter(String originalTopic, String key, String message, String errorReason) {
+    @PreDestroy
+    public void shutdown() {
+        stopped = true;
+    }
+
+    // The record failed once already, so its payload may not decode; only the fixed-offset orderId is read
+    private static Object orderIdOf(byte[] payload) {
         try {
-            Map<String, Object> deadLetterMessage = new HashMap<>();
-            deadLetterMessage.put("originalTopic", originalTopic);
-            deadLetterMessage.put("originalKey", key);
-            deadLetterMessage.put("originalMessage", message);
-            deadLetterMessage.put("errorReason", errorReason);
-            deadLetterMessage.put("timestamp", Instant.now().toString());
-
-            kafkaTemplate.send(DEAD_LETTER_TOPIC, key, message);
-            logger.warn("Published message to dead letter queue - Key: {}, Reason: {}", key, errorReason);
-        } catch (Exception e) {
-            logger.error("Failed to publish to dead letter queue", e);
+            return EventView.of(payload).getOrderId();
+        } catch (RuntimeException e) {
+            return "unreadable";
         }
     }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
 }
@@ -1,11 +1,11 @@
 package com.adalbertosantos.payment.infrastructure.messaging;
 
+import com.adalbertosantos.events.envelope.EventEnvelope;
 import com.adalbertosantos.events.payment.PaymentFailedEvent;
 import com.adalbertosantos.events.payment.PaymentSucceededEvent;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
@@ -16,33 +16,24 @@ public class PaymentEventProducer {
     private static final String PAYMENT_SUCCEEDED_TOPIC = "payment.succeeded";
     private static final String PAYMENT_FAILED_TOPIC = "payment.failed";
 
-    private final KafkaTemplate<String, String> kafkaTemplate;
-    private final ObjectMapper objectMapper;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final String producerName;
 
-    public PaymentEventProducer(KafkaTemplate<String, String> kafkaTemplate, ObjectMapper objectMapper) {
+    public PaymentEventProducer(KafkaTemplate<String, Object> kafkaTemplate,
+                                @Value("${spring.application.name}") String producerName) {
         this.kafkaTemplate = kafkaTemplate;
-        this.objectMapper = objectMapper;
+        this.producerName = producerName;
     }
 
     public void sendPaymentSucceededEvent(PaymentSucceededEvent event) {
-        try {
-            String message = objectMapper.writeValueAsString(event);
-            kafkaTemplate.send(PAYMENT_SUCCEEDED_TOPIC, event.getOrderId().toString(), message);
-            logger.info("Sent PaymentSucceededEvent for order: {}", event.getOrderId());
-        } catch (JsonProcessingException e) {
-            logger.error("Failed to serialize PaymentSucceededEvent", e);
-            throw new RuntimeException("Failed to send payment succeeded event", e);
-        }
+        kafkaTemplate.send(EventEnvelope.forEvent(event, producerName)
+            .toRecord(PAYMENT_SUCCEEDED_TOPIC, event.orderId().toString(), event));
+        logger.info("Sent PaymentSucceededEvent for order: {}", event.orderId());
     }
 
     public void sendPaymentFailedEvent(PaymentFailedEvent event) {
-        try {
-            String message = objectMapper.writeValueAsString(event);
-            kafkaTemplate.send(PAYMENT_FAILED_TOPIC, event.getOrderId().toString(), message);
-            logger.info("Sent PaymentFailedEvent for order: {}", event.getOrderId());
-        } catch (JsonProcessingException e) {
-            logger.error("Failed to serialize PaymentFailedEvent", e);
-            throw new RuntimeException("Failed to send payment failed event", e);
-        }
+        kafkaTemplate.send(EventEnvelope.forEvent(event, producerName)
+            .toRecord(PAYMENT_FAILED_TOPIC, event.orderId().toString(), event));
+        logger.info("Sent PaymentFailedEvent for order: {}", event.orderId());
     }
 }
@@ -0,0 +1,160 @@
+package com.adalbertosantos.payment.infrastructure.messaging;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+// Sends a failed record to the delay topic for its next attempt: the first failure goes to the first
+// tier, a failure there to the second, and so on. Every record in a tier waits the same delay, so each
+// tier partition is already in due order and its consumer only ever waits on the record at its head.
+// The headers carry the attempt count and where the record was first consumed, for the dead letter.
+@Component
+public class PaymentRetryPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentRetryPublisher.class);
+    private static final String TOPIC_PREFIX = "payment.retry.";
+
+    public static final String ATTEMPTS_HEADER = "retry-attempts";
+    public static final String DUE_AT_HEADER = "retry-due-at";
+    public static final String ERROR_HEADER = "retry-error";
+    public static final String ORIGINAL_TOPIC_HEADER = "retry-original-topic";
+    public static final String ORIGINAL_PARTITION_HEADER = "retry-original-partition";
+    public static final String ORIGINAL_OFFSET_HEADER = "retry-original-offset";
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final List<Duration> delays;
+    private final List<String> topics;
+
+    public PaymentRetryPublisher(KafkaTemplate<String, Object> kafkaTemplate,
+                                 @Value("${payment.retry.delays:5s,1m}") List<Duration> delays) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.delays = List.copyOf(delays);
+        this.topics = this.delays.stream().map(PaymentRetryPublisher::topicFor).toList();
+    }
+
+    public List<String> topics() {
+        return topics;
+    }
+
+    // payment.retry.5s, payment.retry.1m, payment.retry.2h
+    public static String topicFor(Duration delay) {
+        long seconds = delay.toSeconds();
+        if (seconds > 0 && seconds % 3600 == 0) {
+            return TOPIC_PREFIX + seconds / 3600 + "h";
+        }
+        if (seconds > 0 && seconds % 60 == 0) {
+            return TOPIC_PREFIX + seconds / 60 + "m";
+        }
+        if (seconds > 0 && delay.toMillis() % 1000 == 0) {
+            return TOPIC_PREFIX + seconds + "s";
+        }
+        return TOPIC_PREFIX + delay.toMillis() + "ms";
+    }
+
+    // Attempts already made, counting the delivery that produced this record
+    public static int attemptsOf(ConsumerRecord<?, ?> record) {
+        String attempts = header(record.headers(), ATTEMPTS_HEADER);
+        return attempts != null ? Integer.parseInt(attempts) + 1 : 1;
+    }
+
+    public static Instant dueAt(ConsumerRecord<?, ?> record) {
+        String dueAt = header(record.headers(), DUE_AT_HEADER);
+        return dueAt != null ? Instant.ofEpochMilli(Long.parseLong(dueAt)) : Instant.EPOCH;
+    }
+
+    public boolean hasAttemptsLeft(ConsumerRecord<?, ?> record) {
+        return attemptsOf(record) <= delays.size();
+    }
+
+    // Completes once the broker has the record, so the failed one is only committed after that
+    public CompletableFuture<?> publishForRetry(ConsumerRecord<String, byte[]> record, String errorReason) {
+        int attempts = attemptsOf(record);
+        if (attempts > delays.size()) {
+            throw new IllegalStateException("No retry tier left after " + attempts + " attempts");
+        }
+        Duration delay = delays.get(attempts - 1);
+        String topic = topics.get(attempts - 1);
+
+        ProducerRecord<String, Object> retry = new ProducerRecord<>(topic, record.key(), record.value());
+        for (Header header : record.headers()) {
+            if (!header.key().startsWith("retry-")) {
+                retry.headers().add(header);
+            }
+        }
+        Headers headers = retry.headers();
+        headers.add(ORIGINAL_TOPIC_HEADER, utf8(originalTopic(record)))
+            .add(ORIGINAL_PARTITION_HEADER, utf8(Integer.toString(originalPartition(record))))
+            .add(ORIGINAL_OFFSET_HEADER, utf8(Long.toString(originalOffset(record))))
+            .add(ATTEMPTS_HEADER, utf8(Integer.toString(attempts)))
+            .add(DUE_AT_HEADER, utf8(Long.toString(Instant.now().plus(delay).toEpochMilli())))
+            .add(ERROR_HEADER, utf8(errorReason != null ? errorReason : "unknown"));
+
+        logger.warn("Retrying payment in {} - Key: {}, Attempts: {}, Reason: {}",
+            delay, record.key(), attempts, errorReason);
+        return kafkaTemplate.send(retry);
+    }
+
+    // Puts a dead letter back into the first tier, due now and with no attempts counted, so it gets every
+    // retry again. Only payment-service consumes the tiers, so other order.created consumers never see it.
+    public ProducerRecord<String, Object> redriveRecord(ConsumerRecord<String, byte[]> deadLetter) {
+        ProducerRecord<String, Object> redrive = new ProducerRecord<>(topics.get(0), deadLetter.key(), deadLetter.value());
+        for (Header header : deadLetter.headers()) {
+            if (!header.key().startsWith("dlq-") && !header.key().startsWith("retry-")) {
+                redrive.headers().add(header);
+            }
+        }
+        String error = header(deadLetter.headers(), DeadLetterPublisher.ERROR_HEADER);
+        redrive.headers()
+            .add(ORIGINAL_TOPIC_HEADER, utf8(deadLetterHeader(deadLetter, DeadLetterPublisher.ORIGINAL_TOPIC_HEADER,
+                originalTopic(deadLetter))))
+            .add(ORIGINAL_PARTITION_HEADER, utf8(deadLetterHeader(deadLetter,
+                DeadLetterPublisher.ORIGINAL_PARTITION_HEADER, Integer.toString(originalPartition(deadLetter)))))
+            .add(ORIGINAL_OFFSET_HEADER, utf8(deadLetterHeader(deadLetter, DeadLetterPublisher.ORIGINAL_OFFSET_HEADER,
+                Long.toString(originalOffset(deadLetter)))))
+            .add(ATTEMPTS_HEADER, utf8("0"))
+            .add(DUE_AT_HEADER, utf8(Long.toString(Instant.now().toEpochMilli())))
+            .add(ERROR_HEADER, utf8(error != null ? error : "unknown"));
+        return redrive;
+    }
+
+    public static String originalTopic(ConsumerRecord<?, ?> record) {
+        String topic = header(record.headers(), ORIGINAL_TOPIC_HEADER);
+        return topic != null ? topic : record.topic();
+    }
+
+    public static int originalPartition(ConsumerRecord<?, ?> record) {
+        String partition = header(record.headers(), ORIGINAL_PARTITION_HEADER);
+        return partition != null ? Integer.parseInt(partition) : record.partition();
+    }
+
+    public static long originalOffset(ConsumerRecord<?, ?> record) {
+        String offset = header(record.headers(), ORIGINAL_OFFSET_HEADER);
+        return offset != null ? Long.parseLong(offset) : record.offset();
+    }
+
+    private static String header(Headers headers, String key) {
+        Header header = headers.lastHeader(key);
+        return header != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
+    }
+
+    private static String deadLetterHeader(ConsumerRecord<?, ?> deadLetter, String key, String fallback) {
+        String value = header(deadLetter.headers(), key);
+        return value != null ? value : fallback;
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,183 @@
+package com.adalbertosantos.payment;
+
+import com.adalbertosantos.events.codec.BinaryEventCodec;
+import com.adalbertosantos.events.money.Money;
+import com.adalbertosantos.events.order.OrderCreatedEvent;
+import com.adalbertosantos.payment.application.DeadLetterReplay;
+import com.adalbertosantos.payment.application.DeadLetterReplayer;
+import com.adalbertosantos.payment.application.PaymentProcessor;
+import com.adalbertosantos.payment.infrastructure.messaging.DeadLetterPublisher;
+import com.adalbertosantos.payment.infrastructure.messaging.PaymentRetryPublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DeadLetterReplayerTest {
+
+    private static final TopicPartition DLQ = new TopicPartition(DeadLetterPublisher.DEAD_LETTER_TOPIC, 0);
+
+    @Mock
+    private ConsumerFactory<String, byte[]> consumerFactory;
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Mock
+    private PaymentProcessor paymentProcessor;
+
+    private final MockConsumer<String, byte[]> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private DeadLetterReplayer replayer;
+
+    @BeforeEach
+    void setUp() {
+        PaymentRetryPublisher retryPublisher =
+                new PaymentRetryPublisher(kafkaTemplate, List.of(Duration.ofSeconds(5), Duration.ofMinutes(1)));
+        replayer = new DeadLetterReplayer(consumerFactory, kafkaTemplate, retryPublisher, paymentProcessor,
+                meterRegistry, 1000, 4, 16);
+        consumer.updatePartitions(DLQ.topic(), List.of(new PartitionInfo(DLQ.topic(), 0, null, null, null)));
+        consumer.updateBeginningOffsets(Map.of(DLQ, 0L));
+        consumer.updateEndOffsets(Map.of(DLQ, 4L));
+    }
+
+    @Test
+    void testReplaysMatchingDeadLettersThroughTheFirstRetryTierDueNow() throws InterruptedException {
+        when(consumerFactory.createConsumer(isNull(), anyString(), anyString(), any(Properties.class))).thenReturn(consumer);
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(null));
+        consumer.schedulePollTask(() -> {
+            consumer.addRecord(deadLetter(0, "Payment provider unavailable"));
+            consumer.addRecord(deadLetter(1, "Unknown event type"));
+            consumer.addRecord(deadLetter(2, "Payment provider unavailable"));
+            consumer.addRecord(deadLetter(3, "Payment provider unavailable"));
+        });
+
+        DeadLetterReplay replay = replayer.start(new DeadLetterReplay.Request(DeadLetterReplay.Target.RETRY,
+                null, null, 2L, null, null, null, "provider", null, null));
+        awaitFinished(replay);
+
+        assertEquals(DeadLetterReplay.State.COMPLETED, replay.getState());
+        assertEquals(3, replay.getScanned());
+        assertEquals(2, replay.getMatched());
+        assertEquals(2, replay.getReplayed());
+        assertEquals(0, replay.getRemaining());
+        assertEquals(1.0, meterRegistry.counter("payment.dlq.replay.records", "outcome", "skipped").count());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<ProducerRecord<String, Object>> sent = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate, times(2)).send(sent.capture());
+        ProducerRecord<String, Object> first = sent.getAllValues().get(0);
+        assertEquals("payment.retry.5s", first.topic());
+        assertEquals("order-0", first.key());
+        assertNull(first.headers().lastHeader(DeadLetterPublisher.ERROR_HEADER));
+        assertNotNull(first.headers().lastHeader("event-type"));
+        assertEquals("order.created", header(first, PaymentRetryPublisher.ORIGINAL_TOPIC_HEADER));
+        assertEquals("0", header(first, PaymentRetryPublisher.ATTEMPTS_HEADER));
+        assertFalse(Long.parseLong(header(first, PaymentRetryPublisher.DUE_AT_HEADER)) > System.currentTimeMillis());
+        assertEquals(replay.getId(), new String(
+                first.headers().lastHeader(DeadLetterReplayer.REPLAY_ID_HEADER).value(), StandardCharsets.UTF_8));
+        verifyNoInteractions(paymentProcessor);
+    }
+
+    @Test
+    void testProcessorReplaysFailTheirPaymentAgainWhenTheProviderStillErrors() throws InterruptedException {
+        OrderCreatedEvent recovered = orderCreated();
+        OrderCreatedEvent stillFailing = orderCreated();
+        when(consumerFactory.createConsumer(isNull(), anyString(), anyString(), any(Properties.class))).thenReturn(consumer);
+        when(paymentProcessor.processPaymentAsync(recovered)).thenReturn(CompletableFuture.completedFuture(null));
+        when(paymentProcessor.processPaymentAsync(stillFailing))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Payment provider unavailable")));
+        when(paymentProcessor.exhaustPaymentAsync(stillFailing, "Payment provider unavailable"))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        consumer.schedulePollTask(() -> {
+            consumer.addRecord(deadLetter(0, recovered));
+            consumer.addRecord(deadLetter(1, stillFailing));
+        });
+
+        DeadLetterReplay replay = replayer.start(new DeadLetterReplay.Request(DeadLetterReplay.Target.PROCESSOR,
+                null, null, 1L, null, null, null, null, null, null));
+        awaitFinished(replay);
+
+        assertEquals(DeadLetterReplay.State.COMPLETED, replay.getState());
+        assertEquals(2, replay.getMatched());
+        assertEquals(1, replay.getReplayed());
+        assertEquals(1, replay.getFailed());
+        assertEquals(1.0, meterRegistry.counter("payment.dlq.replay.records", "outcome", "failed").count());
+        verify(paymentProcessor).exhaustPaymentAsync(eq(stillFailing), anyString());
+        verify(paymentProcessor, never()).exhaustPaymentAsync(eq(recovered), anyString());
+        verifyNoInteractions(kafkaTemplate);
+    }
+
+    @Test
+    void testRejectsParallelismAboveTheConfiguredMaximum() {
+        assertThrows(IllegalArgumentException.class, () -> replayer.start(new DeadLetterReplay.Request(
+                DeadLetterReplay.Target.PROCESSOR, null, null, null, null, null, null, null, 100, 17)));
+        assertTrue(replayer.list().isEmpty());
+    }
+
+    private static ConsumerRecord<String, byte[]> deadLetter(long offset, String error) {
+        ConsumerRecord<String, byte[]> record =
+                new ConsumerRecord<>(DLQ.topic(), DLQ.partition(), offset, "order-" + offset, new byte[]{1});
+        record.headers()
+                .add("event-type", utf8("OrderCreatedEvent"))
+                .add(DeadLetterPublisher.ORIGINAL_TOPIC_HEADER, utf8("order.created"))
+                .add(DeadLetterPublisher.ERROR_HEADER, utf8(error));
+        return record;
+    }
+
+    private static ConsumerRecord<String, byte[]> deadLetter(long offset, OrderCreatedEvent event) {
+        ConsumerRecord<String, byte[]> record = new ConsumerRecord<>(DLQ.topic(), DLQ.partition(), offset,
+                event.orderId().toString(), BinaryEventCodec.encode(event));
+        record.headers()
+                .add("event-type", utf8("OrderCreatedEvent"))
+                .add(DeadLetterPublisher.ORIGINAL_TOPIC_HEADER, utf8("order.created"))
+                .add(DeadLetterPublisher.ERROR_HEADER, utf8("Payment provider unavailable"));
+        return record;
+    }
+
+    private static OrderCreatedEvent orderCreated() {
+        return new OrderCreatedEvent(UUID.randomUUID(), UUID.randomUUID(), List.of(), Money.parse("42.00"));
+    }
+
+    private static String header(ProducerRecord<String, Object> record, String key) {
+        return new String(record.headers().lastHeader(key).value(), StandardCharsets.UTF_8);
+    }
+
+    private static void awaitFinished(DeadLetterReplay replay) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (replay.getState() == DeadLetterReplay.State.RUNNING && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,127 @@
+package com.adalbertosantos.payment;
+
+import com.adalbertosantos.events.codec.BinaryEventCodec;
+import com.adalbertosantos.events.money.Money;
+import com.adalbertosantos.events.order.OrderCreatedEvent;
+import com.adalbertosantos.payment.application.PaymentProcessor;
+import com.adalbertosantos.payment.consumer.PaymentFailureRouter;
+import com.adalbertosantos.payment.infrastructure.messaging.DeadLetterPublisher;
+import com.adalbertosantos.payment.infrastructure.messaging.PaymentRetryPublisher;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentFailureRouterTest {
+
+    private static final OrderCreatedEvent EVENT = new OrderCreatedEvent(
+            UUID.randomUUID(), UUID.randomUUID(), List.of(), Money.parse("42.00"));
+    private static final String REASON = "Payment provider unavailable";
+
+    @Mock
+    private PaymentRetryPublisher retryPublisher;
+
+    @Mock
+    private DeadLetterPublisher deadLetterPublisher;
+
+    @Mock
+    private PaymentProcessor paymentProcessor;
+
+    private final ConsumerRecord<String, byte[]> record =
+            new ConsumerRecord<>("order.created", 0, 7L, "order-1", BinaryEventCodec.encode(EVENT));
+    private PaymentFailureRouter router;
+
+    @BeforeEach
+    void setUp() {
+        router = new PaymentFailureRouter(retryPublisher, deadLetterPublisher, paymentProcessor);
+    }
+
+    @Test
+    void testFailuresWithAttemptsLeftGoToTheNextRetryTier() {
+        when(retryPublisher.hasAttemptsLeft(record)).thenReturn(true);
+        doReturn(CompletableFuture.completedFuture(null)).when(retryPublisher).publishForRetry(record, REASON);
+
+        CompletableFuture<Void> routed = router.paymentFailed(record, failure());
+
+        assertDoesNotThrow(routed::join);
+        verifyNoInteractions(deadLetterPublisher, paymentProcessor);
+    }
+
+    @Test
+    void testRecordsGoToTheDeadLetterQueueWhenTheRetrySendFails() {
+        when(retryPublisher.hasAttemptsLeft(record)).thenReturn(true);
+        doReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")))
+                .when(retryPublisher).publishForRetry(record, REASON);
+        when(deadLetterPublisher.publishToDeadLetter(record, REASON)).thenReturn(CompletableFuture.completedFuture(null));
+
+        assertDoesNotThrow(router.paymentFailed(record, failure())::join);
+
+        verify(deadLetterPublisher).publishToDeadLetter(record, REASON);
+        verifyNoInteractions(paymentProcessor);
+    }
+
+    @Test
+    void testRecordsGoToTheDeadLetterQueueWhenTheRetrySendThrows() {
+        when(retryPublisher.hasAttemptsLeft(record)).thenReturn(true);
+        when(retryPublisher.publishForRetry(record, REASON)).thenThrow(new IllegalStateException("serializer"));
+        when(deadLetterPublisher.publishToDeadLetter(record, REASON)).thenReturn(CompletableFuture.completedFuture(null));
+
+        assertDoesNotThrow(router.paymentFailed(record, failure())::join);
+
+        verify(deadLetterPublisher).publishToDeadLetter(record, REASON);
+    }
+
+    @Test
+    void testExhaustedRecordsFailTheirPaymentBeforeGoingToTheDeadLetterQueue() {
+        when(retryPublisher.hasAttemptsLeft(record)).thenReturn(false);
+        when(paymentProcessor.exhaustPaymentAsync(EVENT, REASON)).thenReturn(CompletableFuture.completedFuture(null));
+        when(deadLetterPublisher.publishToDeadLetter(record, REASON)).thenReturn(CompletableFuture.completedFuture(null));
+
+        assertDoesNotThrow(router.paymentFailed(record, failure())::join);
+
+        InOrder inOrder = inOrder(paymentProcessor, deadLetterPublisher);
+        inOrder.verify(paymentProcessor).exhaustPaymentAsync(EVENT, REASON);
+        inOrder.verify(deadLetterPublisher).publishToDeadLetter(record, REASON);
+        verify(retryPublisher, never()).publishForRetry(any(), any());
+    }
+
+    @Test
+    void testExhaustedRecordsAreDeadLetteredEvenIfFailingThePaymentFails() {
+        when(retryPublisher.hasAttemptsLeft(record)).thenReturn(false);
+        when(paymentProcessor.exhaustPaymentAsync(EVENT, REASON))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("database down")));
+        when(deadLetterPublisher.publishToDeadLetter(record, REASON)).thenReturn(CompletableFuture.completedFuture(null));
+
+        assertDoesNotThrow(router.paymentFailed(record, failure())::join);
+
+        verify(deadLetterPublisher).publishToDeadLetter(record, REASON);
+    }
+
+    @Test
+    void testAFailedDeadLetterSendFailsTheReturnedFuture() {
+        when(deadLetterPublisher.publishToDeadLetter(record, "Unknown event type"))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        CompletableFuture<Void> routed = router.unprocessable(record, new IllegalArgumentException("Unknown event type"));
+
+        assertThrows(CompletionException.class, routed::join);
+    }
+
+    // Failures reach the router wrapped the way a failed CompletableFuture stage delivers them
+    private static Throwable failure() {
+        return new CompletionException(new IllegalStateException(REASON));
+    }
+}
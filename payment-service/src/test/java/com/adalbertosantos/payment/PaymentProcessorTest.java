@@ -0,0 +1,216 @@
+package com.adalbertosantos.payment;
+
+import com.adalbertosantos.events.money.Money;
+import com.adalbertosantos.events.order.OrderCreatedEvent;
+import com.adalbertosantos.events.payment.PaymentSucceededEvent;
+import com.adalbertosantos.payment.application.PaymentProcessor;
+import com.adalbertosantos.payment.domain.Payment;
+import com.adalbertosantos.payment.domain.Payment.PaymentStatus;
+import com.adalbertosantos.payment.domain.PaymentRepository;
+import com.adalbertosantos.payment.infrastructure.external.PaymentProviderClient;
+import com.adalbertosantos.payment.infrastructure.external.PaymentProviderClient.PaymentResult;
+import com.adalbertosantos.payment.infrastructure.messaging.PaymentEventProducer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentProcessorTest {
+
+    private static final OrderCreatedEvent EVENT = new OrderCreatedEvent(
+            UUID.randomUUID(), UUID.randomUUID(), List.of(), Money.parse("42.00"));
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private PaymentProviderClient paymentProviderClient;
+
+    @Mock
+    private PaymentEventProducer eventProducer;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private PaymentProcessor paymentProcessor;
+
+    @BeforeEach
+    void setUp() {
+        paymentProcessor = new PaymentProcessor(paymentRepository, paymentProviderClient, eventProducer, transactionManager);
+    }
+
+    @Test
+    void testProviderIsCalledAfterProcessingIsCommitted() {
+        SimpleTransactionStatus transaction = new SimpleTransactionStatus();
+        when(transactionManager.getTransaction(any())).thenReturn(transaction);
+        when(paymentRepository.findByOrderId(EVENT.orderId())).thenReturn(Optional.empty());
+        when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(paymentProviderClient.processPaymentAsync(any(), eq(EVENT.orderId()), eq(EVENT.totalAmount()), eq(EVENT.customerId())))
+                .thenReturn(CompletableFuture.completedFuture(new PaymentResult(true, "TXN-1", null)));
+        when(paymentRepository.transition(any(), eq(PaymentStatus.PROCESSING), eq(PaymentStatus.SUCCEEDED),
+                eq("TXN-1"), isNull(), any())).thenReturn(1);
+
+        paymentProcessor.processPaymentAsync(EVENT).join();
+
+        InOrder inOrder = inOrder(transactionManager, paymentRepository, paymentProviderClient, eventProducer);
+        inOrder.verify(paymentRepository).save(argThatIs(PaymentStatus.PROCESSING));
+        inOrder.verify(transactionManager).commit(transaction);
+        inOrder.verify(paymentProviderClient).processPaymentAsync(any(), any(), any(), any());
+        inOrder.verify(paymentRepository).transition(any(), any(), any(), any(), any(), any());
+        inOrder.verify(eventProducer).sendPaymentSucceededEvent(any(PaymentSucceededEvent.class));
+        verify(transactionManager, times(1)).getTransaction(any());
+    }
+
+    @Test
+    void testRedeliveredEventsDoNotChargeCompletedPaymentsAgain() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(paymentRepository.findByOrderId(EVENT.orderId())).thenReturn(Optional.of(payment(PaymentStatus.SUCCEEDED)));
+
+        assertTrue(paymentProcessor.processPaymentAsync(EVENT).isDone());
+
+        verifyNoInteractions(paymentProviderClient, eventProducer);
+        verify(paymentRepository, never()).save(any());
+    }
+
+    @Test
+    void testResumeOnlyPublishesForTheCallerThatCompletesThePayment() {
+        Payment stuck = payment(PaymentStatus.PROCESSING);
+        when(paymentRepository.claim(eq(stuck.getPaymentId()), eq(PaymentStatus.PROCESSING), eq(stuck.getUpdatedAt()), any()))
+                .thenReturn(1);
+        when(paymentProviderClient.processPayment(stuck.getPaymentId(), stuck.getOrderId(), stuck.getAmount(), stuck.getCustomerId()))
+                .thenReturn(new PaymentResult(false, null, "Insufficient funds"));
+        when(paymentRepository.transition(any(), any(), any(), any(), any(), any())).thenReturn(0);
+
+        paymentProcessor.resume(stuck);
+
+        verify(paymentRepository).transition(eq(stuck.getPaymentId()), eq(PaymentStatus.PROCESSING),
+                eq(PaymentStatus.FAILED), isNull(), eq("Insufficient funds"), any());
+        verifyNoInteractions(eventProducer, transactionManager);
+    }
+
+    @Test
+    void testResumeSkipsPaymentsClaimedByAnotherSweeper() {
+        Payment stuck = payment(PaymentStatus.PROCESSING);
+        when(paymentRepository.claim(any(), any(), any(), any())).thenReturn(0);
+
+        paymentProcessor.resume(stuck);
+
+        verifyNoInteractions(paymentProviderClient, eventProducer);
+    }
+
+    @Test
+    void testResumeThatCannotReachTheProviderLeavesThePaymentProcessingForTheNextSweep() {
+        Payment stuck = payment(PaymentStatus.PROCESSING);
+        when(paymentRepository.claim(eq(stuck.getPaymentId()), eq(PaymentStatus.PROCESSING), eq(stuck.getUpdatedAt()), any()))
+                .thenReturn(1);
+        when(paymentProviderClient.processPayment(any(), any(), any(), any()))
+                .thenThrow(new IllegalStateException("Payment provider unavailable"));
+
+        assertThrows(IllegalStateException.class, () -> paymentProcessor.resume(stuck));
+
+        verify(paymentRepository, never()).transition(any(), any(), any(), any(), any(), any());
+        verify(paymentRepository, never()).exhaust(any(), any(), any());
+        verifyNoInteractions(eventProducer);
+    }
+
+    @Test
+    void testProviderErrorsFailTheReturnedFutureAndLeaveThePaymentProcessing() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(paymentRepository.findByOrderId(EVENT.orderId())).thenReturn(Optional.of(payment(PaymentStatus.PROCESSING)));
+        when(paymentProviderClient.processPaymentAsync(any(), any(), any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Payment provider unavailable")));
+
+        CompletableFuture<Void> processed = paymentProcessor.processPaymentAsync(EVENT);
+
+        assertTrue(processed.isCompletedExceptionally());
+        verify(paymentRepository, never()).transition(any(), any(), any(), any(), any(), any());
+        verifyNoInteractions(eventProducer);
+    }
+
+    @Test
+    void testGivingUpFailsThePaymentAndTellsTheSaga() {
+        when(paymentRepository.findByOrderId(EVENT.orderId())).thenReturn(Optional.empty());
+        when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        paymentProcessor.exhaustPaymentAsync(EVENT, "CircuitBreaker 'paymentProcessor' is OPEN").join();
+
+        verify(paymentRepository).save(argThat(payment -> payment.getStatus() == PaymentStatus.FAILED
+                && payment.isRetriesExhausted()));
+        verify(eventProducer).sendPaymentFailedEvent(argThat(event -> event.orderId().equals(EVENT.orderId())));
+        verifyNoInteractions(paymentProviderClient);
+    }
+
+    @Test
+    void testGivingUpOnAPaymentCompletedMeanwhilePublishesNothing() {
+        Payment processing = payment(PaymentStatus.PROCESSING);
+        when(paymentRepository.findByOrderId(EVENT.orderId())).thenReturn(Optional.of(processing));
+        when(paymentRepository.exhaust(eq(processing.getPaymentId()), eq("Payment provider unavailable"), any()))
+                .thenReturn(0);
+
+        paymentProcessor.exhaustPaymentAsync(EVENT, "Payment provider unavailable").join();
+
+        verifyNoInteractions(eventProducer);
+    }
+
+    @Test
+    void testReplayedEventsReopenPaymentsThatRanOutOfRetries() {
+        Payment exhausted = payment(PaymentStatus.FAILED);
+        exhausted.setRetriesExhausted(true);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(paymentRepository.findByOrderId(EVENT.orderId())).thenReturn(Optional.of(exhausted));
+        when(paymentRepository.reopen(eq(exhausted.getPaymentId()), any())).thenReturn(1);
+        when(paymentProviderClient.processPaymentAsync(eq(exhausted.getPaymentId()), any(), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(new PaymentResult(true, "TXN-2", null)));
+        when(paymentRepository.transition(eq(exhausted.getPaymentId()), eq(PaymentStatus.PROCESSING), eq(PaymentStatus.SUCCEEDED),
+                eq("TXN-2"), isNull(), any())).thenReturn(1);
+
+        paymentProcessor.processPaymentAsync(EVENT).join();
+
+        verify(eventProducer).sendPaymentSucceededEvent(any(PaymentSucceededEvent.class));
+        verify(paymentRepository, never()).save(any());
+    }
+
+    @Test
+    void testReplayedEventsDoNotReopenDeclinedPayments() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(paymentRepository.findByOrderId(EVENT.orderId())).thenReturn(Optional.of(payment(PaymentStatus.FAILED)));
+
+        assertTrue(paymentProcessor.processPaymentAsync(EVENT).isDone());
+
+        verify(paymentRepository, never()).reopen(any(), any());
+        verifyNoInteractions(paymentProviderClient, eventProducer);
+    }
+
+    private static Payment argThatIs(PaymentStatus status) {
+        return argThat(payment -> payment != null && payment.getStatus() == status);
+    }
+
+    private static Payment payment(PaymentStatus status) {
+        Payment payment = new Payment();
+        payment.setPaymentId(UUID.randomUUID());
+        payment.setOrderId(EVENT.orderId());
+        payment.setCustomerId(EVENT.customerId());
+        payment.setAmount(EVENT.totalAmount());
+        payment.setPaymentMethod("CREDIT_CARD");
+        payment.setStatus(status);
+        payment.setUpdatedAt(Instant.now().minusSeconds(120));
+        return payment;
+    }
+}
@@ -0,0 +1,64 @@
+package com.adalbertosantos.payment;
+
+import com.adalbertosantos.events.money.Money;
+import com.adalbertosantos.payment.infrastructure.external.PaymentProviderClient;
+import com.adalbertosantos.payment.infrastructure.external.PaymentProviderClient.PaymentResult;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaymentProviderClientTest {
+
+    private static final Money AMOUNT = Money.parse("42.00");
+
+    @Test
+    void testResumedPaymentsGetTheOutcomeOfTheirFirstCall() {
+        PaymentProviderClient provider = provider(0.5, 0);
+        try {
+            for (int i = 0; i < 50; i++) {
+                UUID paymentId = UUID.randomUUID();
+                PaymentResult first = provider.processPaymentAsync(paymentId, UUID.randomUUID(), AMOUNT, UUID.randomUUID())
+                        .join();
+
+                PaymentResult resumed = provider.processPayment(paymentId, UUID.randomUUID(), AMOUNT, UUID.randomUUID());
+
+                assertEquals(first.isSuccess(), resumed.isSuccess());
+                assertEquals(first.getTransactionId(), resumed.getTransactionId());
+                assertEquals(first.getErrorMessage(), resumed.getErrorMessage());
+            }
+        } finally {
+            provider.shutdown();
+        }
+    }
+
+    @Test
+    void testErrorsAreNotRememberedSoARetryCanStillBeCharged() {
+        PaymentProviderClient provider = provider(0, 0.5);
+        UUID paymentId = UUID.randomUUID();
+        try {
+            PaymentResult charged = null;
+            for (int attempt = 0; attempt < 100 && charged == null; attempt++) {
+                try {
+                    charged = provider.processPayment(paymentId, UUID.randomUUID(), AMOUNT, UUID.randomUUID());
+                } catch (IllegalStateException e) {
+                    assertEquals("Payment provider unavailable", e.getMessage());
+                }
+            }
+
+            assertNotNull(charged);
+            assertTrue(charged.isSuccess());
+            assertEquals(charged.getTransactionId(),
+                    provider.processPayment(paymentId, UUID.randomUUID(), AMOUNT, UUID.randomUUID()).getTransactionId());
+        } finally {
+            provider.shutdown();
+        }
+    }
+
+    private static PaymentProviderClient provider(double declineRate, double errorRate) {
+        return new PaymentProviderClient(Duration.ZERO, Duration.ofMillis(1), 0, Duration.ZERO,
+                declineRate, errorRate, Duration.ofHours(1), 1000);
+    }
+}
@@ -0,0 +1,83 @@
+package com.adalbertosantos.payment;
+
+import com.adalbertosantos.payment.application.PaymentProcessor;
+import com.adalbertosantos.payment.application.PaymentRecoverySweeper;
+import com.adalbertosantos.payment.domain.Payment;
+import com.adalbertosantos.payment.domain.Payment.PaymentStatus;
+import com.adalbertosantos.payment.domain.PaymentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentRecoverySweeperTest {
+
+    private static final Duration STUCK_AFTER = Duration.ofMinutes(5);
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private PaymentProcessor paymentProcessor;
+
+    private PaymentRecoverySweeper sweeper;
+
+    @BeforeEach
+    void setUp() {
+        sweeper = new PaymentRecoverySweeper(paymentRepository, paymentProcessor, STUCK_AFTER, 25);
+    }
+
+    @Test
+    void testOnlyLooksForProcessingPaymentsOlderThanStuckAfter() {
+        when(paymentRepository.findByStatusAndUpdatedAtBefore(any(), any(), any())).thenReturn(List.of());
+
+        Instant before = Instant.now();
+        sweeper.sweep();
+        Instant after = Instant.now();
+
+        ArgumentCaptor<Instant> cutoff = ArgumentCaptor.forClass(Instant.class);
+        ArgumentCaptor<Pageable> page = ArgumentCaptor.forClass(Pageable.class);
+        verify(paymentRepository).findByStatusAndUpdatedAtBefore(eq(PaymentStatus.PROCESSING), cutoff.capture(),
+                page.capture());
+        assertFalse(cutoff.getValue().isBefore(before.minus(STUCK_AFTER)));
+        assertFalse(cutoff.getValue().isAfter(after.minus(STUCK_AFTER)));
+        assertEquals(0, page.getValue().getPageNumber());
+        assertEquals(25, page.getValue().getPageSize());
+        verifyNoInteractions(paymentProcessor);
+    }
+
+    @Test
+    void testAFailedResumeDoesNotStopTheSweep() {
+        Payment failing = processing();
+        Payment next = processing();
+        when(paymentRepository.findByStatusAndUpdatedAtBefore(any(), any(), any())).thenReturn(List.of(failing, next));
+        doThrow(new IllegalStateException("Payment provider unavailable")).when(paymentProcessor).resume(failing);
+
+        sweeper.sweep();
+
+        verify(paymentProcessor).resume(next);
+    }
+
+    private static Payment processing() {
+        Payment payment = new Payment();
+        payment.setPaymentId(UUID.randomUUID());
+        payment.setOrderId(UUID.randomUUID());
+        payment.setStatus(PaymentStatus.PROCESSING);
+        payment.setUpdatedAt(Instant.now().minus(Duration.ofMinutes(10)));
+        return payment;
+    }
+}
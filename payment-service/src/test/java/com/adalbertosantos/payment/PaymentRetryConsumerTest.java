@@ -0,0 +1,104 @@
+package com.adalbertosantos.payment;
+
+import com.adalbertosantos.events.codec.BinaryEventCodec;
+import com.adalbertosantos.events.money.Money;
+import com.adalbertosantos.events.order.OrderCreatedEvent;
+import com.adalbertosantos.messaging.InFlightWindows;
+import com.adalbertosantos.payment.application.PaymentProcessor;
+import com.adalbertosantos.payment.consumer.PaymentFailureRouter;
+import com.adalbertosantos.payment.consumer.PaymentRetryConsumer;
+import com.adalbertosantos.payment.infrastructure.messaging.PaymentRetryPublisher;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentRetryConsumerTest {
+
+    private static final OrderCreatedEvent EVENT = new OrderCreatedEvent(
+            UUID.randomUUID(), UUID.randomUUID(), List.of(), Money.parse("42.00"));
+
+    @Mock
+    private PaymentProcessor paymentProcessor;
+
+    @Mock
+    private PaymentFailureRouter failureRouter;
+
+    private PaymentRetryConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        consumer = new PaymentRetryConsumer(paymentProcessor, failureRouter, new InFlightWindows(() -> null), 16);
+    }
+
+    @AfterEach
+    void tearDown() {
+        consumer.shutdown();
+    }
+
+    @Test
+    void testRecordsAreRedeliveredOnlyOnceDue() throws InterruptedException {
+        AtomicLong calledAt = new AtomicLong();
+        when(paymentProcessor.processPaymentAsync(EVENT)).thenAnswer(invocation -> {
+            calledAt.set(System.currentTimeMillis());
+            return CompletableFuture.completedFuture(null);
+        });
+        CountDownLatch acknowledged = new CountDownLatch(1);
+        long dueAt = Instant.now().plusMillis(300).toEpochMilli();
+
+        consumer.consumeRetry(retry(dueAt), acknowledged::countDown);
+
+        verify(paymentProcessor, never()).processPaymentAsync(any());
+        assertTrue(acknowledged.await(5, TimeUnit.SECONDS));
+        assertTrue(calledAt.get() >= dueAt, "redelivered " + (dueAt - calledAt.get()) + "ms early");
+        verifyNoInteractions(failureRouter);
+    }
+
+    @Test
+    void testFailedRedeliveriesAreRoutedBeforeTheRecordIsAcknowledged() throws InterruptedException {
+        IllegalStateException error = new IllegalStateException("Payment provider unavailable");
+        when(paymentProcessor.processPaymentAsync(EVENT)).thenReturn(CompletableFuture.failedFuture(error));
+        CompletableFuture<Void> routed = new CompletableFuture<>();
+        when(failureRouter.paymentFailed(any(), any())).thenReturn(routed);
+        CountDownLatch acknowledged = new CountDownLatch(1);
+        ConsumerRecord<String, byte[]> record = retry(Instant.now().toEpochMilli());
+
+        consumer.consumeRetry(record, acknowledged::countDown);
+
+        verify(failureRouter, timeout(5000)).paymentFailed(eq(record), any());
+        assertFalse(acknowledged.await(100, TimeUnit.MILLISECONDS));
+        routed.complete(null);
+        assertTrue(acknowledged.await(5, TimeUnit.SECONDS));
+    }
+
+    private static ConsumerRecord<String, byte[]> retry(long dueAt) {
+        ConsumerRecord<String, byte[]> record =
+                new ConsumerRecord<>("payment.retry.5s", 0, 3L, "order-1", BinaryEventCodec.encode(EVENT));
+        record.headers()
+                .add(PaymentRetryPublisher.ATTEMPTS_HEADER, utf8("1"))
+                .add(PaymentRetryPublisher.DUE_AT_HEADER, utf8(Long.toString(dueAt)));
+        return record;
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,102 @@
+package com.adalbertosantos.payment;
+
+import com.adalbertosantos.payment.infrastructure.messaging.PaymentRetryPublisher;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentRetryPublisherTest {
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    private PaymentRetryPublisher retryPublisher;
+
+    @BeforeEach
+    void setUp() {
+        retryPublisher = new PaymentRetryPublisher(kafkaTemplate, List.of(Duration.ofSeconds(5), Duration.ofMinutes(1)));
+    }
+
+    @Test
+    void testTopicsAreNamedAfterTheirDelay() {
+        assertEquals(List.of("payment.retry.5s", "payment.retry.1m"), retryPublisher.topics());
+        assertEquals("payment.retry.2h", PaymentRetryPublisher.topicFor(Duration.ofHours(2)));
+        assertEquals("payment.retry.90s", PaymentRetryPublisher.topicFor(Duration.ofSeconds(90)));
+        assertEquals("payment.retry.500ms", PaymentRetryPublisher.topicFor(Duration.ofMillis(500)));
+    }
+
+    @Test
+    void testEachFailureMovesTheRecordToTheNextTierUntilNoneIsLeft() {
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(new CompletableFuture<>());
+        ConsumerRecord<String, byte[]> original = new ConsumerRecord<>("order.created", 2, 41L, "order-1", new byte[]{1});
+        original.headers().add("event-type", utf8("OrderCreatedEvent"));
+
+        Instant before = Instant.now();
+        ConsumerRecord<String, byte[]> firstRetry = consumed(retryPublisher, original, "provider down");
+        assertEquals("payment.retry.5s", firstRetry.topic());
+        assertEquals(1, Integer.parseInt(header(firstRetry, PaymentRetryPublisher.ATTEMPTS_HEADER)));
+        assertFalse(PaymentRetryPublisher.dueAt(firstRetry).isBefore(before.plusSeconds(5)));
+        assertEquals("OrderCreatedEvent", header(firstRetry, "event-type"));
+
+        ConsumerRecord<String, byte[]> secondRetry = consumed(retryPublisher, firstRetry, "still down");
+        assertEquals("payment.retry.1m", secondRetry.topic());
+        assertEquals(3, PaymentRetryPublisher.attemptsOf(secondRetry));
+        assertEquals("still down", header(secondRetry, PaymentRetryPublisher.ERROR_HEADER));
+        assertEquals(1, countHeaders(secondRetry, PaymentRetryPublisher.ATTEMPTS_HEADER));
+        assertEquals("order.created", PaymentRetryPublisher.originalTopic(secondRetry));
+        assertEquals(2, PaymentRetryPublisher.originalPartition(secondRetry));
+        assertEquals(41L, PaymentRetryPublisher.originalOffset(secondRetry));
+
+        assertFalse(retryPublisher.hasAttemptsLeft(secondRetry));
+        assertThrows(IllegalStateException.class, () -> retryPublisher.publishForRetry(secondRetry, "gone"));
+    }
+
+    // Sends the record for retry and reads back what the tier's consumer would receive
+    @SuppressWarnings("unchecked")
+    private ConsumerRecord<String, byte[]> consumed(PaymentRetryPublisher publisher, ConsumerRecord<String, byte[]> record,
+                                                    String error) {
+        clearInvocations(kafkaTemplate);
+        publisher.publishForRetry(record, error);
+        ArgumentCaptor<ProducerRecord<String, Object>> sent = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate).send(sent.capture());
+        ConsumerRecord<String, byte[]> received = new ConsumerRecord<>(sent.getValue().topic(), 0, 7L,
+            sent.getValue().key(), (byte[]) sent.getValue().value());
+        sent.getValue().headers().forEach(header -> received.headers().add(header));
+        return received;
+    }
+
+    private static String header(ConsumerRecord<?, ?> record, String key) {
+        Header header = record.headers().lastHeader(key);
+        return header != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
+    }
+
+    private static int countHeaders(ConsumerRecord<?, ?> record, String key) {
+        int count = 0;
+        for (Header ignored : record.headers().headers(key)) {
+            count++;
+        }
+        return count;
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
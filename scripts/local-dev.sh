@@ -2,6 +2,9 @@
 
 echo "Starting local development environment..."
 
+# Every service checks its event schemas against this one file
+export EVENT_SCHEMA_REGISTRY_PATH="${EVENT_SCHEMA_REGISTRY_PATH:-$HOME/.event-platform/schema-registry/schemas.json}"
+
 # Start Docker services
 docker-compose up -d
 
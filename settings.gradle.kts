@@ -6,7 +6,9 @@ include(
     "inventory-service",
     "fulfillment-service",
     "notification-service",
-    "common-events"
+    "common-events",
+    "common-messaging",
+    "benchmarks"
 )
 
 dependencyResolutionManagement {